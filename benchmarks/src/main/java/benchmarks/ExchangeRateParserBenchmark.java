@@ -0,0 +1,117 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import util.ExchangeRateParser;
+import util.ExchangeRates;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing a full exchange-rate API response (about 160 currencies): the streaming
+ * ExchangeRateParser against the String/indexOf parser CurrencyRateFetcher used before,
+ * which first decoded the whole body into a String.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExchangeRateParserBenchmark {
+
+    private static final int CURRENCIES = 160;
+
+    private byte[] body;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(SyntheticOrders.SEED);
+        StringBuilder json = new StringBuilder(8 * 1024);
+        json.append("{\"provider\":\"https://www.exchangerate-api.com\",")
+            .append("\"WARNING_UPGRADE_TO_V6\":\"https://www.exchangerate-api.com/docs/free\",")
+            .append("\"terms\":\"https://www.exchangerate-api.com/terms\",\"base\":\"EUR\",")
+            .append("\"date\":\"2024-06-01\",\"time_last_updated\":1717200001,\"rates\":{\"EUR\":1");
+        json.append(",\"TND\":3.37,\"USD\":1.09,\"CNY\":7.86");
+        int added = 3;
+        for (char a = 'A'; a <= 'Z' && added < CURRENCIES; a++) {
+            for (char b = 'A'; b <= 'Z' && added < CURRENCIES; b += 3) {
+                String code = "" + a + b + (char) ('A' + random.nextInt(26));
+                if (code.equals("TND") || code.equals("USD") || code.equals("CNY") || code.equals("EUR")) {
+                    continue;
+                }
+                // Same spread of magnitudes as the real feed: 0.3 up to 40000, up to 6 decimals
+                double rate = Math.pow(10, random.nextDouble(-0.5, 4.6));
+                json.append(",\"").append(code).append("\":").append(Math.round(rate * 1e6) / 1e6);
+                added++;
+            }
+        }
+        json.append("}}");
+        body = json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public ExchangeRates streaming() throws IOException {
+        return ExchangeRateParser.parse(new ByteArrayInputStream(body), "EUR");
+    }
+
+    @Benchmark
+    public Map<String, Double> legacyIndexOf() throws IOException {
+        return legacyParse(new String(body, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * CurrencyRateFetcher.parseRatesFromBody as it was before the streaming parser.
+     */
+    static Map<String, Double> legacyParse(String body) throws IOException {
+        int ratesKey = body.indexOf("\"rates\"");
+        if (ratesKey == -1) {
+            throw new IOException("Malformed response: missing rates");
+        }
+        int open = body.indexOf('{', ratesKey);
+        int close = open == -1 ? -1 : body.indexOf('}', open);
+        if (close == -1) {
+            throw new IOException("Malformed response: unterminated rates object");
+        }
+        Map<String, Double> rates = new HashMap<>();
+        int pos = open + 1;
+        while (true) {
+            int keyStart = body.indexOf('"', pos);
+            if (keyStart == -1 || keyStart > close) {
+                break;
+            }
+            int keyEnd = body.indexOf('"', keyStart + 1);
+            int colon = keyEnd == -1 ? -1 : body.indexOf(':', keyEnd);
+            if (colon == -1 || colon > close) {
+                throw new IOException("Malformed response: missing colon for rate");
+            }
+            int end = body.indexOf(',', colon);
+            if (end == -1 || end > close) {
+                end = close;
+            }
+            String code = body.substring(keyStart + 1, keyEnd);
+            String number = body.substring(colon + 1, end).trim();
+            try {
+                rates.put(code, Double.parseDouble(number));
+            } catch (NumberFormatException nfe) {
+                throw new IOException("Unable to parse rate value for " + code + ": " + number, nfe);
+            }
+            pos = end + 1;
+        }
+        return rates;
+    }
+}
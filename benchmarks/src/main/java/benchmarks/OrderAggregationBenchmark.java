@@ -0,0 +1,91 @@
+package benchmarks;
+
+import model.Order;
+import model.Settings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ui.util.PriceCalculator;
+import util.IntDoubleMap;
+import util.SettingsManager;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shipment financials over a list of orders.
+ *
+ * legacyPerOrderLoops is how ShipmentServiceImpl used to compute them: one pass for the
+ * cost of goods, another through PriceCalculator for revenue, per shipment. The service
+ * now gets SUM(original_price * quantity) per shipment from the database and derives both;
+ * singlePass and perShipmentSinglePass are the same computation done in memory, for
+ * comparison and as the baseline if it ever moves back into Java.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Benchmark)
+public class OrderAggregationBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int orderCount;
+
+    private List<Order> orders;
+
+    @Setup
+    public void setUp() {
+        orders = SyntheticOrders.generate(orderCount);
+        SettingsManager.getCurrentSettings();
+    }
+
+    @Benchmark
+    public double legacyPerOrderLoops() {
+        Settings settings = SettingsManager.getCurrentSettings();
+        double conversionRate = settings.getConversionRate();
+        double totalCost = 0.0;
+        for (Order order : orders) {
+            totalCost += order.getOriginalPrice() * conversionRate * order.getQuantity();
+        }
+        double totalRevenue = 0.0;
+        for (Order order : orders) {
+            totalRevenue += PriceCalculator.calculateTotalSellingPrice(order.getOriginalPrice(), order.getQuantity());
+        }
+        return totalRevenue - totalCost;
+    }
+
+    @Benchmark
+    public double singlePass() {
+        Settings settings = SettingsManager.getCurrentSettings();
+        double originalValue = 0.0;
+        for (Order order : orders) {
+            originalValue += order.getOriginalPrice() * order.getQuantity();
+        }
+        return originalValue * settings.getSellingMultiplier() - originalValue * settings.getConversionRate();
+    }
+
+    /**
+     * The dashboard case: totals for every shipment at once (orders without a shipment skipped).
+     */
+    @Benchmark
+    public IntDoubleMap perShipmentSinglePass() {
+        IntDoubleMap originalValueByShipment = new IntDoubleMap();
+        for (Order order : orders) {
+            Integer shipmentId = order.getShipmentId();
+            if (shipmentId != null) {
+                originalValueByShipment.put(shipmentId, originalValueByShipment.get(shipmentId, 0.0)
+                        + order.getOriginalPrice() * order.getQuantity());
+            }
+        }
+        return originalValueByShipment;
+    }
+}
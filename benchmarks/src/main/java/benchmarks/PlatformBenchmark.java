@@ -0,0 +1,50 @@
+package benchmarks;
+
+import model.Platform;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Platform.fromString over the platform column of every order row, as mapRow calls it.
+ * Values include mixed case, padding and nulls.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PlatformBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int orderCount;
+
+    private String[] storedValues;
+
+    @Setup
+    public void setUp() {
+        storedValues = SyntheticOrders.storedPlatforms(orderCount);
+    }
+
+    @Benchmark
+    public int fromString() {
+        int shein = 0;
+        for (String value : storedValues) {
+            if (Platform.fromString(value) == Platform.SHEIN) {
+                shein++;
+            }
+        }
+        return shein;
+    }
+}
@@ -0,0 +1,79 @@
+package benchmarks;
+
+import model.Order;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ui.util.PriceCalculator;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PriceCalculator applied to every order, as the order table and payment screens do.
+ * calculateTotalSellingPrice reads the selling multiplier from SettingsManager on each call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Benchmark)
+public class PriceCalculatorBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int orderCount;
+
+    private double[] originalPrices;
+    private int[] quantities;
+    private double[] sellingPrices;
+    private double[] totalPaid;
+
+    @Setup
+    public void setUp() {
+        List<Order> orders = SyntheticOrders.generate(orderCount);
+        SplittableRandom random = new SplittableRandom(SyntheticOrders.SEED);
+        originalPrices = new double[orderCount];
+        quantities = new int[orderCount];
+        sellingPrices = new double[orderCount];
+        totalPaid = new double[orderCount];
+        for (int i = 0; i < orderCount; i++) {
+            Order o = orders.get(i);
+            originalPrices[i] = o.getOriginalPrice();
+            quantities[i] = o.getQuantity();
+            sellingPrices[i] = PriceCalculator.calculateTotalSellingPrice(o.getOriginalPrice(), o.getQuantity());
+            // Unpaid, deposit or paid in full, like the payments table
+            int roll = random.nextInt(4);
+            totalPaid[i] = roll == 0 ? 0 : roll == 1 ? sellingPrices[i] * 0.5 : sellingPrices[i];
+        }
+    }
+
+    @Benchmark
+    public double totalSellingPrice() {
+        double sum = 0;
+        for (int i = 0; i < orderCount; i++) {
+            sum += PriceCalculator.calculateTotalSellingPrice(originalPrices[i], quantities[i]);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int paymentStatus() {
+        int paid = 0;
+        for (int i = 0; i < orderCount; i++) {
+            if ("Paid".equals(PriceCalculator.determinePaymentStatus(sellingPrices[i], totalPaid[i]))) {
+                paid++;
+            }
+        }
+        return paid;
+    }
+}
@@ -0,0 +1,79 @@
+package benchmarks;
+
+import model.Order;
+import model.Platform;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic order data shaped like the production tables: mostly Shein and Temu,
+ * cheap items bought one or two at a time, a third of the orders not yet in a shipment.
+ * The same seed always yields the same orders, so runs are comparable.
+ */
+public final class SyntheticOrders {
+    public static final long SEED = 20240601L;
+
+    // Platform column as stored: display names, mixed case and stray whitespace from older imports
+    static final String[] STORED_PLATFORMS = {
+            "Shein", "Shein", "Shein", "shein", "Temu", "Temu", " Temu ",
+            "AliExpress", "aliexpress", "Alibaba", "Other", null
+    };
+    static final String[] PAYMENT_STATUSES = {"Paid", "Paid", "Partial", "Unpaid"};
+    static final String[] PAYMENT_TYPES = {"Full", "Deposit", "Deposit"};
+    static final String[] SIZES = {"XS", "S", "M", "M", "L", "XL", null};
+
+    private SyntheticOrders() {}
+
+    public static List<Order> generate(int count) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 9, 0);
+        int shipments = Math.max(1, count / 150);
+        List<Order> orders = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Order o = new Order();
+            o.setOrderId(i + 1);
+            o.setClientId(1 + random.nextInt(Math.max(1, count / 20)));
+            o.setShipmentId(random.nextInt(3) == 0 ? null : 1 + random.nextInt(shipments));
+            o.setDeliveryOptionId(random.nextInt(4) == 0 ? null : 1 + random.nextInt(3));
+            o.setProductLink("https://www.shein.com/item-p-" + (10_000_000 + random.nextInt(90_000_000)) + ".html");
+            o.setProductSize(SIZES[random.nextInt(SIZES.length)]);
+            o.setQuantity(quantity(random));
+            o.setOriginalPrice(price(random));
+            o.setSellingPrice(Math.round(o.getOriginalPrice() * 5.0 * 100) / 100.0);
+            o.setPlatform(Platform.fromString(STORED_PLATFORMS[random.nextInt(STORED_PLATFORMS.length)]));
+            o.setPaymentType(PAYMENT_TYPES[random.nextInt(PAYMENT_TYPES.length)]);
+            o.setPaymentStatus(PAYMENT_STATUSES[random.nextInt(PAYMENT_STATUSES.length)]);
+            o.setOrderDate(start.plusMinutes(i * 7L));
+            o.setNotes(random.nextInt(10) == 0 ? "Gift wrap" : null);
+            orders.add(o);
+        }
+        return orders;
+    }
+
+    /**
+     * Raw platform column values for count rows.
+     */
+    public static String[] storedPlatforms(int count) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        String[] values = new String[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = STORED_PLATFORMS[random.nextInt(STORED_PLATFORMS.length)];
+        }
+        return values;
+    }
+
+    /** 1 most of the time, occasionally up to 5. */
+    static int quantity(SplittableRandom random) {
+        int roll = random.nextInt(100);
+        return roll < 70 ? 1 : roll < 90 ? 2 : 3 + random.nextInt(3);
+    }
+
+    /** EUR 1.99 - 59.99, skewed towards cheap items, in whole cents. */
+    static double price(SplittableRandom random) {
+        double u = random.nextDouble();
+        return Math.round((1.99 + 58.0 * u * u) * 100) / 100.0;
+    }
+}
@@ -0,0 +1,157 @@
+package dao;
+
+import model.Order;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Forward-only ResultSet over an orders table held in column arrays, serving the
+ * getters OrderDAO.mapRow uses by column label. Lets the benchmark measure row mapping
+ * without a driver or network in the way.
+ */
+final class InMemoryOrderResultSet extends ResultSetAdapter {
+
+    /**
+     * The table contents, built once and shared by every result set over it.
+     */
+    static final class Table {
+        final int rows;
+        final int[] orderId;
+        final int[] clientId;
+        final Integer[] shipmentId;
+        final Integer[] deliveryOptionId;
+        final String[] productLink;
+        final String[] productSize;
+        final int[] quantity;
+        final double[] originalPrice;
+        final double[] sellingPrice;
+        final String[] platform;
+        final String[] paymentType;
+        final String[] paymentStatus;
+        final Timestamp[] orderDate;
+        final String[] notes;
+
+        Table(List<Order> orders, String[] storedPlatforms) {
+            rows = orders.size();
+            orderId = new int[rows];
+            clientId = new int[rows];
+            shipmentId = new Integer[rows];
+            deliveryOptionId = new Integer[rows];
+            productLink = new String[rows];
+            productSize = new String[rows];
+            quantity = new int[rows];
+            originalPrice = new double[rows];
+            sellingPrice = new double[rows];
+            platform = storedPlatforms;
+            paymentType = new String[rows];
+            paymentStatus = new String[rows];
+            orderDate = new Timestamp[rows];
+            notes = new String[rows];
+            for (int i = 0; i < rows; i++) {
+                Order o = orders.get(i);
+                orderId[i] = o.getOrderId();
+                clientId[i] = o.getClientId();
+                shipmentId[i] = o.getShipmentId();
+                deliveryOptionId[i] = o.getDeliveryOptionId();
+                productLink[i] = o.getProductLink();
+                productSize[i] = o.getProductSize();
+                quantity[i] = o.getQuantity();
+                originalPrice[i] = o.getOriginalPrice();
+                sellingPrice[i] = o.getSellingPrice();
+                paymentType[i] = o.getPaymentType();
+                paymentStatus[i] = o.getPaymentStatus();
+                orderDate[i] = o.getOrderDate() == null ? null : Timestamp.valueOf(o.getOrderDate());
+                notes[i] = o.getNotes();
+            }
+        }
+    }
+
+    private final Table table;
+    private int row = -1;
+    private boolean wasNull;
+    private boolean closed;
+
+    InMemoryOrderResultSet(Table table) {
+        this.table = table;
+    }
+
+    @Override
+    public boolean next() {
+        return ++row < table.rows;
+    }
+
+    @Override
+    public boolean wasNull() {
+        return wasNull;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public int getInt(String column) throws SQLException {
+        wasNull = false;
+        switch (column) {
+            case "order_id": return table.orderId[row];
+            case "client_id": return table.clientId[row];
+            case "quantity": return table.quantity[row];
+            case "shipment_id": return nullable(table.shipmentId[row]);
+            case "delivery_option_id": return nullable(table.deliveryOptionId[row]);
+            default: throw unknown(column);
+        }
+    }
+
+    private int nullable(Integer value) {
+        wasNull = value == null;
+        return wasNull ? 0 : value;
+    }
+
+    @Override
+    public double getDouble(String column) throws SQLException {
+        wasNull = false;
+        switch (column) {
+            case "original_price": return table.originalPrice[row];
+            case "selling_price": return table.sellingPrice[row];
+            default: throw unknown(column);
+        }
+    }
+
+    @Override
+    public String getString(String column) throws SQLException {
+        String value;
+        switch (column) {
+            case "product_link": value = table.productLink[row]; break;
+            case "product_size": value = table.productSize[row]; break;
+            case "platform": value = table.platform[row]; break;
+            case "payment_type": value = table.paymentType[row]; break;
+            case "payment_status": value = table.paymentStatus[row]; break;
+            case "notes": value = table.notes[row]; break;
+            default: throw unknown(column);
+        }
+        wasNull = value == null;
+        return value;
+    }
+
+    @Override
+    public Timestamp getTimestamp(String column) throws SQLException {
+        if (!"order_date".equals(column)) {
+            throw unknown(column);
+        }
+        Timestamp value = table.orderDate[row];
+        wasNull = value == null;
+        return value;
+    }
+
+    private static SQLException unknown(String column) {
+        return new SQLException("Unknown column: " + column);
+    }
+}
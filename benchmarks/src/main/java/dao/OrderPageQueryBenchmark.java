@@ -0,0 +1,44 @@
+package dao;
+
+import model.OrderFilter;
+import model.Platform;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The Orders tab filter is pushed into SQL, so the work left in Java per page request is
+ * building the keyset query. Its cost does not depend on the table size.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderPageQueryBenchmark {
+
+    private final OrderFilter noFilter = OrderFilter.none();
+    private final OrderFilter allFilters = new OrderFilter("dress_50%", "Partial", Platform.OTHER);
+
+    @Benchmark
+    public String firstPageUnfiltered() {
+        return OrderDAO.buildPageQuery(null, 200, noFilter, new ArrayList<>());
+    }
+
+    @Benchmark
+    public String nextPageAllFilters() {
+        List<Object> params = new ArrayList<>();
+        return OrderDAO.buildPageQuery(812_345, 200, allFilters, params);
+    }
+}
@@ -0,0 +1,69 @@
+package dao;
+
+import benchmarks.SyntheticOrders;
+import model.Order;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OrderDAO.mapRow over a whole result set, as findAll and findPage run it:
+ * label lookups, wasNull checks, Platform.fromString and Timestamp conversion per row.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Benchmark)
+public class OrderRowMappingBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int orderCount;
+
+    private final OrderDAO orderDAO = new OrderDAO();
+    private InMemoryOrderResultSet.Table table;
+
+    @Setup
+    public void setUp() {
+        table = new InMemoryOrderResultSet.Table(
+                SyntheticOrders.generate(orderCount), SyntheticOrders.storedPlatforms(orderCount));
+    }
+
+    @Benchmark
+    public List<Order> mapAllRows() throws SQLException {
+        List<Order> orders = new ArrayList<>();
+        try (InMemoryOrderResultSet rs = new InMemoryOrderResultSet(table)) {
+            while (rs.next()) {
+                orders.add(orderDAO.mapRow(rs));
+            }
+        }
+        return orders;
+    }
+
+    /**
+     * Mapping cost alone, without growing a list of a million orders.
+     */
+    @Benchmark
+    public void mapRowsDiscarding(Blackhole blackhole) throws SQLException {
+        try (InMemoryOrderResultSet rs = new InMemoryOrderResultSet(table)) {
+            while (rs.next()) {
+                blackhole.consume(orderDAO.mapRow(rs));
+            }
+        }
+    }
+}
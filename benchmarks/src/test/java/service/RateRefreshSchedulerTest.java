@@ -0,0 +1,191 @@
+package service;
+
+import dao.CurrencyRateDAO;
+import model.CurrencyRate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import service.impl.CurrencyRateServiceImpl;
+import util.CurrencyRateFetcher;
+import util.RateProvider;
+import util.SettingsManager;
+import util.StubRateServer;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Drives {@link RateRefreshScheduler} against a {@link StubRateServer} with millisecond
+ * backoff settings. The real CurrencyRateServiceImpl does the fetching; only storage is
+ * replaced by an in-memory DAO.
+ */
+class RateRefreshSchedulerTest {
+
+    private static final long INTERVAL_MS = 2000;
+    private static final long INITIAL_BACKOFF_MS = 200;
+    private static final long MAX_BACKOFF_MS = 1600;
+    // Scheduling is never early, but a loaded machine can run a task late
+    private static final long LATE_MS = 190;
+
+    private final StubRateServer stub;
+    private final InMemoryRateDAO rateDAO = new InMemoryRateDAO();
+    private final List<Long> requestNanos = new CopyOnWriteArrayList<>();
+    private final List<Long> responseNanos = new CopyOnWriteArrayList<>();
+    private final RateRefreshScheduler scheduler;
+
+    RateRefreshSchedulerTest() throws Exception {
+        stub = new StubRateServer().start();
+        RateProvider fetcher = new CurrencyRateFetcher(Duration.ofSeconds(5), stub.getBaseUrl());
+        RateProvider recording = base -> {
+            requestNanos.add(System.nanoTime());
+            try {
+                return fetcher.fetchAllRates(base);
+            } finally {
+                responseNanos.add(System.nanoTime());
+            }
+        };
+        CurrencyRateServiceImpl service = new CurrencyRateServiceImpl(rateDAO, recording, CurrencyRateCache.getInstance());
+        scheduler = new RateRefreshScheduler(service, true, "EUR", List.of("TND", "USD"),
+                INTERVAL_MS, INITIAL_BACKOFF_MS, MAX_BACKOFF_MS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.stop();
+        stub.close();
+    }
+
+    @Test
+    void backsOffAfterFailuresAndResetsAfterSuccess() throws Exception {
+        stub.setRate("TND", 3.5123);
+        stub.failNext(2);
+        scheduler.start();
+
+        // Two failures, then the first success
+        awaitRefreshed(1, 3.5123);
+        assertEquals(3, requestNanos.size());
+        assertGap(0, INITIAL_BACKOFF_MS / 2, INITIAL_BACKOFF_MS);
+        assertGap(1, INITIAL_BACKOFF_MS, 2 * INITIAL_BACKOFF_MS);
+
+        List<CurrencyRate> stored = rateDAO.batches.get(0);
+        assertEquals(2, stored.size());
+        assertEquals("EUR", stored.get(0).getBaseCurrency());
+        assertEquals("TND", stored.get(0).getTargetCurrency());
+        assertEquals(3.5123, stored.get(0).getCustomRate());
+        assertEquals("USD", stored.get(1).getTargetCurrency());
+        assertEquals(1.0842, stored.get(1).getCustomRate());
+        assertEquals(3.5123, SettingsManager.getCurrentSettings().getConversionRate());
+
+        long nextRun = scheduler.getNextRunDelayMs();
+        assertTrue(nextRun > INTERVAL_MS - 500 && nextRun <= INTERVAL_MS, "next run in " + nextRun + " ms");
+
+        // One failure after the success starts again from the initial backoff,
+        // not from the third step (400-800 ms)
+        stub.setRate("TND", 3.6);
+        stub.failNext(1);
+        awaitRefreshed(2, 3.6);
+        assertEquals(5, requestNanos.size());
+        assertGap(2, INTERVAL_MS, INTERVAL_MS);
+        assertGap(3, INITIAL_BACKOFF_MS / 2, INITIAL_BACKOFF_MS);
+        assertEquals(3.6, rateDAO.batches.get(1).get(0).getCustomRate());
+        assertEquals(3.6, SettingsManager.getCurrentSettings().getConversionRate());
+    }
+
+    @Test
+    void backoffDoublesWithJitterUpToTheCap() {
+        for (int failures = 1; failures <= 8; failures++) {
+            long full = Math.min(MAX_BACKOFF_MS, INITIAL_BACKOFF_MS << (failures - 1));
+            for (int i = 0; i < 1000; i++) {
+                long delay = scheduler.backoffDelay(failures);
+                assertTrue(delay >= full / 2 && delay <= full, failures + " failures: " + delay + " ms");
+            }
+        }
+        // Many failures in a row must not overflow the shift
+        long delay = scheduler.backoffDelay(10_000);
+        assertTrue(delay >= MAX_BACKOFF_MS / 2 && delay <= MAX_BACKOFF_MS, "capped delay " + delay + " ms");
+    }
+
+    @Test
+    void backoffCapNeverExceedsTheInterval() {
+        RateRefreshScheduler shortInterval = new RateRefreshScheduler(null, true, "EUR", List.of("TND"), 500, 200, 60_000);
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(shortInterval.backoffDelay(30) <= 500);
+        }
+    }
+
+    /**
+     * Time from the end of request index to the start of request index + 1, with the
+     * scheduled delay between min and max. The next run is scheduled once a fetch returns,
+     * so a slow first connection does not count.
+     */
+    private void assertGap(int index, long minMs, long maxMs) {
+        long gapMs = TimeUnit.NANOSECONDS.toMillis(requestNanos.get(index + 1) - responseNanos.get(index));
+        assertTrue(gapMs >= minMs - 5 && gapMs <= maxMs + LATE_MS,
+                "gap " + index + " was " + gapMs + " ms, expected " + minMs + "-" + maxMs);
+    }
+
+    /**
+     * Wait until a successful run has stored its batch, updated Settings and scheduled the next run.
+     */
+    private void awaitRefreshed(int batches, double conversionRate) throws InterruptedException {
+        awaitTrue(() -> rateDAO.batches.size() == batches
+                && SettingsManager.getCurrentSettings().getConversionRate() == conversionRate
+                && scheduler.getNextRunDelayMs() > MAX_BACKOFF_MS);
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Timed out waiting for the scheduler");
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    /**
+     * Keeps stored rates in memory instead of the currency_rates table.
+     */
+    private static final class InMemoryRateDAO extends CurrencyRateDAO {
+        final List<List<CurrencyRate>> batches = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void insertBatch(List<CurrencyRate> rates) {
+            LocalDateTime now = LocalDateTime.now();
+            for (CurrencyRate rate : rates) {
+                rate.setUpdatedAt(now);
+            }
+            batches.add(new ArrayList<>(rates));
+        }
+
+        @Override
+        public void insert(CurrencyRate rate) {
+            insertBatch(List.of(rate));
+        }
+
+        @Override
+        public CurrencyRate findLatest(String base, String target) {
+            for (int i = batches.size() - 1; i >= 0; i--) {
+                for (CurrencyRate rate : batches.get(i)) {
+                    if (rate.getBaseCurrency().equals(base) && rate.getTargetCurrency().equals(target)) {
+                        return rate;
+                    }
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public List<CurrencyRate> findHistory(String base, String target) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
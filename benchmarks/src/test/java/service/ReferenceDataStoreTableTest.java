@@ -0,0 +1,96 @@
+package service;
+
+import model.Shipment;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Checks that {@link ReferenceDataStore.Table} keeps its ID lookups and its list in step.
+ * Without a started JavaFX toolkit, put and remove apply immediately on the calling thread.
+ */
+class ReferenceDataStoreTableTest {
+
+    @Test
+    void replacesInPlaceAndInsertsNewestFirst() {
+        ReferenceDataStore.Table<Shipment> table = new ReferenceDataStore.Table<>(Shipment::getShipmentId, true);
+        Shipment first = shipment(1);
+        Shipment second = shipment(2);
+        Shipment third = shipment(3);
+        table.put(first);
+        table.put(second);
+        table.put(third);
+        assertEquals(List.of(third, second, first), table.items());
+
+        Shipment updated = shipment(2);
+        table.put(updated);
+        assertEquals(List.of(third, updated, first), table.items());
+        assertSame(updated, table.get(2));
+
+        table.remove(3);
+        table.put(shipment(4));
+        Shipment updatedFirst = shipment(1);
+        table.put(updatedFirst);
+        assertEquals(3, table.size());
+        assertSame(updatedFirst, table.items().get(2));
+        assertNull(table.get(3));
+    }
+
+    @Test
+    void randomEditsMatchAPlainList() {
+        for (boolean newestFirst : new boolean[]{true, false}) {
+            ReferenceDataStore.Table<Shipment> table = new ReferenceDataStore.Table<>(Shipment::getShipmentId, newestFirst);
+            List<Shipment> expected = new ArrayList<>();
+            Random random = new Random(7);
+            for (int step = 0; step < 20_000; step++) {
+                int id = 1 + random.nextInt(200);
+                int index = indexOf(expected, id);
+                if (random.nextInt(3) == 0) {
+                    table.remove(id);
+                    if (index >= 0) {
+                        expected.remove(index);
+                    }
+                } else {
+                    Shipment shipment = shipment(id);
+                    table.put(shipment);
+                    if (index >= 0) {
+                        expected.set(index, shipment);
+                    } else if (newestFirst) {
+                        expected.add(0, shipment);
+                    } else {
+                        expected.add(shipment);
+                    }
+                }
+                assertEquals(expected, table.items(), "step " + step);
+                assertEquals(expected.size(), table.size());
+                int now = indexOf(expected, id);
+                if (now >= 0) {
+                    assertSame(expected.get(now), table.get(id));
+                } else {
+                    assertNull(table.get(id));
+                }
+            }
+        }
+    }
+
+    private static int indexOf(List<Shipment> shipments, int id) {
+        for (int i = 0; i < shipments.size(); i++) {
+            if (shipments.get(i).getShipmentId() == id) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static Shipment shipment(int id) {
+        Shipment shipment = new Shipment();
+        shipment.setShipmentId(id);
+        return shipment;
+    }
+}
@@ -0,0 +1,154 @@
+package service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the promises of {@link ShipmentCostAllocator}: shares add up to exactly the total
+ * and each one is within a cent of its exact proportional value.
+ */
+class ShipmentCostAllocatorTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"BY_VALUE", "BY_QUANTITY", "EQUAL"})
+    void sharesAddUpToTheTotalAndStayWithinACent(String strategyName) {
+        ShipmentCostAllocator.Strategy strategy = ShipmentCostAllocator.Strategy.fromName(strategyName);
+        ShipmentCostAllocator allocator = new ShipmentCostAllocator(strategy);
+        Random random = new Random(2024);
+        for (int trial = 0; trial < 5000; trial++) {
+            int count = 1 + random.nextInt(60);
+            long[] values = new long[count];
+            int[] quantities = new int[count];
+            for (int i = 0; i < count; i++) {
+                values[i] = random.nextInt(5) == 0 ? 0 : random.nextInt(50_000);
+                quantities[i] = random.nextInt(5);
+            }
+            long total = random.nextInt(1_000_000);
+
+            long[] shares = allocator.allocate(total, values, quantities);
+            assertEquals(count, shares.length);
+            assertEquals(total, sum(shares), "trial " + trial);
+            assertWithinACent(total, strategy, values, quantities, shares);
+        }
+    }
+
+    @Test
+    void splitsByValue() {
+        long[] shares = new ShipmentCostAllocator(ShipmentCostAllocator.Strategy.BY_VALUE)
+                .allocate(1000, new long[]{1000, 3000, 0, 6000}, new int[]{1, 1, 1, 1});
+        assertArrayEquals(new long[]{100, 300, 0, 600}, shares);
+    }
+
+    @Test
+    void spreadsRoundingWithoutLosingCents() {
+        // 100 / 3 is 33.33...; the three shares still add up to 100
+        long[] shares = new ShipmentCostAllocator(ShipmentCostAllocator.Strategy.EQUAL)
+                .allocate(100, new long[3], new int[3]);
+        assertArrayEquals(new long[]{33, 34, 33}, shares);
+    }
+
+    @Test
+    void allZeroWeightsFallBackToAnEqualSplit() {
+        long[] byValue = new ShipmentCostAllocator(ShipmentCostAllocator.Strategy.BY_VALUE)
+                .allocate(1001, new long[]{0, 0, 0, 0}, new int[]{2, 5, 1, 0});
+        long[] byQuantity = new ShipmentCostAllocator(ShipmentCostAllocator.Strategy.BY_QUANTITY)
+                .allocate(1001, new long[]{500, 0, 70, 9}, new int[]{0, 0, 0, 0});
+        long[] equal = new ShipmentCostAllocator(ShipmentCostAllocator.Strategy.EQUAL)
+                .allocate(1001, new long[4], new int[4]);
+        assertArrayEquals(equal, byValue);
+        assertArrayEquals(equal, byQuantity);
+        assertEquals(1001, sum(equal));
+        for (long share : equal) {
+            assertTrue(share == 250 || share == 251, "share " + share);
+        }
+    }
+
+    @Test
+    void emptyInputAllocatesNothing() {
+        long[] shares = new ShipmentCostAllocator(ShipmentCostAllocator.Strategy.BY_VALUE)
+                .allocate(12_345, new long[0], new int[0]);
+        assertEquals(0, shares.length);
+    }
+
+    @Test
+    void rejectsNegativeWeights() {
+        ShipmentCostAllocator allocator = new ShipmentCostAllocator((valueCents, quantity) -> valueCents);
+        assertThrows(IllegalArgumentException.class,
+                () -> allocator.allocate(100, new long[]{50, -1}, new int[]{1, 1}));
+    }
+
+    @Test
+    void rejectsInvalidArguments() {
+        ShipmentCostAllocator allocator = new ShipmentCostAllocator(ShipmentCostAllocator.Strategy.EQUAL);
+        assertThrows(IllegalArgumentException.class, () -> allocator.allocate(-1, new long[1], new int[1]));
+        assertThrows(IllegalArgumentException.class, () -> allocator.allocate(1, new long[2], new int[1]));
+        assertThrows(IllegalArgumentException.class, () -> allocator.allocate(1, null, new int[1]));
+        assertThrows(IllegalArgumentException.class, () -> new ShipmentCostAllocator(null));
+        assertThrows(IllegalArgumentException.class, () -> ShipmentCostAllocator.Strategy.fromName("BY_WEIGHT"));
+    }
+
+    @Test
+    void largeTotalTimesWeightTakesTheExactPath() {
+        // total * cumulative weight is far beyond Long.MAX_VALUE
+        long total = Long.MAX_VALUE / 3;
+        long[] values = {Long.MAX_VALUE / 4, Long.MAX_VALUE / 4, 7, Long.MAX_VALUE / 5};
+        int[] quantities = new int[values.length];
+        ShipmentCostAllocator.Strategy strategy = ShipmentCostAllocator.Strategy.BY_VALUE;
+
+        long[] shares = new ShipmentCostAllocator(strategy).allocate(total, values, quantities);
+        assertEquals(total, sum(shares));
+        assertWithinACent(total, strategy, values, quantities, shares);
+    }
+
+    @Test
+    void productJustPastLongRangeMatchesBigDecimal() {
+        // 2^32 * 2^31 overflows long arithmetic by one bit
+        long total = 1L << 32;
+        long[] values = {1L << 31, 1L << 31, 1};
+        long[] shares = new ShipmentCostAllocator(ShipmentCostAllocator.Strategy.BY_VALUE)
+                .allocate(total, values, new int[3]);
+        assertEquals(total, sum(shares));
+        assertWithinACent(total, ShipmentCostAllocator.Strategy.BY_VALUE, values, new int[3], shares);
+    }
+
+    private static void assertWithinACent(long total, ShipmentCostAllocator.Strategy strategy,
+                                          long[] values, int[] quantities, long[] shares) {
+        BigInteger[] weights = new BigInteger[values.length];
+        BigInteger totalWeight = BigInteger.ZERO;
+        for (int i = 0; i < values.length; i++) {
+            weights[i] = BigInteger.valueOf(strategy.weight(values[i], quantities[i]));
+            totalWeight = totalWeight.add(weights[i]);
+        }
+        if (totalWeight.signum() == 0) {
+            totalWeight = BigInteger.valueOf(values.length);
+            Arrays.fill(weights, BigInteger.ONE);
+        }
+        for (int i = 0; i < shares.length; i++) {
+            BigDecimal exact = new BigDecimal(BigInteger.valueOf(total).multiply(weights[i]))
+                    .divide(new BigDecimal(totalWeight), 6, RoundingMode.HALF_UP);
+            BigDecimal error = exact.subtract(BigDecimal.valueOf(shares[i])).abs();
+            assertTrue(error.compareTo(BigDecimal.ONE) < 0,
+                    "share " + i + " is " + shares[i] + ", exact " + exact);
+        }
+    }
+
+    private static long sum(long[] shares) {
+        long sum = 0;
+        for (long share : shares) {
+            sum = Math.addExact(sum, share);
+        }
+        return sum;
+    }
+}
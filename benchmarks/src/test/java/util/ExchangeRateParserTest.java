@@ -0,0 +1,269 @@
+package util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Fixture-based checks for {@link ExchangeRateParser}. Every fixture is parsed twice:
+ * from a plain stream and from one that hands out a single byte per read, so values
+ * split across buffer refills are covered too.
+ */
+class ExchangeRateParserTest {
+
+    private static final String TYPICAL =
+            "{\"result\":\"success\",\"base\":\"EUR\",\"time_last_update_unix\":1700000000,"
+            + "\"rates\":{\"EUR\":1,\"TND\":3.4123,\"USD\":1.0876,\"JPY\":161.2}}";
+
+    @Test
+    void readsTypicalResponse() throws IOException {
+        for (ExchangeRates rates : parseBothWays(TYPICAL)) {
+            assertEquals("EUR", rates.getBaseCurrency());
+            assertEquals(4, rates.size());
+            assertEquals(1.0, rates.get("EUR"));
+            assertEquals(3.4123, rates.get("TND"));
+            assertEquals(161.2, rates.get("JPY"));
+            assertEquals(1.0876, rates.get("usd"));
+        }
+    }
+
+    @Test
+    void ignoresDecoyKeysContainingTheCode() throws IOException {
+        String json = "{\"WARNING_TND\":99,\"TND\":\"not a rate\",\"TNDX\":98,"
+                + "\"rates\":{\"WARNING_TND\":97,\"XTND\":96,\"TNDT\":95,\"TN\":94,\"TND\":3.41}}";
+        for (ExchangeRates rates : parseBothWays(json)) {
+            assertEquals(3.41, rates.get("TND"));
+            assertEquals(94.0, rates.get("TN"));
+            assertEquals(2, rates.size());
+        }
+    }
+
+    @Test
+    void ignoresRatesObjectsNestedInOtherValues() throws IOException {
+        String json = "{\"meta\":{\"rates\":{\"TND\":9.99}},\"history\":[{\"rates\":{\"TND\":8.88}}],"
+                + "\"rates\":{\"EUR\":1,\"TND\":3.41}}";
+        for (ExchangeRates rates : parseBothWays(json)) {
+            assertEquals(3.41, rates.get("TND"));
+            assertEquals(2, rates.size());
+        }
+    }
+
+    @Test
+    void skipsNestedValuesInsideRates() throws IOException {
+        String json = "{\"rates\":{\"XAU\":{\"TND\":9.99},\"XAG\":[1,2,{\"TND\":8}],\"TND\":3.41,\"BTC\":null}}";
+        for (ExchangeRates rates : parseBothWays(json)) {
+            assertEquals(3.41, rates.get("TND"));
+            assertFalse(rates.contains("XAU"));
+            assertFalse(rates.contains("BTC"));
+            assertEquals(1, rates.size());
+        }
+    }
+
+    @Test
+    void lastDuplicateRatesObjectWins() throws IOException {
+        String json = "{\"rates\":{\"TND\":9.99,\"USD\":1.1},\"rates\":{\"TND\":3.41}}";
+        for (ExchangeRates rates : parseBothWays(json)) {
+            assertEquals(3.41, rates.get("TND"));
+            assertFalse(rates.contains("USD"));
+        }
+    }
+
+    @Test
+    void skipsEscapedStringsThatLookLikeRates() throws IOException {
+        String json = "{\"note\":\"quoted \\\"rates\\\":{\\\"TND\\\":9.99} \\\\\",\"path\":\"a\\/b\\u0022c\","
+                + "\"rates\":{\"TND\":3.41}}";
+        for (ExchangeRates rates : parseBothWays(json)) {
+            assertEquals(3.41, rates.get("TND"));
+            assertEquals(1, rates.size());
+        }
+    }
+
+    @Test
+    void decodesEscapedKeys() throws IOException {
+        String json = "{\"r\\u0061tes\":{\"T\\u004ED\":3.41,\"\\u0055SD\":1.08,\"E\\\"R\":7}}";
+        for (ExchangeRates rates : parseBothWays(json)) {
+            assertEquals(3.41, rates.get("TND"));
+            assertEquals(1.08, rates.get("USD"));
+            assertEquals(2, rates.size());
+        }
+    }
+
+    @Test
+    void toleratesWhitespaceEverywhere() throws IOException {
+        String json = " \r\n{ \"base\" :\t\"EUR\" ,\n \"rates\" : {\n  \"TND\" : 3.41 ,\n  \"USD\" : -1.5e0\n }\n}\n";
+        for (ExchangeRates rates : parseBothWays(json)) {
+            assertEquals(3.41, rates.get("TND"));
+            assertEquals(-1.5, rates.get("USD"));
+        }
+    }
+
+    @Test
+    void emptyRatesObjectIsValid() throws IOException {
+        for (ExchangeRates rates : parseBothWays("{\"rates\":{}}")) {
+            assertEquals(0, rates.size());
+            assertTrue(Double.isNaN(rates.get("TND")));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "0", "-0", "1", "-1", "3.41", "-3.41", "0.1", "0.000001", "123456.789",
+            "1e0", "1E5", "1e-5", "-2.5E+3", "6.02214076e23", "1.7976931348623157e308",
+            "4.9e-324", "2.2250738585072014E-308", "1e400", "-1e400", "1e-400",
+            "9007199254740993", "123456789012345678901234567890", "0.30000000000000004",
+            "3.14159265358979323846264338327950288", "100000000000000000000000e-30",
+            "0.000000000000000000000000000001234", "1e22", "1e23", "1e-22", "1e-23"
+    })
+    void numbersMatchDoubleParseDouble(String number) throws IOException {
+        for (ExchangeRates rates : parseBothWays("{\"rates\":{\"TND\":" + number + "}}")) {
+            assertEquals(Double.parseDouble(number), rates.get("TND"), number);
+        }
+    }
+
+    @Test
+    void randomNumbersMatchDoubleParseDouble() throws IOException {
+        Random random = new Random(12345);
+        for (int i = 0; i < 20_000; i++) {
+            String number = randomNumber(random);
+            ExchangeRates rates = ExchangeRateParser.parse(stream("{\"rates\":{\"TND\":" + number + "}}"), "EUR");
+            assertEquals(Double.parseDouble(number), rates.get("TND"), number);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "",
+            "{",
+            "{\"rates\"",
+            "{\"rates\":",
+            "{\"rates\":{",
+            "{\"rates\":{\"TND\"",
+            "{\"rates\":{\"TND\":",
+            "{\"rates\":{\"TND\":3.",
+            "{\"rates\":{\"TND\":3.41",
+            "{\"rates\":{\"TND\":3.41,",
+            "{\"rates\":{\"TND\":3.41}",
+            "{\"rates\":{\"TND\":1e",
+            "{\"rates\":{\"TN",
+            "{\"rates\":{\"T\\u00",
+            "{\"note\":\"unterminated",
+            "{\"meta\":{\"rates\":{\"TND\":3.41}"
+    })
+    void rejectsTruncatedBodies(String json) {
+        assertRejected(json);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "[]",
+            "null",
+            "<html>Service Unavailable</html>",
+            "{}",
+            "{\"base\":\"EUR\"}",
+            "{\"rates\":null}",
+            "{\"rates\":[1,2]}",
+            "{\"rates\":\"3.41\"}",
+            "{rates:{\"TND\":3.41}}",
+            "{\"rates\" {\"TND\":3.41}}",
+            "{\"rates\":{\"TND\" 3.41}}",
+            "{\"rates\":{\"TND\":}}",
+            "{\"rates\":{\"TND\":-}}",
+            "{\"rates\":{\"TND\":.5}}",
+            "{\"rates\":{\"TND\":3.}}",
+            "{\"rates\":{\"TND\":1e+}}",
+            "{\"rates\":{\"TND\":3.4.1}}",
+            "{\"rates\":{\"TND\":3.41 \"USD\":1}}",
+            "{\"rates\":{\"TND\":3.41,}}",
+            "{\"rates\":{\"T\\qD\":3.41}}",
+            "{\"rates\":{\"T\\u00G1\":3.41}}",
+            "{\"rates\":{\"TND\":3.41}\"base\":\"EUR\"}",
+            "{\"base\":,\"rates\":{\"TND\":3.41}}"
+    })
+    void rejectsMalformedBodies(String json) {
+        assertRejected(json);
+    }
+
+    @Test
+    void reportsTheFailingOffset() {
+        IOException e = assertThrows(IOException.class,
+                () -> ExchangeRateParser.parse(stream("{\"rates\":{\"TND\":3.4.1}}"), "EUR"));
+        assertTrue(e.getMessage().contains("at byte 20"), e.getMessage());
+    }
+
+    @Test
+    void tinyBufferReadsLongNumbers() throws IOException {
+        String number = "3.14159265358979323846264338327950288419716939937510582097494459";
+        ExchangeRates rates = new ExchangeRateParser(stream("{\"rates\":{\"TND\":" + number + "}}"), 1).parse("EUR");
+        assertEquals(Double.parseDouble(number), rates.get("TND"));
+    }
+
+    private static void assertRejected(String json) {
+        assertThrows(IOException.class, () -> ExchangeRateParser.parse(stream(json), "EUR"), json);
+        assertThrows(IOException.class, () -> ExchangeRateParser.parse(oneBytePerRead(json), "EUR"), json);
+    }
+
+    private static ExchangeRates[] parseBothWays(String json) throws IOException {
+        return new ExchangeRates[]{
+                ExchangeRateParser.parse(stream(json), "EUR"),
+                ExchangeRateParser.parse(oneBytePerRead(json), "EUR")
+        };
+    }
+
+    private static InputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * A stream that never returns more than one byte per read, like a slow network connection.
+     */
+    private static InputStream oneBytePerRead(String json) {
+        return new FilterInputStream(stream(json)) {
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                return super.read(b, off, Math.min(len, 1));
+            }
+        };
+    }
+
+    private static String randomNumber(Random random) {
+        StringBuilder sb = new StringBuilder();
+        if (random.nextBoolean()) {
+            sb.append('-');
+        }
+        int integerDigits = 1 + random.nextInt(20);
+        sb.append(1 + random.nextInt(9));
+        for (int i = 1; i < integerDigits; i++) {
+            sb.append(random.nextInt(10));
+        }
+        if (random.nextBoolean()) {
+            sb.append('.');
+            int fractionDigits = 1 + random.nextInt(20);
+            for (int i = 0; i < fractionDigits; i++) {
+                sb.append(random.nextInt(10));
+            }
+        }
+        if (random.nextInt(3) == 0) {
+            sb.append(random.nextBoolean() ? 'e' : 'E');
+            int choice = random.nextInt(3);
+            if (choice == 1) {
+                sb.append('-');
+            } else if (choice == 2) {
+                sb.append('+');
+            }
+            sb.append(random.nextInt(40));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,116 @@
+package util;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process stand-in for exchangerate-api.com in tests, serving GET /v4/latest/{base}
+ * on localhost. Pass {@link #getBaseUrl()} to a {@link CurrencyRateFetcher}.
+ *
+ * Rates are fixed unless changed with {@link #setRate}, and {@link #failNext} makes the
+ * next requests answer 503 to exercise retry handling.
+ */
+public class StubRateServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final Map<String, Double> rates = new TreeMap<>();
+    private final AtomicInteger failuresLeft = new AtomicInteger();
+    private final AtomicInteger requestCount = new AtomicInteger();
+
+    public StubRateServer(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext("/v4/latest/", this::handle);
+        rates.put("EUR", 1.0);
+        rates.put("TND", 3.3791);
+        rates.put("USD", 1.0842);
+        rates.put("CNY", 7.8213);
+    }
+
+    /**
+     * Bind to a free port.
+     */
+    public StubRateServer() throws IOException {
+        this(0);
+    }
+
+    public StubRateServer start() {
+        server.start();
+        return this;
+    }
+
+    /**
+     * URL to configure as currency.api.baseUrl.
+     */
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/v4/latest/";
+    }
+
+    /**
+     * Rate of the currency against the requested base. Every base gets the same table.
+     */
+    public synchronized void setRate(String currencyCode, double rate) {
+        rates.put(currencyCode, rate);
+    }
+
+    /**
+     * Answer the next count requests with HTTP 503.
+     */
+    public void failNext(int count) {
+        failuresLeft.set(count);
+    }
+
+    public int getRequestCount() {
+        return requestCount.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requestCount.incrementAndGet();
+        try (exchange) {
+            if (failuresLeft.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+                exchange.sendResponseHeaders(503, -1);
+                return;
+            }
+            String path = exchange.getRequestURI().getPath();
+            String base = path.substring(path.lastIndexOf('/') + 1).toUpperCase(Locale.ROOT);
+            byte[] body = responseBody(base).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    private synchronized String responseBody(String base) {
+        StringBuilder json = new StringBuilder(256);
+        json.append("{\"provider\":\"stub\",\"base\":\"").append(base)
+            .append("\",\"date\":\"").append(LocalDate.now())
+            .append("\",\"time_last_updated\":").append(System.currentTimeMillis() / 1000)
+            .append(",\"rates\":{");
+        boolean first = true;
+        for (Map.Entry<String, Double> rate : rates.entrySet()) {
+            if (!first) {
+                json.append(',');
+            }
+            json.append('"').append(rate.getKey()).append("\":").append(rate.getValue());
+            first = false;
+        }
+        return json.append("}}").toString();
+    }
+}
@@ -0,0 +1,4 @@
+-- OrderDAO.findByClient / findByShipment / findByPlatform and the shipment rollups
+CREATE INDEX IF NOT EXISTS idx_orders_client_id ON orders (client_id);
+CREATE INDEX IF NOT EXISTS idx_orders_shipment_id ON orders (shipment_id);
+CREATE INDEX IF NOT EXISTS idx_orders_platform ON orders (platform);
@@ -0,0 +1,4 @@
+-- PaymentDAO.getTotalPaidForOrder / findByOrder / findByClient and the bulk totals
+CREATE INDEX IF NOT EXISTS idx_payments_order_id ON payments (order_id);
+-- PaymentDAO.findAll sorts by payment_date
+CREATE INDEX IF NOT EXISTS idx_payments_payment_date ON payments (payment_date);
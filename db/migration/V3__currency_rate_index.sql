@@ -0,0 +1,3 @@
+-- CurrencyRateDAO.findLatest: WHERE base/target ORDER BY updated_at DESC, rate_id DESC LIMIT 1
+CREATE INDEX IF NOT EXISTS idx_currency_rates_pair_latest
+    ON currency_rates (base_currency, target_currency, updated_at DESC, rate_id DESC);
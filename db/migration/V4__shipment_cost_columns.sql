@@ -0,0 +1,3 @@
+-- ShipmentDAO and the dashboard read these, but sql_schema.sql never created them
+ALTER TABLE shipments ADD COLUMN IF NOT EXISTS transportation_cost DECIMAL(10,2) DEFAULT 0;
+ALTER TABLE shipments ADD COLUMN IF NOT EXISTS other_costs DECIMAL(10,2) DEFAULT 0;
@@ -0,0 +1,4 @@
+-- ProfitDAO upserts on order_id; older code could leave several rows per order, keep the newest
+DELETE FROM profits p USING profits newer
+WHERE newer.order_id = p.order_id AND newer.profit_id > p.profit_id;
+CREATE UNIQUE INDEX IF NOT EXISTS uq_profits_order_id ON profits (order_id);
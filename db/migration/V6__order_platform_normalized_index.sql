@@ -0,0 +1,2 @@
+-- OrderDAO.findPage matches platforms on lower(btrim(platform)) and pages newest first by order_id
+CREATE INDEX IF NOT EXISTS idx_orders_platform_normalized ON orders (lower(btrim(platform)), order_id);
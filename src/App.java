@@ -3,12 +3,33 @@ import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
+import service.FxStallDetector;
+import service.LogService;
+import service.RateRefreshScheduler;
+import service.ServiceExecutor;
+import util.DBConnection;
+import util.SchemaMigrator;
+
 import java.io.File;
+import java.sql.SQLException;
 
 public class App extends Application {
 
     @Override
     public void start(Stage primaryStage) throws Exception {
+        // Bring the schema up to date; a modified migration script aborts startup
+        try {
+            SchemaMigrator.migrateOnStartup();
+        } catch (SQLException e) {
+            System.err.println("Schema migration failed: " + e.getMessage());
+        }
+
+        // Keep exchange rates current while the app is open
+        RateRefreshScheduler.getInstance().start();
+
+        // Log a report whenever a UI action blocks the FX thread
+        FxStallDetector.getInstance().start();
+
         // Load FXML from file system when running from src directory
         File fxmlFile = new File("src/ui/view/LoginView.fxml");
         Parent root = FXMLLoader.load(fxmlFile.toURI().toURL());
@@ -26,6 +47,15 @@ public class App extends Application {
         primaryStage.show();
     }
 
+    @Override
+    public void stop() {
+        FxStallDetector.getInstance().stop();
+        RateRefreshScheduler.getInstance().stop();
+        ServiceExecutor.getInstance().shutdown();
+        DBConnection.shutdown();
+        LogService.getInstance().shutdown();
+    }
+
     public static void main(String[] args) {
         launch(args);
     }
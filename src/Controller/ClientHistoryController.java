@@ -4,6 +4,11 @@ import service.api.IOrderService;
 import service.impl.OrderServiceImpl;
 import service.api.IPaymentService;
 import service.impl.PaymentServiceImpl;
+import service.ServiceExecutor;
+import service.api.IOrderServiceAsync;
+import service.impl.OrderServiceAsyncImpl;
+import service.api.IPaymentServiceAsync;
+import service.impl.PaymentServiceAsyncImpl;
 import javafx.beans.property.SimpleDoubleProperty;
 import javafx.beans.property.SimpleIntegerProperty;
 import javafx.beans.property.SimpleStringProperty;
@@ -17,7 +22,6 @@ import model.Order;
 import model.Payment;
 
 import java.net.URL;
-import java.sql.SQLException;
 import java.util.ResourceBundle;
 
 /**
@@ -28,6 +32,8 @@ public class ClientHistoryController implements Initializable {
     // Services
     private final IOrderService orderService = new OrderServiceImpl();
     private final IPaymentService paymentService = new PaymentServiceImpl();
+    private final IOrderServiceAsync orderServiceAsync = new OrderServiceAsyncImpl(orderService);
+    private final IPaymentServiceAsync paymentServiceAsync = new PaymentServiceAsyncImpl(paymentService);
 
     // Observable data
     private final ObservableList<Order> orderData = FXCollections.observableArrayList();
@@ -82,15 +88,22 @@ public class ClientHistoryController implements Initializable {
     private void loadData() {
         if (currentClient == null) return;
 
+        int clientId = currentClient.getClientId();
         orderData.clear();
         paymentData.clear();
-        try {
-            orderData.addAll(orderService.getOrdersByClient(currentClient.getClientId()));
-            paymentData.addAll(paymentService.getPaymentsByClient(currentClient.getClientId()));
-        } catch (SQLException e) {
-            
-            System.err.println("Error loading client history: " + e.getMessage());
-        }
+        orderServiceAsync.getOrdersByClient(clientId)
+            .thenCombine(paymentServiceAsync.getPaymentsByClient(clientId), (orders, payments) -> {
+                // Ignore results for a client that is no longer displayed
+                if (currentClient != null && currentClient.getClientId() == clientId) {
+                    orderData.setAll(orders);
+                    paymentData.setAll(payments);
+                }
+                return null;
+            })
+            .exceptionally(t -> {
+                System.err.println("Error loading client history: " + ServiceExecutor.unwrap(t).getMessage());
+                return null;
+            });
     }
 
     /**
@@ -2,10 +2,12 @@ package Controller;
 
 import service.api.IClientService;
 import service.impl.ClientServiceImpl;
+import service.ReferenceDataStore;
+import service.ServiceExecutor;
 import javafx.beans.property.SimpleIntegerProperty;
 import javafx.beans.property.SimpleStringProperty;
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
+import javafx.collections.transformation.FilteredList;
+import javafx.collections.transformation.SortedList;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.control.*;
@@ -15,6 +17,7 @@ import ui.ClientDialogs;
 
 import java.net.URL;
 import java.sql.SQLException;
+import java.util.Locale;
 import java.util.ResourceBundle;
 import java.util.function.Consumer;
 
@@ -24,7 +27,9 @@ public class ClientsController implements Initializable {
     private final ClientDialogs dialogs = new ClientDialogs(clientService);
     private Consumer<Client> historyOpener;
     private Runnable orderRefreshCallback;
-    private final ObservableList<Client> clientData = FXCollections.observableArrayList();
+    // The service keeps the shared client list current after every add, edit and delete
+    private final FilteredList<Client> clientData =
+            new FilteredList<>(ReferenceDataStore.getInstance().clients().items());
 
     @FXML
     private TextField txtSearch;
@@ -68,8 +73,14 @@ public class ClientsController implements Initializable {
     public void initialize(URL location, ResourceBundle resources) {
         setupColumns();
         setupEventHandlers();
-        table.setItems(clientData);
-        loadClients();
+        // The shared list is read-only, so column sorting goes through a SortedList
+        SortedList<Client> sortedClients = new SortedList<>(clientData);
+        sortedClients.comparatorProperty().bind(table.comparatorProperty());
+        table.setItems(sortedClients);
+        ReferenceDataStore.getInstance().ensureLoaded().exceptionally(t -> {
+            showError(ServiceExecutor.unwrap(t).getMessage());
+            return null;
+        });
     }
 
     private void setupColumns() {
@@ -113,7 +124,7 @@ public class ClientsController implements Initializable {
 
                 btnEdit.setOnAction(e -> {
                     Client client = getTableView().getItems().get(getIndex());
-                    dialogs.showEditClientDialog(client, ClientsController.this::loadClients, ClientsController.this::showError);
+                    dialogs.showEditClientDialog(client, table::refresh, ClientsController.this::showError);
                 });
                 btnDelete.setOnAction(e -> {
                     Client client = getTableView().getItems().get(getIndex());
@@ -140,32 +151,27 @@ public class ClientsController implements Initializable {
     }
 
     private void setupEventHandlers() {
-        btnNewClient.setOnAction(e -> dialogs.showAddClientDialog(this::loadClients, this::showError));
-
-        txtSearch.textProperty().addListener((obs, oldVal, newVal) -> {
-            String keyword = newVal == null ? "" : newVal.trim();
-            clientData.clear();
-            if (keyword.isEmpty()) {
-                loadClients();
-            } else {
-                try {
-                    clientData.addAll(clientService.searchClients(keyword));
-                } catch (SQLException ex) {
-                    showError(ex.getMessage());
-                }
-            }
-        });
+        btnNewClient.setOnAction(e -> dialogs.showAddClientDialog(table::refresh, this::showError));
+
+        txtSearch.textProperty().addListener((obs, oldVal, newVal) -> applySearch());
     }
 
-    private void loadClients() {
-        clientData.clear();
-        try {
-            clientData.addAll(clientService.getAllClients());
-        } catch (SQLException e) {
-            showError(e.getMessage());
+    /**
+     * Filter the shared client list by username or phone, case-insensitively.
+     */
+    private void applySearch() {
+        String keyword = txtSearch.getText() == null ? "" : txtSearch.getText().trim().toLowerCase(Locale.ROOT);
+        if (keyword.isEmpty()) {
+            clientData.setPredicate(null);
+        } else {
+            clientData.setPredicate(c -> contains(c.getUsername(), keyword) || contains(c.getPhone(), keyword));
         }
     }
 
+    private static boolean contains(String value, String lowerKeyword) {
+        return value != null && value.toLowerCase(Locale.ROOT).contains(lowerKeyword);
+    }
+
     private void showError(String msg) {
         Alert alert = new Alert(Alert.AlertType.ERROR, msg, ButtonType.OK);
         alert.showAndWait();
@@ -177,7 +183,6 @@ public class ClientsController implements Initializable {
         if (confirm.getResult() == ButtonType.YES) {
             try {
                 clientService.deleteClient(client.getClientId());
-                loadClients();
             } catch (SQLException e) {
                 showError(e.getMessage());
             }
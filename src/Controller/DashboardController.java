@@ -2,22 +2,30 @@ package Controller;
 
 import service.api.IShipmentService;
 import service.impl.ShipmentServiceImpl;
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
+import service.ReferenceDataStore;
+import service.ServiceExecutor;
+import service.api.IShipmentServiceAsync;
+import service.impl.ShipmentServiceAsyncImpl;
+import service.api.IProfitServiceAsync;
+import service.impl.ProfitServiceAsyncImpl;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.chart.*;
 import javafx.scene.control.*;
 import model.Shipment;
+import model.ShipmentFinancials;
 
 import java.net.URL;
-import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.ResourceBundle;
 
 public class DashboardController implements Initializable {
 
     private final IShipmentService shipmentService = new ShipmentServiceImpl();
-    private final ObservableList<Shipment> shipmentData = FXCollections.observableArrayList();
+    private final IShipmentServiceAsync shipmentServiceAsync = new ShipmentServiceAsyncImpl(shipmentService);
+    private final IProfitServiceAsync profitServiceAsync = new ProfitServiceAsyncImpl();
+    private final ReferenceDataStore referenceData = ReferenceDataStore.getInstance();
 
     @FXML
     private ComboBox<Shipment> cbShipment;
@@ -66,7 +74,11 @@ public class DashboardController implements Initializable {
 
     @Override
     public void initialize(URL location, ResourceBundle resources) {
-        loadShipments();
+        cbShipment.setItems(referenceData.shipments().items());
+        referenceData.ensureLoaded().exceptionally(t -> {
+            showError("Failed to load shipments: " + ServiceExecutor.unwrap(t).getMessage());
+            return null;
+        });
         setupEventHandlers();
     }
 
@@ -74,8 +86,7 @@ public class DashboardController implements Initializable {
         cbShipment.setOnAction(e -> {
             Shipment selected = cbShipment.getSelectionModel().getSelectedItem();
             if (selected != null) {
-                updateFinancialSummary(selected);
-                updateAllCharts(selected);
+                refreshSelectedShipment(selected);
                 populateCostFields(selected);
             }
         });
@@ -83,24 +94,50 @@ public class DashboardController implements Initializable {
         btnUpdateCosts.setOnAction(e -> updateShipmentCosts());
     }
 
-    private void updateAllCharts(Shipment shipment) {
-        try {
-            // Get financial data
-            double totalCostOfGoods = shipmentService.calculateTotalCostOfGoods(shipment);
-            double totalRevenue = shipmentService.calculateTotalRevenue(shipment);
-            double transportationCost = shipment.getTransportationCost();
-            double otherCosts = shipment.getOtherCosts();
-            double netProfit = shipmentService.calculateNetProfit(shipment);
-
-            // Update charts using instance fields
-            updateRevenueBreakdownChart(totalRevenue, totalCostOfGoods, netProfit);
-            updateCostDistributionChart(totalCostOfGoods, transportationCost, otherCosts);
-            updateProfitTrendChart();
-            updatePerformanceChart();
-
-        } catch (SQLException e) {
-            showError("Failed to update charts: " + e.getMessage());
-        }
+    /**
+     * Compute the shipment's financials once and feed both the summary labels and the charts.
+     */
+    private void refreshSelectedShipment(Shipment shipment) {
+        shipmentServiceAsync.getShipmentFinancials(shipment)
+            .thenAccept(financials -> {
+                // The user may have picked another shipment while this one was loading
+                if (isSelected(shipment)) {
+                    updateFinancialSummary(financials);
+                    updateAllCharts(financials);
+                }
+            })
+            .exceptionally(t -> {
+                showError("Failed to calculate financial summary: " + ServiceExecutor.unwrap(t).getMessage());
+                resetFinancialSummary();
+                return null;
+            });
+    }
+
+    private boolean isSelected(Shipment shipment) {
+        Shipment selected = cbShipment.getSelectionModel().getSelectedItem();
+        return selected != null && selected.getShipmentId() == shipment.getShipmentId();
+    }
+
+    private void updateAllCharts(ShipmentFinancials financials) {
+        updateRevenueBreakdownChart(financials.getTotalRevenue(), financials.getTotalCostOfGoods(), financials.getNetProfit());
+        updateCostDistributionChart(financials.getTotalCostOfGoods(), financials.getTransportationCost(), financials.getOtherCosts());
+        updateComparisonCharts();
+    }
+
+    /**
+     * Profit trend and performance charts both render from one all-shipments rollup.
+     */
+    private void updateComparisonCharts() {
+        shipmentServiceAsync.getAllShipmentFinancials()
+            .thenAccept(all -> {
+                Map<Integer, ShipmentFinancials> byShipment = new HashMap<>();
+                for (ShipmentFinancials financials : all) {
+                    byShipment.put(financials.getShipmentId(), financials);
+                }
+                updateProfitTrendChart(byShipment);
+                updatePerformanceChart(byShipment);
+            });
+        // Failures are ignored for chart updates
     }
 
     private void updateRevenueBreakdownChart(double revenue, double costs, double profit) {
@@ -124,110 +161,86 @@ public class DashboardController implements Initializable {
         costDistributionChart.getData().add(series);
     }
 
-    private void updateProfitTrendChart() {
-        try {
-            profitTrendChart.getData().clear();
-            XYChart.Series<String, Number> series = new XYChart.Series<>();
-            series.setName("Profit Trend");
-
-            // Show profit comparison across all shipments
-            for (Shipment shipment : shipmentData) {
-                double profit = shipmentService.calculateNetProfit(shipment);
-                String label = shipment.getBatchName().length() > 8 ?
-                        shipment.getBatchName().substring(0, 8) + "..." : shipment.getBatchName();
-                series.getData().add(new XYChart.Data<>(label, profit));
-            }
-
-            profitTrendChart.getData().add(series);
+    private void updateProfitTrendChart(Map<Integer, ShipmentFinancials> byShipment) {
+        profitTrendChart.getData().clear();
+        XYChart.Series<String, Number> series = new XYChart.Series<>();
+        series.setName("Profit Trend");
 
-        } catch (SQLException e) {
-            // Handle silently for chart updates
+        // Show profit comparison across all shipments
+        for (Shipment shipment : referenceData.shipments().items()) {
+            ShipmentFinancials financials = byShipment.get(shipment.getShipmentId());
+            if (financials == null) {
+                continue;
+            }
+            String label = shipment.getBatchName().length() > 8 ?
+                    shipment.getBatchName().substring(0, 8) + "..." : shipment.getBatchName();
+            series.getData().add(new XYChart.Data<>(label, financials.getNetProfit()));
         }
-    }
 
-    private void updatePerformanceChart() {
-        try {
-            performanceChart.getData().clear();
+        profitTrendChart.getData().add(series);
+    }
 
-            XYChart.Series<String, Number> revenueSeries = new XYChart.Series<>();
-            revenueSeries.setName("Revenue");
+    private void updatePerformanceChart(Map<Integer, ShipmentFinancials> byShipment) {
+        performanceChart.getData().clear();
 
-            XYChart.Series<String, Number> costSeries = new XYChart.Series<>();
-            costSeries.setName("Costs");
+        XYChart.Series<String, Number> revenueSeries = new XYChart.Series<>();
+        revenueSeries.setName("Revenue");
 
-            // Show performance comparison across shipments
-            for (Shipment shipment : shipmentData) {
-                double revenue = shipmentService.calculateTotalRevenue(shipment);
-                double expenses = shipmentService.calculateTotalExpenses(shipment);
-                String label = shipment.getBatchName().length() > 6 ?
-                        shipment.getBatchName().substring(0, 6) + "..." : shipment.getBatchName();
+        XYChart.Series<String, Number> costSeries = new XYChart.Series<>();
+        costSeries.setName("Costs");
 
-                revenueSeries.getData().add(new XYChart.Data<>(label, revenue));
-                costSeries.getData().add(new XYChart.Data<>(label, expenses));
+        // Show performance comparison across shipments
+        for (Shipment shipment : referenceData.shipments().items()) {
+            ShipmentFinancials financials = byShipment.get(shipment.getShipmentId());
+            if (financials == null) {
+                continue;
             }
+            String label = shipment.getBatchName().length() > 6 ?
+                    shipment.getBatchName().substring(0, 6) + "..." : shipment.getBatchName();
 
-            performanceChart.getData().add(revenueSeries);
-            performanceChart.getData().add(costSeries);
-
-        } catch (SQLException e) {
-            // Handle silently for chart updates
+            revenueSeries.getData().add(new XYChart.Data<>(label, financials.getTotalRevenue()));
+            costSeries.getData().add(new XYChart.Data<>(label, financials.getTotalExpenses()));
         }
-    }
 
-    private void loadShipments() {
-        shipmentData.clear();
-        try {
-            shipmentData.addAll(shipmentService.getAllShipments());
-            cbShipment.setItems(shipmentData);
-        } catch (SQLException e) {
-            showError("Failed to load shipments: " + e.getMessage());
-        }
+        performanceChart.getData().add(revenueSeries);
+        performanceChart.getData().add(costSeries);
     }
 
     /**
      * Public method to refresh dashboard data - can be called from other views
      */
     public void refreshData() {
-        loadShipments();
-        Shipment selected = cbShipment.getSelectionModel().getSelectedItem();
-        if (selected != null) {
-            updateFinancialSummary(selected);
-            updateAllCharts(selected);
+        Shipment previous = cbShipment.getSelectionModel().getSelectedItem();
+        if (previous == null) {
+            return;
+        }
+        // Re-select the current instance so cost edits apply to the latest data
+        Shipment current = referenceData.shipments().get(previous.getShipmentId());
+        if (current != null) {
+            cbShipment.getSelectionModel().select(current);
+            refreshSelectedShipment(current);
         }
     }
 
-    private void updateFinancialSummary(Shipment shipment) {
-        try {
-            // Calculate all financial metrics using the exact formulas requested
-            int totalOrders = shipmentService.calculateTotalOrders(shipment);
-            double totalCostOfGoods = shipmentService.calculateTotalCostOfGoods(shipment);
-            double totalRevenue = shipmentService.calculateTotalRevenue(shipment);
-            double transportationCost = shipment.getTransportationCost();
-            double otherCosts = shipment.getOtherCosts();
-            double totalExpenses = shipmentService.calculateTotalExpenses(shipment);
-            double netProfit = shipmentService.calculateNetProfit(shipment);
-
-            // Update all detailed breakdown labels
-            lblTotalOrders.setText(String.valueOf(totalOrders));
-            lblTotalCostOfGoods.setText(String.format("%.2f TND", totalCostOfGoods));
-            lblTransportationCost.setText(String.format("%.2f TND", transportationCost));
-            lblOtherCosts.setText(String.format("%.2f TND", otherCosts));
-            lblTotalRevenue.setText(String.format("%.2f TND", totalRevenue));
-            lblTotalExpenses.setText(String.format("%.2f TND", totalExpenses));
-
-            // Update profit with dynamic color coding
-            lblNetProfit.setText(String.format("%.2f TND", netProfit));
-            if (netProfit > 0) {
-                lblNetProfit.setStyle("-fx-font-size: 20px; -fx-font-weight: bold; -fx-text-fill: #27AE60;");
-            } else if (netProfit < 0) {
-                lblNetProfit.setStyle("-fx-font-size: 20px; -fx-font-weight: bold; -fx-text-fill: #E74C3C;");
-            } else {
-                lblNetProfit.setStyle("-fx-font-size: 20px; -fx-font-weight: bold; -fx-text-fill: #F39C12;");
-            }
-
-        } catch (SQLException e) {
-            showError("Failed to calculate financial summary: " + e.getMessage());
-            resetFinancialSummary();
+    private void updateFinancialSummary(ShipmentFinancials financials) {
+        double netProfit = financials.getNetProfit();
+
+        // Update all detailed breakdown labels
+        lblTotalOrders.setText(String.valueOf(financials.getTotalOrders()));
+        lblTotalCostOfGoods.setText(String.format("%.2f TND", financials.getTotalCostOfGoods()));
+        lblTransportationCost.setText(String.format("%.2f TND", financials.getTransportationCost()));
+        lblOtherCosts.setText(String.format("%.2f TND", financials.getOtherCosts()));
+        lblTotalRevenue.setText(String.format("%.2f TND", financials.getTotalRevenue()));
+        lblTotalExpenses.setText(String.format("%.2f TND", financials.getTotalExpenses()));
+
+        // Update profit with dynamic color coding
+        lblNetProfit.setText(String.format("%.2f TND", netProfit));
+        if (netProfit > 0) {
+            lblNetProfit.setStyle("-fx-font-size: 20px; -fx-font-weight: bold; -fx-text-fill: #27AE60;");
+        } else if (netProfit < 0) {
+            lblNetProfit.setStyle("-fx-font-size: 20px; -fx-font-weight: bold; -fx-text-fill: #E74C3C;");
+        } else {
+            lblNetProfit.setStyle("-fx-font-size: 20px; -fx-font-weight: bold; -fx-text-fill: #F39C12;");
         }
     }
 
@@ -258,18 +271,28 @@ public class DashboardController implements Initializable {
             double transportationCost = Double.parseDouble(txtTransportationCost.getText());
             double otherCosts = Double.parseDouble(txtOtherCosts.getText());
 
-            selected.setTransportationCost(transportationCost);
-            selected.setOtherCosts(otherCosts);
-
-            shipmentService.updateShipment(selected);
-            updateFinancialSummary(selected);
-
-            showSuccess("Shipment costs updated successfully!");
+            // Edit a copy: the selected instance is shared with every view and is only
+            // replaced by the service once the save has succeeded
+            Shipment updated = new Shipment(selected);
+            updated.setTransportationCost(transportationCost);
+            updated.setOtherCosts(otherCosts);
+
+            // New costs change every order's share, so the per-order profits are recomputed too
+            shipmentServiceAsync.updateShipment(updated)
+                .thenCompose(v -> profitServiceAsync.computeAndSaveProfits(updated.getShipmentId()))
+                .thenCompose(profits -> shipmentServiceAsync.getShipmentFinancials(updated))
+                .thenAccept(financials -> {
+                    cbShipment.getSelectionModel().select(updated);
+                    updateFinancialSummary(financials);
+                    showSuccess("Shipment costs updated and allocated to its orders successfully!");
+                })
+                .exceptionally(t -> {
+                    showError("Failed to update shipment costs: " + ServiceExecutor.unwrap(t).getMessage());
+                    return null;
+                });
 
         } catch (NumberFormatException e) {
             showError("Please enter valid numeric values for costs.");
-        } catch (SQLException e) {
-            showError("Failed to update shipment costs: " + e.getMessage());
         }
     }
 
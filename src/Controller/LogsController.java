@@ -1,42 +1,104 @@
 package Controller;
 
-import javafx.application.Platform;
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
+import javafx.scene.control.Alert;
+import javafx.scene.control.ButtonType;
+import javafx.scene.control.Dialog;
 import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
 import javafx.scene.control.TextArea;
+import javafx.util.Duration;
 import service.AuthService;
+import service.LogEntry;
 import service.LogService;
+import util.AppConfig;
+import util.DBConnection;
+import util.QueryMetrics;
 
+import java.io.IOException;
 import java.net.URL;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
 import java.util.ResourceBundle;
 
 public class LogsController implements Initializable {
 
+    // Same as the log buffer: older lines are dropped from the view as new ones arrive
+    private static final int MAX_VISIBLE_ENTRIES = 1024;
+
     @FXML
-    private TextArea logsTextArea;
+    private ListView<LogEntry> logsListView;
 
     @FXML
     private Label statusLabel;
 
     private LogService logService = LogService.getInstance();
 
+    // Appends new entries every 3 seconds while the Logs tab is showing
+    private final Timeline autoRefresh = new Timeline(new KeyFrame(Duration.seconds(3), e -> appendNewEntries()));
+    private long nextSequence;
+    private boolean accessGranted;
+
     @Override
     public void initialize(URL location, ResourceBundle resources) {
         if (!AuthService.getInstance().isAdmin()) {
-            logsTextArea.setText("Access Denied: Admin privileges required to view logs.");
+            logsListView.setPlaceholder(new Label("Access Denied: Admin privileges required to view logs."));
             return;
         }
-        
-        loadLogs();
-        
-        // Auto-refresh every 3 seconds
+        accessGranted = true;
+        autoRefresh.setCycleCount(Animation.INDEFINITE);
+
+        // Cells are recycled, so only the visible lines are ever formatted
+        logsListView.setCellFactory(list -> new ListCell<>() {
+            @Override
+            protected void updateItem(LogEntry entry, boolean empty) {
+                super.updateItem(entry, empty);
+                setText(empty || entry == null ? null : entry.format());
+            }
+        });
+        logsListView.setPlaceholder(new Label("No logs available."));
+
+        // Stop refreshing once the view is taken off screen (logout replaces the scene)
+        logsListView.sceneProperty().addListener((obs, oldScene, newScene) -> {
+            if (newScene == null) {
+                stopAutoRefresh();
+            }
+        });
+
         startAutoRefresh();
     }
 
+    /**
+     * Catch up on new entries and refresh every 3 seconds until stopped.
+     * Called when the Logs tab is selected.
+     */
+    public void startAutoRefresh() {
+        if (!accessGranted) {
+            return;
+        }
+        appendNewEntries();
+        autoRefresh.play();
+    }
+
+    /**
+     * Called when the Logs tab is deselected or the user logs out.
+     */
+    public void stopAutoRefresh() {
+        autoRefresh.stop();
+    }
+
     @FXML
     public void handleRefresh() {
-        loadLogs();
+        appendNewEntries();
         statusLabel.setText("Logs refreshed at " + java.time.LocalDateTime.now().format(
             java.time.format.DateTimeFormatter.ofPattern("HH:mm:ss")
         ));
@@ -45,30 +107,67 @@ public class LogsController implements Initializable {
     @FXML
     public void handleClear() {
         logService.clearLogs();
-        loadLogs();
+        appendNewEntries();
         statusLabel.setText("Logs cleared");
     }
 
-    private void loadLogs() {
-        String logs = logService.getAllLogs();
-        logsTextArea.setText(logs);
-        
-        // Scroll to bottom to show latest logs
-        logsTextArea.setScrollTop(Double.MAX_VALUE);
+    @FXML
+    public void handleShowQueryMetrics() {
+        if (!accessGranted) {
+            return;
+        }
+        TextArea report = new TextArea(DBConnection.getPoolStats() + "\n\n" + QueryMetrics.getInstance().formatReport());
+        report.setEditable(false);
+        report.setWrapText(false);
+        report.setStyle("-fx-font-family: 'Courier New'; -fx-font-size: 12;");
+        report.setPrefSize(1000, 500);
+
+        Dialog<Void> dialog = new Dialog<>();
+        dialog.setTitle("Query Metrics");
+        dialog.setHeaderText("SQL statements by total time (latencies in ms)");
+        dialog.getDialogPane().setContent(report);
+        dialog.getDialogPane().getButtonTypes().add(ButtonType.CLOSE);
+        dialog.setResizable(true);
+        dialog.show();
     }
 
-    private void startAutoRefresh() {
-        Thread refreshThread = new Thread(() -> {
-            while (true) {
-                try {
-                    Thread.sleep(3000); // Refresh every 3 seconds
-                    Platform.runLater(this::loadLogs);
-                } catch (InterruptedException e) {
-                    break;
-                }
-            }
-        });
-        refreshThread.setDaemon(true);
-        refreshThread.start();
+    @FXML
+    public void handleDumpQueryMetrics() {
+        if (!accessGranted) {
+            return;
+        }
+        Path file = Paths.get(AppConfig.getString("db.metrics.dumpDir", "logs"), "query-metrics-"
+                + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".txt");
+        try {
+            QueryMetrics.getInstance().dump(file);
+            logService.info("Query metrics written to " + file.toAbsolutePath());
+            statusLabel.setText("Query metrics written to " + file.toAbsolutePath());
+        } catch (IOException e) {
+            Alert alert = new Alert(Alert.AlertType.ERROR);
+            alert.setTitle("Error");
+            alert.setHeaderText(null);
+            alert.setContentText("Could not write query metrics: " + e.getMessage());
+            alert.showAndWait();
+        }
+    }
+
+    private void appendNewEntries() {
+        LogService.Tail tail = logService.readSince(nextSequence);
+        nextSequence = tail.getNextSequence();
+        List<LogEntry> entries = tail.getEntries();
+        ObservableList<LogEntry> items = logsListView.getItems();
+        if (tail.isReset()) {
+            items.setAll(entries);
+        } else if (!entries.isEmpty()) {
+            items.addAll(entries);
+        } else {
+            return;
+        }
+        if (items.size() > MAX_VISIBLE_ENTRIES) {
+            items.remove(0, items.size() - MAX_VISIBLE_ENTRIES);
+        }
+
+        // Scroll to bottom to show latest logs
+        logsListView.scrollTo(items.size() - 1);
     }
 }
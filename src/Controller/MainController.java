@@ -60,6 +60,7 @@ public class MainController implements Initializable {
     private OrdersController ordersViewController;
     private PaymentsController paymentsViewController;
     private ShipmentsController shipmentsViewController;
+    private LogsController logsViewController;
 
     @Override
     public void initialize(URL location, ResourceBundle resources) {
@@ -94,6 +95,9 @@ public class MainController implements Initializable {
     public void handleLogout() {
         try {
             AuthService.getInstance().logout();
+            if (logsViewController != null) {
+                logsViewController.stopAutoRefresh();
+            }
             
             // Load login screen
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/ui/view/LoginView.fxml"));
@@ -229,7 +233,20 @@ public class MainController implements Initializable {
         try {
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/ui/view/LogsView.fxml"));
             Parent logsView = loader.load();
+            logsViewController = loader.getController();
             logsTab.setContent(logsView);
+
+            // Only poll for new log lines while the tab is visible
+            logsTab.selectedProperty().addListener((obs, wasSelected, isSelected) -> {
+                if (isSelected) {
+                    logsViewController.startAutoRefresh();
+                } else {
+                    logsViewController.stopAutoRefresh();
+                }
+            });
+            if (!logsTab.isSelected()) {
+                logsViewController.stopAutoRefresh();
+            }
         } catch (IOException e) {
             System.err.println("Error loading LogsView: " + e.getMessage());
             e.printStackTrace();
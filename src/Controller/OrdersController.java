@@ -1,37 +1,46 @@
 package Controller;
 
-import service.api.IClientService;
-import service.impl.ClientServiceImpl;
-import service.api.IDeliveryOptionService;
-import service.impl.DeliveryOptionServiceImpl;
 import service.api.IOrderService;
 import service.impl.OrderServiceImpl;
-import service.api.IShipmentService;
-import service.impl.ShipmentServiceImpl;
 import service.api.IPaymentService;
 import service.impl.PaymentServiceImpl;
+import service.ReferenceDataStore;
+import service.ServiceExecutor;
+import service.api.IOrderServiceAsync;
+import service.impl.OrderServiceAsyncImpl;
+import service.api.IPaymentServiceAsync;
+import service.impl.PaymentServiceAsyncImpl;
 import javafx.beans.property.SimpleDoubleProperty;
 import javafx.beans.property.SimpleIntegerProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
+import javafx.collections.WeakListChangeListener;
+import javafx.animation.PauseTransition;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.control.*;
 import javafx.scene.layout.HBox;
+import javafx.util.Duration;
 import model.Client;
 import model.DeliveryOption;
 import model.Order;
+import model.OrderFilter;
 import model.Platform;
 import model.Shipment;
 import ui.dialog.order.OrderDialogs;
 import ui.dialog.payment.PaymentDialogs;
 import ui.util.DialogUtils;
 import ui.util.PriceCalculator;
+import util.AppConfig;
+import util.IntDoubleMap;
 
 import java.net.URL;
 import java.sql.SQLException;
+import java.util.List;
 import java.util.ResourceBundle;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * ViewController for OrdersView - handles all order-related UI interactions.
@@ -41,20 +50,39 @@ public class OrdersController implements Initializable {
 
     // Services
     private final IOrderService orderService = new OrderServiceImpl();
-    private final IClientService clientService = new ClientServiceImpl();
-    private final IShipmentService shipmentService = new ShipmentServiceImpl();
-    private final IDeliveryOptionService deliveryOptionService = new DeliveryOptionServiceImpl();
     private final IPaymentService paymentService = new PaymentServiceImpl();
 
+    // Non-blocking wrappers used for loading, so queries never run on the FX thread
+    private final IOrderServiceAsync orderServiceAsync = new OrderServiceAsyncImpl(orderService);
+    private final IPaymentServiceAsync paymentServiceAsync = new PaymentServiceAsyncImpl(paymentService);
+
     // Dialog helpers
     private final OrderDialogs orderDialogs;
     private final PaymentDialogs paymentDialogs;
 
     // Observable data lists
     private final ObservableList<Order> orderData = FXCollections.observableArrayList();
-    private final ObservableList<Client> clientData = FXCollections.observableArrayList();
-    private final ObservableList<Shipment> shipmentData = FXCollections.observableArrayList();
-    private final ObservableList<DeliveryOption> deliveryData = FXCollections.observableArrayList();
+
+    // Clients, shipments and delivery options are shared with the other views
+    private final ReferenceDataStore referenceData = ReferenceDataStore.getInstance();
+    // Client and shipment names are resolved when cells render, so redraw when they change.
+    // Held in a field because the store only keeps a weak reference to it.
+    private final ListChangeListener<Object> referenceDataListener = change -> this.ordersTable.refresh();
+
+    // Total paid per loaded order, filled page by page so cell rendering never hits the database
+    private IntDoubleMap paidByOrder = new IntDoubleMap();
+
+    // Keyset paging state: orders are fetched newest first, PAGE_SIZE at a time, as the user scrolls
+    private static final int PAGE_SIZE = AppConfig.getInt("orders.pageSize", 200);
+    // Start fetching the next page when a row this close to the end becomes visible
+    private static final int PREFETCH_ROWS = 20;
+    private final PauseTransition filterDebounce = new PauseTransition(Duration.millis(300));
+    private OrderFilter currentFilter = OrderFilter.none();
+    private Integer lastLoadedOrderId;
+    private boolean hasMoreOrders;
+    private boolean pageLoading;
+    // Bumped on every reload so pages of an outdated query are discarded
+    private int loadGeneration;
 
     // Callbacks for refreshing other views
     private Runnable paymentRefreshCallback;
@@ -77,7 +105,7 @@ public class OrdersController implements Initializable {
     @FXML private TableColumn<Order, Void> colActions;
 
     public OrdersController() {
-        this.orderDialogs = new OrderDialogs(orderService, paymentService);
+        this.orderDialogs = new OrderDialogs(orderService);
         this.paymentDialogs = new PaymentDialogs(paymentService, orderService);
     }
 
@@ -100,8 +128,9 @@ public class OrdersController implements Initializable {
 
         txtClientSearch.getStyleClass().add("app-field");
 
-        // Add filter listeners
-        txtClientSearch.textProperty().addListener((obs, oldVal, newVal) -> applyFilters());
+        // Filters run in the database; wait for typing to pause before reloading
+        filterDebounce.setOnFinished(e -> applyFilters());
+        txtClientSearch.textProperty().addListener((obs, oldVal, newVal) -> filterDebounce.playFromStart());
         cbStatusFilter.valueProperty().addListener((obs, oldVal, newVal) -> applyFilters());
         cbPlatformFilter.valueProperty().addListener((obs, oldVal, newVal) -> applyFilters());
     }
@@ -111,9 +140,7 @@ public class OrdersController implements Initializable {
 
         colClient.setCellValueFactory(c -> {
             int clientId = c.getValue().getClientId();
-            Client client = clientData.stream()
-                .filter(cl -> cl.getClientId() == clientId)
-                .findFirst().orElse(null);
+            Client client = referenceData.clients().get(clientId);
             String name = client != null ? client.getUsername() : ("#" + clientId);
             return new SimpleStringProperty(name);
         });
@@ -128,9 +155,7 @@ public class OrdersController implements Initializable {
         colShipment.setCellValueFactory(c -> {
             Integer shipmentId = c.getValue().getShipmentId();
             if (shipmentId != null) {
-                Shipment shipment = shipmentData.stream()
-                    .filter(s -> s.getShipmentId() == shipmentId)
-                    .findFirst().orElse(null);
+                Shipment shipment = referenceData.shipments().get(shipmentId);
                 return new SimpleStringProperty(shipment != null ? shipment.getBatchName() : "ID: " + shipmentId);
             }
             return new SimpleStringProperty("Not Assigned");
@@ -194,6 +219,12 @@ public class OrdersController implements Initializable {
     private void setupTableRowFactory() {
         ordersTable.setRowFactory(tv -> {
             TableRow<Order> row = new TableRow<>();
+            row.indexProperty().addListener((obs, oldIndex, newIndex) -> {
+                // Spare rows with no item sit at index -1
+                if (newIndex.intValue() >= 0 && newIndex.intValue() >= orderData.size() - PREFETCH_ROWS) {
+                    loadNextOrderPage();
+                }
+            });
             row.setOnMouseClicked(event -> {
                 if (event.getClickCount() == 2 && !row.isEmpty()) {
                     showClientInfoPopup(row.getItem().getClientId());
@@ -204,46 +235,73 @@ public class OrdersController implements Initializable {
     }
 
     private void loadAllData() {
-        loadClients();
-        loadShipments();
-        loadDeliveryOptions();
+        referenceData.clients().items().addListener(new WeakListChangeListener<>(referenceDataListener));
+        referenceData.shipments().items().addListener(new WeakListChangeListener<>(referenceDataListener));
+        referenceData.ensureLoaded().exceptionally(this::showLoadError);
         loadOrders();
     }
 
-    private void loadClients() {
-        clientData.clear();
-        try {
-            clientData.addAll(clientService.getAllClients());
-        } catch (SQLException e) {
-            DialogUtils.showError(e.getMessage());
-        }
+    /**
+     * Reload orders from the first page with the current filter.
+     */
+    private CompletableFuture<Void> loadOrders() {
+        loadGeneration++;
+        lastLoadedOrderId = null;
+        hasMoreOrders = true;
+        pageLoading = false;
+        return fetchOrderPage(true);
     }
 
-    private void loadShipments() {
-        shipmentData.clear();
-        try {
-            shipmentData.addAll(shipmentService.getAllShipments());
-        } catch (SQLException e) {
-            DialogUtils.showError(e.getMessage());
+    private void loadNextOrderPage() {
+        if (hasMoreOrders && !pageLoading) {
+            fetchOrderPage(false);
         }
     }
 
-    private void loadDeliveryOptions() {
-        deliveryData.clear();
-        try {
-            deliveryData.addAll(deliveryOptionService.getAllDeliveryOptions());
-        } catch (SQLException e) {
-            DialogUtils.showError(e.getMessage());
-        }
+    /**
+     * Fetch one page plus the payment totals of just those orders, then append it,
+     * or replace the table contents for the first page.
+     */
+    private CompletableFuture<Void> fetchOrderPage(boolean firstPage) {
+        int generation = loadGeneration;
+        pageLoading = true;
+        return orderServiceAsync.getOrdersPage(lastLoadedOrderId, PAGE_SIZE, currentFilter)
+            .thenCompose(page -> paymentServiceAsync.getTotalsPaidByOrder(orderIds(page))
+                .thenAccept(totals -> {
+                    if (generation != loadGeneration) {
+                        return;
+                    }
+                    if (firstPage) {
+                        paidByOrder = totals;
+                        orderData.setAll(page);
+                    } else {
+                        paidByOrder.putAll(totals);
+                        orderData.addAll(page);
+                    }
+                    if (!page.isEmpty()) {
+                        lastLoadedOrderId = page.get(page.size() - 1).getOrderId();
+                    }
+                    hasMoreOrders = page.size() == PAGE_SIZE;
+                }))
+            .whenComplete((v, t) -> {
+                if (generation == loadGeneration) {
+                    pageLoading = false;
+                }
+            })
+            .exceptionally(this::showLoadError);
     }
 
-    private void loadOrders() {
-        orderData.clear();
-        try {
-            orderData.addAll(orderService.getAllOrders());
-        } catch (SQLException e) {
-            DialogUtils.showError(e.getMessage());
+    private static int[] orderIds(List<Order> orders) {
+        int[] ids = new int[orders.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = orders.get(i).getOrderId();
         }
+        return ids;
+    }
+
+    private Void showLoadError(Throwable t) {
+        DialogUtils.showError(ServiceExecutor.unwrap(t).getMessage());
+        return null;
     }
 
     /**
@@ -251,8 +309,6 @@ public class OrdersController implements Initializable {
      */
     public void refreshData() {
         loadOrders();
-        loadClients();
-        loadShipments();
     }
 
     /**
@@ -263,10 +319,11 @@ public class OrdersController implements Initializable {
     }
 
     /**
-     * Public method to refresh shipments - updates the shipment combo box in order dialogs
+     * Called after shipment changes. The shared shipment list is already current, but deleting
+     * a shipment unassigns its orders, so the order rows are reloaded.
      */
     public void refreshShipments() {
-        loadShipments();
+        loadOrders();
     }
 
     private void notifyPaymentRefresh() {
@@ -276,50 +333,26 @@ public class OrdersController implements Initializable {
     }
 
     private double computeRemainingForOrder(Order order) {
-        try {
-            double totalPaid = paymentService.getTotalPaidForOrder(order.getOrderId());
-            return PriceCalculator.calculateRemaining(order.getSellingPrice(), totalPaid);
-        } catch (SQLException e) {
-            return order.getSellingPrice();
-        }
+        double totalPaid = paidByOrder.get(order.getOrderId(), 0.0);
+        return PriceCalculator.calculateRemaining(order.getSellingPrice(), totalPaid);
     }
 
     private void applyFilters() {
-        String keyword = txtClientSearch.getText() == null ? "" : txtClientSearch.getText().trim().toLowerCase();
-        String status = cbStatusFilter.getValue() == null ? "All" : cbStatusFilter.getValue();
-        String platform = cbPlatformFilter.getValue() == null ? "All Platforms" : cbPlatformFilter.getValue();
-
-        ordersTable.setItems(orderData.filtered(o -> {
-            // Search filter
-            Client client = clientData.stream()
-                .filter(c -> c.getClientId() == o.getClientId())
-                .findFirst().orElse(null);
-            String clientName = client != null ? client.getUsername() : "";
-            String combined = (clientName + " " + o.getProductLink()).toLowerCase();
-            boolean matchesSearch = keyword.isEmpty() || combined.contains(keyword);
-
-            // Status filter
-            boolean matchesStatus = "All".equals(status) || status.equalsIgnoreCase(o.getPaymentStatus());
-
-            // Platform filter
-            boolean matchesPlatform;
-            if ("All Platforms".equals(platform)) {
-                matchesPlatform = true;
-            } else {
-                String orderPlatform = o.getPlatform() != null ? o.getPlatform().getDisplayName() : "Other";
-                matchesPlatform = platform.equals(orderPlatform);
-            }
-
-            return matchesSearch && matchesStatus && matchesPlatform;
-        }));
+        filterDebounce.stop();
+        String keyword = txtClientSearch.getText();
+        String status = cbStatusFilter.getValue();
+        String platform = cbPlatformFilter.getValue();
+
+        currentFilter = new OrderFilter(
+            keyword,
+            status == null || "All".equals(status) ? null : status,
+            platform == null || "All Platforms".equals(platform) ? null : Platform.fromString(platform));
+        loadOrders();
     }
 
     @FXML
     private void handleNewOrder() {
         orderDialogs.openNewOrderDialog(
-            clientData, 
-            shipmentData, 
-            deliveryData,
             this::loadOrders,
             this::notifyPaymentRefresh
         );
@@ -337,13 +370,7 @@ public class OrdersController implements Initializable {
     }
 
     private void editOrder(Order order) {
-        orderDialogs.openEditOrderDialog(
-            order,
-            clientData,
-            shipmentData,
-            deliveryData,
-            this::loadOrders
-        );
+        orderDialogs.openEditOrderDialog(order, this::loadOrders);
     }
 
     private void deleteOrder(Order order) {
@@ -360,9 +387,7 @@ public class OrdersController implements Initializable {
     }
 
     private void showClientInfoPopup(int clientId) {
-        Client client = clientData.stream()
-            .filter(c -> c.getClientId() == clientId)
-            .findFirst().orElse(null);
+        Client client = referenceData.clients().get(clientId);
         orderDialogs.showClientInfoPopup(client);
     }
 }
@@ -4,6 +4,9 @@ import service.api.IOrderService;
 import service.impl.OrderServiceImpl;
 import service.api.IPaymentService;
 import service.impl.PaymentServiceImpl;
+import service.ServiceExecutor;
+import service.api.IPaymentServiceAsync;
+import service.impl.PaymentServiceAsyncImpl;
 import javafx.beans.property.SimpleDoubleProperty;
 import javafx.beans.property.SimpleIntegerProperty;
 import javafx.beans.property.SimpleStringProperty;
@@ -16,7 +19,6 @@ import model.Payment;
 import ui.dialog.payment.PaymentDialogs;
 import ui.util.DialogUtils;
 
-import java.sql.SQLException;
 import java.time.format.DateTimeFormatter;
 
 /**
@@ -38,6 +40,7 @@ public class PaymentsController {
 
     private final IPaymentService paymentService;
     private final IOrderService orderService;
+    private final IPaymentServiceAsync paymentServiceAsync;
     private final PaymentDialogs paymentDialogs;
     private final ObservableList<Payment> paymentData = FXCollections.observableArrayList();
     private final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
@@ -48,6 +51,7 @@ public class PaymentsController {
     public PaymentsController() {
         this.paymentService = new PaymentServiceImpl();
         this.orderService = new OrderServiceImpl();
+        this.paymentServiceAsync = new PaymentServiceAsyncImpl(paymentService);
         this.paymentDialogs = new PaymentDialogs(paymentService, orderService);
     }
 
@@ -136,12 +140,12 @@ public class PaymentsController {
     }
 
     private void loadPayments() {
-        paymentData.clear();
-        try {
-            paymentData.addAll(paymentService.getAllPayments());
-        } catch (SQLException e) {
-            DialogUtils.showError(e.getMessage());
-        }
+        paymentServiceAsync.getAllPayments()
+            .thenAccept(paymentData::setAll)
+            .exceptionally(t -> {
+                DialogUtils.showError(ServiceExecutor.unwrap(t).getMessage());
+                return null;
+            });
     }
 
     private void deletePayment(Payment selected) {
@@ -7,12 +7,15 @@ import javafx.scene.layout.VBox;
 import javafx.geometry.Insets;
 import model.CurrencyRate;
 import model.Settings;
+import service.RateRefreshScheduler;
+import service.ServiceExecutor;
+import service.api.ICurrencyRateServiceAsync;
+import service.impl.CurrencyRateServiceAsyncImpl;
 import service.impl.CurrencyRateServiceImpl;
 import util.SettingsManager;
 
 import java.io.IOException;
 import java.net.URL;
-import java.sql.SQLException;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.ResourceBundle;
@@ -30,6 +33,7 @@ public class SettingsController implements Initializable {
     @FXML private Button btnViewHistory;
     
     private final CurrencyRateServiceImpl currencyRateService = new CurrencyRateServiceImpl();
+    private final ICurrencyRateServiceAsync currencyRateServiceAsync = new CurrencyRateServiceAsyncImpl(currencyRateService);
 
     @Override
     public void initialize(URL url, ResourceBundle resourceBundle) {
@@ -57,8 +61,8 @@ public class SettingsController implements Initializable {
                 return;
             }
 
-            Settings current = SettingsManager.getCurrentSettings();
-            SettingsManager.updateSettings(current.getConversionRate(), sellingMultiplier);
+            // Keeps the current rate even if a background refresh changes it meanwhile
+            SettingsManager.updateSellingMultiplier(sellingMultiplier);
             refreshCurrentSettings();
             updateCalculationExample();
             showSuccess("Selling multiplier saved successfully!");
@@ -84,53 +88,70 @@ public class SettingsController implements Initializable {
     
     @FXML
     private void handleRefreshRate() {
-        try {
-            showInfo("Fetching latest EUR→TND rate from API...");
-            CurrencyRate rate = currencyRateService.refreshLatestRateFromApi("EUR", "TND");
-            refreshCurrentSettings();
-            showSuccess(String.format("Rate updated successfully!\nNew rate: %.4f TND per EUR", rate.getCustomRate()));
-        } catch (SQLException e) {
-            showError("Database error: " + e.getMessage());
-        } catch (IOException e) {
-            showError("Failed to fetch rate from API: " + e.getMessage());
-        }
+        showInfo("Fetching latest EUR rates from API...");
+        btnRefreshRate.setDisable(true);
+        // Same pairs as the background refresh, in one request; TND first since it is the app's conversion rate
+        RateRefreshScheduler refresher = RateRefreshScheduler.getInstance();
+        currencyRateServiceAsync.refreshRatesFromApi(refresher.getBaseCurrency(), refresher.getTargetCurrencies())
+            .whenComplete((rates, t) -> btnRefreshRate.setDisable(false))
+            .thenAccept(rates -> {
+                refreshCurrentSettings();
+                StringBuilder message = new StringBuilder("Rates updated successfully!");
+                for (CurrencyRate rate : rates) {
+                    message.append(String.format("\nNew rate: %.4f %s per %s",
+                            rate.getCustomRate(), rate.getTargetCurrency(), rate.getBaseCurrency()));
+                }
+                showSuccess(message.toString());
+            })
+            .exceptionally(t -> {
+                Throwable cause = ServiceExecutor.unwrap(t);
+                if (cause instanceof IOException) {
+                    showError("Failed to fetch rate from API: " + cause.getMessage());
+                } else {
+                    showError("Database error: " + cause.getMessage());
+                }
+                return null;
+            });
     }
     
     @FXML
     private void handleViewHistory() {
-        try {
-            List<CurrencyRate> history = currencyRateService.getRateHistory("EUR", "TND");
-            if (history.isEmpty()) {
-                showInfo("No rate history available yet.\nClick 'Refresh Rate' to fetch the first rate.");
-                return;
-            }
-            
-            Dialog<Void> dialog = new Dialog<>();
-            dialog.setTitle("EUR → TND Rate History");
-            dialog.setHeaderText("Historical Exchange Rates");
-            
-            VBox content = new VBox(10);
-            content.setPadding(new Insets(15));
-            
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-            for (CurrencyRate rate : history) {
-                String dateStr = rate.getUpdatedAt() != null ? rate.getUpdatedAt().format(formatter) : "Unknown";
-                Label lbl = new Label(String.format("%s: %.4f TND per EUR", dateStr, rate.getCustomRate()));
-                lbl.setStyle("-fx-font-family: monospace;");
-                content.getChildren().add(lbl);
-            }
-            
-            ScrollPane scroll = new ScrollPane(content);
-            scroll.setPrefSize(500, 300);
-            scroll.setFitToWidth(true);
-            
-            dialog.getDialogPane().setContent(scroll);
-            dialog.getDialogPane().getButtonTypes().add(ButtonType.CLOSE);
-            dialog.showAndWait();
-            
-        } catch (SQLException e) {
-            showError("Failed to load rate history: " + e.getMessage());
+        currencyRateServiceAsync.getRateHistory("EUR", "TND")
+            .thenAccept(this::showRateHistory)
+            .exceptionally(t -> {
+                showError("Failed to load rate history: " + ServiceExecutor.unwrap(t).getMessage());
+                return null;
+            });
+    }
+
+    private void showRateHistory(List<CurrencyRate> history) {
+        if (history.isEmpty()) {
+            showInfo("No rate history available yet.\nClick 'Refresh Rate' to fetch the first rate.");
+            return;
+        }
+        
+        Dialog<Void> dialog = new Dialog<>();
+        dialog.setTitle("EUR → TND Rate History");
+        dialog.setHeaderText("Historical Exchange Rates");
+        
+        VBox content = new VBox(10);
+        content.setPadding(new Insets(15));
+        
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+        for (CurrencyRate rate : history) {
+            String dateStr = rate.getUpdatedAt() != null ? rate.getUpdatedAt().format(formatter) : "Unknown";
+            Label lbl = new Label(String.format("%s: %.4f TND per EUR", dateStr, rate.getCustomRate()));
+            lbl.setStyle("-fx-font-family: monospace;");
+            content.getChildren().add(lbl);
         }
+        
+        ScrollPane scroll = new ScrollPane(content);
+        scroll.setPrefSize(500, 300);
+        scroll.setFitToWidth(true);
+        
+        dialog.getDialogPane().setContent(scroll);
+        dialog.getDialogPane().getButtonTypes().add(ButtonType.CLOSE);
+        dialog.showAndWait();
     }
 
     private void updateCalculationExample() {
@@ -2,11 +2,12 @@ package Controller;
 
 import service.api.IShipmentService;
 import service.impl.ShipmentServiceImpl;
+import service.ReferenceDataStore;
+import service.ServiceExecutor;
 import javafx.beans.property.SimpleDoubleProperty;
 import javafx.beans.property.SimpleIntegerProperty;
 import javafx.beans.property.SimpleStringProperty;
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
+import javafx.collections.transformation.SortedList;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.control.*;
@@ -16,7 +17,6 @@ import ui.dialog.ShipmentDialogs;
 import ui.util.DialogUtils;
 
 import java.net.URL;
-import java.sql.SQLException;
 import java.util.ResourceBundle;
 
 /**
@@ -29,8 +29,8 @@ public class ShipmentsController implements Initializable {
     private final IShipmentService shipmentService = new ShipmentServiceImpl();
     private final ShipmentDialogs shipmentDialogs;
 
-    // Observable data
-    private final ObservableList<Shipment> shipmentData = FXCollections.observableArrayList();
+    // Shared shipment list, kept current by the shipment service
+    private final ReferenceDataStore referenceData = ReferenceDataStore.getInstance();
 
     // Callbacks for refreshing other views
     private Runnable orderRefreshCallback;
@@ -52,7 +52,10 @@ public class ShipmentsController implements Initializable {
     @Override
     public void initialize(URL url, ResourceBundle resourceBundle) {
         setupTableColumns();
-        loadShipments();
+        referenceData.ensureLoaded().exceptionally(t -> {
+            DialogUtils.showError(ServiceExecutor.unwrap(t).getMessage());
+            return null;
+        });
     }
 
     private void setupTableColumns() {
@@ -84,25 +87,15 @@ public class ShipmentsController implements Initializable {
 
                 btnEditShipment.setOnAction(e -> {
                     Shipment shipment = getTableView().getItems().get(getIndex());
-                    shipmentDialogs.openEditShipmentDialog(shipment, () -> {
-                        loadShipments();
-                        notifyOrderRefresh();
-                    });
+                    shipmentDialogs.openEditShipmentDialog(shipment, () -> notifyOrderRefresh());
                 });
 
                 btnDelete.setOnAction(e -> {
                     Shipment shipment = getTableView().getItems().get(getIndex());
-                    shipmentDialogs.deleteShipment(shipment, () -> {
-                        loadShipments();
-                        notifyOrderRefresh();
-                    });
+                    shipmentDialogs.deleteShipment(shipment, () -> notifyOrderRefresh());
                 });
             }
 
-            private void loadShipments() {
-                ShipmentsController.this.loadShipments();
-            }
-
             private void notifyOrderRefresh() {
                 ShipmentsController.this.notifyOrderRefresh();
             }
@@ -118,23 +111,17 @@ public class ShipmentsController implements Initializable {
             }
         });
 
-        shipmentsTable.setItems(shipmentData);
-    }
-
-    private void loadShipments() {
-        shipmentData.clear();
-        try {
-            shipmentData.addAll(shipmentService.getAllShipments());
-        } catch (SQLException e) {
-            DialogUtils.showError(e.getMessage());
-        }
+        // The shared list is read-only, so column sorting goes through a SortedList
+        SortedList<Shipment> sortedShipments = new SortedList<>(referenceData.shipments().items());
+        sortedShipments.comparatorProperty().bind(shipmentsTable.comparatorProperty());
+        shipmentsTable.setItems(sortedShipments);
     }
 
     /**
      * Public method to refresh shipments - can be called from other views
      */
     public void refreshData() {
-        loadShipments();
+        shipmentsTable.refresh();
     }
 
     /**
@@ -152,9 +139,6 @@ public class ShipmentsController implements Initializable {
 
     @FXML
     private void handleAddShipment() {
-        shipmentDialogs.openAddShipmentDialog(() -> {
-            loadShipments();
-            notifyOrderRefresh();
-        });
+        shipmentDialogs.openAddShipmentDialog(() -> notifyOrderRefresh());
     }
 }
@@ -12,12 +12,20 @@ public class ClientDAO {
     public void insert(Client client) throws SQLException {
         String sql = "INSERT INTO clients (username, phone, source, address) VALUES (?,?,?,?)";
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             ps.setString(1, client.getUsername());
             ps.setString(2, client.getPhone());
             ps.setString(3, client.getSource());
             ps.setString(4, client.getAddress());
             ps.executeUpdate();
+
+            try (ResultSet rs = ps.getGeneratedKeys()) {
+                if (rs.next()) {
+                    client.setClientId(rs.getInt("client_id"));
+                    Timestamp ts = rs.getTimestamp("created_at");
+                    if (ts != null) client.setCreatedAt(ts.toLocalDateTime());
+                }
+            }
         }
     }
 
@@ -39,6 +39,44 @@ public class CurrencyRateDAO {
         }
     }
 
+    /**
+     * Insert several rates in one JDBC batch and one transaction. Generated IDs and
+     * timestamps are written back to the given objects.
+     */
+    public void insertBatch(List<CurrencyRate> rates) throws SQLException {
+        if (rates.isEmpty()) {
+            return;
+        }
+        String sql = "INSERT INTO currency_rates (base_currency, target_currency, original_rate, custom_rate) VALUES (?,?,?,?)";
+        try (Connection conn = DBConnection.getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try (PreparedStatement ps = conn.prepareStatement(sql, new String[]{"rate_id", "updated_at"})) {
+                for (CurrencyRate rate : rates) {
+                    ps.setString(1, rate.getBaseCurrency());
+                    ps.setString(2, rate.getTargetCurrency());
+                    ps.setDouble(3, rate.getOriginalRate());
+                    ps.setDouble(4, rate.getCustomRate());
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    for (int i = 0; i < rates.size() && keys.next(); i++) {
+                        rates.get(i).setRateId(keys.getInt("rate_id"));
+                        Timestamp ts = keys.getTimestamp("updated_at");
+                        if (ts != null) rates.get(i).setUpdatedAt(ts.toLocalDateTime());
+                    }
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
     public CurrencyRate findLatest(String base, String target) throws SQLException {
         String sql = "SELECT rate_id, base_currency, target_currency, original_rate, custom_rate, updated_at " +
                 "FROM currency_rates WHERE base_currency = ? AND target_currency = ? " +
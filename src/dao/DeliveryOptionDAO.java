@@ -22,6 +22,20 @@ public class DeliveryOptionDAO {
         return options;
     }
 
+    public DeliveryOption findById(int deliveryOptionId) throws SQLException {
+        String sql = "SELECT * FROM delivery_options WHERE delivery_option_id = ?";
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setInt(1, deliveryOptionId);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    return mapDeliveryOption(rs);
+                }
+            }
+        }
+        return null;
+    }
+
     private DeliveryOption mapDeliveryOption(ResultSet rs) throws SQLException {
         DeliveryOption d = new DeliveryOption();
         d.setDeliveryOptionId(rs.getInt("delivery_option_id"));
@@ -1,15 +1,24 @@
 package dao;
 
 import model.Order;
+import model.OrderFilter;
+import model.Payment;
 import model.Platform;
+import model.ShipmentOrderTotals;
 import util.DBConnection;
 
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.StringJoiner;
 
 public class OrderDAO {
 
+    // Payment status from the total paid p.total and the order's selling price o.selling_price
+    private static final String PAYMENT_STATUS_CASE =
+            "CASE WHEN p.total <= 0 THEN 'Unpaid' WHEN p.total >= o.selling_price THEN 'Paid' ELSE 'Partial' END";
+
     public void insert(Order o) throws SQLException {
         String sql = "INSERT INTO orders (client_id, shipment_id, delivery_option_id, product_link, product_size, quantity, original_price, selling_price, platform, payment_type, payment_status, notes) VALUES (?,?,?,?,?,?,?,?,?,?,?,?)";
         try (Connection conn = DBConnection.getConnection();
@@ -58,6 +67,46 @@ public class OrderDAO {
         }
     }
 
+    /**
+     * Insert an order together with its first payment in a single statement, so neither
+     * can exist without the other. The order's payment status must already account for the payment.
+     * @return the generated order ID
+     */
+    public int insertWithPayment(Order o, Payment p) throws SQLException {
+        String sql = "WITH new_order AS (" +
+                     "INSERT INTO orders (client_id, shipment_id, delivery_option_id, product_link, product_size, quantity, original_price, selling_price, platform, payment_type, payment_status, notes) " +
+                     "VALUES (?,?,?,?,?,?,?,?,?,?,?,?) RETURNING order_id), " +
+                     "new_payment AS (" +
+                     "INSERT INTO payments (order_id, amount, payment_method, comment) " +
+                     "SELECT order_id, ?, ?, ? FROM new_order) " +
+                     "SELECT order_id FROM new_order";
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setInt(1, o.getClientId());
+            if (o.getShipmentId() != null) ps.setInt(2, o.getShipmentId()); else ps.setNull(2, Types.INTEGER);
+            if (o.getDeliveryOptionId() != null) ps.setInt(3, o.getDeliveryOptionId()); else ps.setNull(3, Types.INTEGER);
+            ps.setString(4, o.getProductLink());
+            ps.setString(5, o.getProductSize());
+            ps.setInt(6, o.getQuantity());
+            ps.setDouble(7, o.getOriginalPrice());
+            ps.setDouble(8, o.getSellingPrice());
+            ps.setString(9, o.getPlatform() != null ? o.getPlatform().getDisplayName() : "Other");
+            ps.setString(10, o.getPaymentType());
+            ps.setString(11, o.getPaymentStatus());
+            ps.setString(12, o.getNotes());
+            ps.setDouble(13, p.getAmount());
+            ps.setString(14, p.getPaymentMethod());
+            ps.setString(15, p.getComment());
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getInt(1);
+                } else {
+                    throw new SQLException("Insert failed, no ID obtained.");
+                }
+            }
+        }
+    }
+
     public List<Order> findAll() throws SQLException {
         List<Order> orders = new ArrayList<>();
         String sql = "SELECT * FROM orders ORDER BY order_id DESC";
@@ -125,6 +174,42 @@ public class OrderDAO {
         }
     }
 
+    /**
+     * Recompute an order's payment status from its payments in one statement, with the same
+     * rules as PriceCalculator.determinePaymentStatus.
+     * @return the new status, or null if the order does not exist
+     */
+    public String recalculatePaymentStatus(int orderId) throws SQLException {
+        String sql = "UPDATE orders o SET payment_status = " + PAYMENT_STATUS_CASE + " " +
+                     "FROM (SELECT COALESCE(SUM(amount), 0) AS total FROM payments WHERE order_id = ?) p " +
+                     "WHERE o.order_id = ? RETURNING o.payment_status";
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setInt(1, orderId);
+            ps.setInt(2, orderId);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getString(1) : null;
+            }
+        }
+    }
+
+    /**
+     * Recompute the payment status of every order in one statement, writing only the ones that changed.
+     * @return the number of orders whose status was corrected
+     */
+    public int recalculateAllPaymentStatuses() throws SQLException {
+        String sql = "UPDATE orders o SET payment_status = c.status " +
+                     "FROM (SELECT o.order_id, " + PAYMENT_STATUS_CASE + " AS status " +
+                     "FROM orders o LEFT JOIN (SELECT order_id, SUM(amount) AS total FROM payments GROUP BY order_id) t " +
+                     "ON t.order_id = o.order_id " +
+                     "CROSS JOIN LATERAL (SELECT COALESCE(t.total, 0) AS total) p) c " +
+                     "WHERE o.order_id = c.order_id AND o.payment_status IS DISTINCT FROM c.status";
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            return ps.executeUpdate();
+        }
+    }
+
     public List<Order> findByPlatform(Platform platform) throws SQLException {
         List<Order> orders = new ArrayList<>();
         String sql = "SELECT * FROM orders WHERE platform = ? ORDER BY order_id DESC";
@@ -140,7 +225,82 @@ public class OrderDAO {
         return orders;
     }
 
-    private Order mapRow(ResultSet rs) throws SQLException {
+    /**
+     * One page of orders, newest first, using keyset pagination on order_id.
+     * Pass the last order ID of the previous page as afterOrderId, or null for the first page.
+     * Cost stays constant however deep the user scrolls, unlike OFFSET.
+     */
+    public List<Order> findPage(Integer afterOrderId, int limit, OrderFilter filter) throws SQLException {
+        List<Object> params = new ArrayList<>();
+        String sql = buildPageQuery(afterOrderId, limit, filter, params);
+
+        List<Order> orders = new ArrayList<>(limit);
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            for (int i = 0; i < params.size(); i++) {
+                ps.setObject(i + 1, params.get(i));
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    orders.add(mapRow(rs));
+                }
+            }
+        }
+        return orders;
+    }
+
+    /**
+     * SQL for one findPage call; the bind values are appended to params in order.
+     */
+    static String buildPageQuery(Integer afterOrderId, int limit, OrderFilter filter, List<Object> params) {
+        StringBuilder sql = new StringBuilder("SELECT o.* FROM orders o");
+        List<String> conditions = new ArrayList<>();
+
+        if (filter.hasKeyword()) {
+            // One pattern over "username product_link", so a keyword may span both
+            sql.append(" LEFT JOIN clients c ON c.client_id = o.client_id");
+            conditions.add("(COALESCE(c.username, '') || ' ' || COALESCE(o.product_link, '')) ILIKE ?");
+            params.add("%" + escapeLike(filter.getKeyword()) + "%");
+        }
+        if (filter.hasPaymentStatus()) {
+            conditions.add("lower(o.payment_status) = lower(?)");
+            params.add(filter.getPaymentStatus());
+        }
+        if (filter.hasPlatform()) {
+            // Same matching as Platform.fromString: case-insensitive, and anything
+            // unrecognised or missing is shown as "Other"
+            if (filter.getPlatform() == Platform.OTHER) {
+                StringJoiner known = new StringJoiner(", ", "(o.platform IS NULL OR lower(btrim(o.platform)) NOT IN (", "))");
+                for (Platform platform : Platform.values()) {
+                    if (platform != Platform.OTHER) {
+                        known.add("?");
+                        params.add(platform.getDisplayName().toLowerCase(Locale.ROOT));
+                    }
+                }
+                conditions.add(known.toString());
+            } else {
+                conditions.add("lower(btrim(o.platform)) = ?");
+                params.add(filter.getPlatform().getDisplayName().toLowerCase(Locale.ROOT));
+            }
+        }
+        if (afterOrderId != null) {
+            conditions.add("o.order_id < ?");
+            params.add(afterOrderId);
+        }
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        sql.append(" ORDER BY o.order_id DESC LIMIT ?");
+        params.add(limit);
+        return sql.toString();
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    // Package-private for the row-mapping benchmark
+    Order mapRow(ResultSet rs) throws SQLException {
         Order o = new Order();
         o.setOrderId(rs.getInt("order_id"));
         o.setClientId(rs.getInt("client_id"));
@@ -177,6 +337,53 @@ public class OrderDAO {
         return orders;
     }
 
+    /**
+     * Order count and SUM(original_price * quantity) for one shipment in a single query.
+     */
+    public ShipmentOrderTotals findTotalsByShipment(int shipmentId) throws SQLException {
+        String sql = "SELECT COUNT(*) AS order_count, COALESCE(SUM(original_price * COALESCE(quantity, 0)), 0) AS original_value "
+                + "FROM orders WHERE shipment_id = ?";
+        ShipmentOrderTotals totals = new ShipmentOrderTotals();
+        totals.setShipmentId(shipmentId);
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setInt(1, shipmentId);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    totals.setOrderCount(rs.getInt("order_count"));
+                    totals.setOriginalValue(rs.getDouble("original_value"));
+                }
+            }
+        }
+        return totals;
+    }
+
+    /**
+     * Order aggregates and shipment costs for every shipment in one GROUP BY query.
+     * Shipments without orders are included with zero totals.
+     */
+    public List<ShipmentOrderTotals> findTotalsForAllShipments() throws SQLException {
+        List<ShipmentOrderTotals> result = new ArrayList<>();
+        String sql = "SELECT s.shipment_id, s.transportation_cost, s.other_costs, COUNT(o.order_id) AS order_count, "
+                + "COALESCE(SUM(o.original_price * COALESCE(o.quantity, 0)), 0) AS original_value "
+                + "FROM shipments s LEFT JOIN orders o ON o.shipment_id = s.shipment_id "
+                + "GROUP BY s.shipment_id ORDER BY s.shipment_id";
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql);
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                ShipmentOrderTotals totals = new ShipmentOrderTotals();
+                totals.setShipmentId(rs.getInt("shipment_id"));
+                totals.setOrderCount(rs.getInt("order_count"));
+                totals.setOriginalValue(rs.getDouble("original_value"));
+                totals.setTransportationCost(rs.getDouble("transportation_cost"));
+                totals.setOtherCosts(rs.getDouble("other_costs"));
+                result.add(totals);
+            }
+        }
+        return result;
+    }
+
     public void delete(int orderId) throws SQLException {
         String sql = "DELETE FROM orders WHERE order_id = ?";
         try (Connection conn = DBConnection.getConnection();
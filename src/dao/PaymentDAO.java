@@ -2,6 +2,7 @@ package dao;
 
 import model.Payment;
 import util.DBConnection;
+import util.IntDoubleMap;
 
 import java.sql.*;
 import java.util.ArrayList;
@@ -56,6 +57,54 @@ public class PaymentDAO {
         return 0.0;
     }
 
+    /**
+     * Total paid per order for the given order IDs in one grouped query.
+     * Orders without payments are absent from the map.
+     */
+    public IntDoubleMap getTotalsPaidByOrder(int[] orderIds) throws SQLException {
+        IntDoubleMap totals = new IntDoubleMap(orderIds.length);
+        if (orderIds.length == 0) {
+            return totals;
+        }
+        String sql = "SELECT order_id, SUM(amount) AS total FROM payments WHERE order_id = ANY(?) GROUP BY order_id";
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            Integer[] boxed = new Integer[orderIds.length];
+            for (int i = 0; i < orderIds.length; i++) {
+                boxed[i] = orderIds[i];
+            }
+            Array array = conn.createArrayOf("integer", boxed);
+            try {
+                ps.setArray(1, array);
+                readTotals(ps, totals);
+            } finally {
+                array.free();
+            }
+        }
+        return totals;
+    }
+
+    /**
+     * Total paid per order for every order that has at least one payment.
+     */
+    public IntDoubleMap getTotalsPaidForAllOrders() throws SQLException {
+        String sql = "SELECT order_id, SUM(amount) AS total FROM payments GROUP BY order_id";
+        IntDoubleMap totals = new IntDoubleMap();
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            readTotals(ps, totals);
+        }
+        return totals;
+    }
+
+    private void readTotals(PreparedStatement ps, IntDoubleMap totals) throws SQLException {
+        try (ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                totals.put(rs.getInt("order_id"), rs.getDouble("total"));
+            }
+        }
+    }
+
     public List<Payment> findAll() throws SQLException {
         List<Payment> payments = new ArrayList<>();
         String sql = "SELECT * FROM payments ORDER BY payment_date DESC";
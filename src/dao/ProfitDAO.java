@@ -4,50 +4,54 @@ import model.Profit;
 import util.DBConnection;
 
 import java.sql.*;
+import java.util.List;
 
 public class ProfitDAO {
 
+    private static final String UPSERT_SQL =
+            "INSERT INTO profits (order_id, original_rate, custom_rate, shipment_cost, calculated_profit) VALUES (?,?,?,?,?) " +
+            "ON CONFLICT (order_id) DO UPDATE SET original_rate = EXCLUDED.original_rate, custom_rate = EXCLUDED.custom_rate, " +
+            "shipment_cost = EXCLUDED.shipment_cost, calculated_profit = EXCLUDED.calculated_profit, created_at = CURRENT_TIMESTAMP";
+
     public void upsertProfit(Profit p) throws SQLException {
-        Connection conn = null;
-        try {
-            conn = DBConnection.getConnection();
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(UPSERT_SQL)) {
+            bindProfit(ps, p);
+            ps.executeUpdate();
+        }
+    }
+
+    /**
+     * Insert or replace the profits of many orders as one batch in a single transaction.
+     */
+    public void upsertProfits(List<Profit> profits) throws SQLException {
+        if (profits.isEmpty()) {
+            return;
+        }
+        try (Connection conn = DBConnection.getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
             conn.setAutoCommit(false);
-            
-            // Delete existing profit for order
-            try (PreparedStatement del = conn.prepareStatement("DELETE FROM profits WHERE order_id = ?")) {
-                del.setInt(1, p.getOrderId());
-                del.executeUpdate();
-            }
-            
-            // Insert new profit
-            try (PreparedStatement ins = conn.prepareStatement("INSERT INTO profits (order_id, original_rate, custom_rate, shipment_cost, calculated_profit) VALUES (?,?,?,?,?)")) {
-                ins.setInt(1, p.getOrderId());
-                ins.setDouble(2, p.getOriginalRate());
-                ins.setDouble(3, p.getCustomRate());
-                ins.setDouble(4, p.getShipmentCost());
-                ins.setDouble(5, p.getCalculatedProfit());
-                ins.executeUpdate();
-            }
-            
-            conn.commit();
-        } catch (SQLException e) {
-            if (conn != null) {
-                try {
-                    conn.rollback();
-                } catch (SQLException rollbackEx) {
-                    rollbackEx.printStackTrace();
-                }
-            }
-            throw e;
-        } finally {
-            if (conn != null) {
-                try {
-                    conn.setAutoCommit(true);
-                    conn.close();
-                } catch (SQLException closeEx) {
-                    closeEx.printStackTrace();
+            try (PreparedStatement ps = conn.prepareStatement(UPSERT_SQL)) {
+                for (Profit p : profits) {
+                    bindProfit(ps, p);
+                    ps.addBatch();
                 }
+                ps.executeBatch();
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
             }
         }
     }
+
+    private void bindProfit(PreparedStatement ps, Profit p) throws SQLException {
+        ps.setInt(1, p.getOrderId());
+        ps.setDouble(2, p.getOriginalRate());
+        ps.setDouble(3, p.getCustomRate());
+        ps.setDouble(4, p.getShipmentCost());
+        ps.setDouble(5, p.getCalculatedProfit());
+    }
 }
@@ -12,7 +12,7 @@ public class ShipmentDAO {
     public void insert(Shipment s) throws SQLException {
         String sql = "INSERT INTO shipments (batch_name, departure_country, arrival_country, shipment_cost, departure_date, arrival_date, status, transportation_cost, other_costs) VALUES (?,?,?,?,?,?,?,?,?)";
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             ps.setString(1, s.getBatchName());
             ps.setString(2, s.getDepartureCountry());
             ps.setString(3, s.getArrivalCountry());
@@ -23,6 +23,12 @@ public class ShipmentDAO {
             ps.setDouble(8, s.getTransportationCost());
             ps.setDouble(9, s.getOtherCosts());
             ps.executeUpdate();
+
+            try (ResultSet rs = ps.getGeneratedKeys()) {
+                if (rs.next()) {
+                    s.setShipmentId(rs.getInt(1));
+                }
+            }
         }
     }
 
@@ -39,6 +45,20 @@ public class ShipmentDAO {
         return shipments;
     }
 
+    public Shipment findById(int shipmentId) throws SQLException {
+        String sql = "SELECT * FROM shipments WHERE shipment_id = ?";
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setInt(1, shipmentId);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    return mapShipment(rs);
+                }
+            }
+        }
+        return null;
+    }
+
     private Shipment mapShipment(ResultSet rs) throws SQLException {
         Shipment s = new Shipment();
         s.setShipmentId(rs.getInt("shipment_id"));
@@ -0,0 +1,34 @@
+package model;
+
+/**
+ * Search criteria for order browsing, pushed down into the orders query.
+ * A null or empty field means "no restriction".
+ */
+public class OrderFilter {
+    private final String keyword;
+    private final String paymentStatus;
+    private final Platform platform;
+
+    public OrderFilter(String keyword, String paymentStatus, Platform platform) {
+        this.keyword = keyword == null ? "" : keyword.trim();
+        this.paymentStatus = paymentStatus;
+        this.platform = platform;
+    }
+
+    public static OrderFilter none() {
+        return new OrderFilter(null, null, null);
+    }
+
+    /** Matched case-insensitively against the client username and product link, joined by a space. */
+    public String getKeyword() { return keyword; }
+
+    public String getPaymentStatus() { return paymentStatus; }
+
+    public Platform getPlatform() { return platform; }
+
+    public boolean hasKeyword() { return !keyword.isEmpty(); }
+
+    public boolean hasPaymentStatus() { return paymentStatus != null && !paymentStatus.isEmpty(); }
+
+    public boolean hasPlatform() { return platform != null; }
+}
@@ -14,6 +14,24 @@ public class Shipment {
     private double transportationCost;
     private double otherCosts;
 
+    public Shipment() {}
+
+    /**
+     * Copies every field, so a change can be saved before the shared instance is replaced.
+     */
+    public Shipment(Shipment other) {
+        this.shipmentId = other.shipmentId;
+        this.batchName = other.batchName;
+        this.departureCountry = other.departureCountry;
+        this.arrivalCountry = other.arrivalCountry;
+        this.shipmentCost = other.shipmentCost;
+        this.departureDate = other.departureDate;
+        this.arrivalDate = other.arrivalDate;
+        this.status = other.status;
+        this.transportationCost = other.transportationCost;
+        this.otherCosts = other.otherCosts;
+    }
+
     public int getShipmentId() { return shipmentId; }
     public void setShipmentId(int shipmentId) { this.shipmentId = shipmentId; }
 
@@ -0,0 +1,42 @@
+package model;
+
+/**
+ * Financial figures for one shipment, computed once and shared by the summary
+ * labels and the charts.
+ * totalExpenses = totalCostOfGoods + transportationCost + otherCosts
+ * netProfit = totalRevenue - totalExpenses
+ */
+public class ShipmentFinancials {
+    private final int shipmentId;
+    private final int totalOrders;
+    private final double totalCostOfGoods;
+    private final double totalRevenue;
+    private final double transportationCost;
+    private final double otherCosts;
+
+    public ShipmentFinancials(int shipmentId, int totalOrders, double totalCostOfGoods, double totalRevenue,
+                              double transportationCost, double otherCosts) {
+        this.shipmentId = shipmentId;
+        this.totalOrders = totalOrders;
+        this.totalCostOfGoods = totalCostOfGoods;
+        this.totalRevenue = totalRevenue;
+        this.transportationCost = transportationCost;
+        this.otherCosts = otherCosts;
+    }
+
+    public int getShipmentId() { return shipmentId; }
+
+    public int getTotalOrders() { return totalOrders; }
+
+    public double getTotalCostOfGoods() { return totalCostOfGoods; }
+
+    public double getTotalRevenue() { return totalRevenue; }
+
+    public double getTransportationCost() { return transportationCost; }
+
+    public double getOtherCosts() { return otherCosts; }
+
+    public double getTotalExpenses() { return totalCostOfGoods + transportationCost + otherCosts; }
+
+    public double getNetProfit() { return totalRevenue - getTotalExpenses(); }
+}
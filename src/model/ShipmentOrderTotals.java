@@ -0,0 +1,29 @@
+package model;
+
+/**
+ * Order aggregates for one shipment as returned by a single grouped query.
+ * originalValue is SUM(original_price * quantity) in the base currency.
+ * The cost columns are only filled by the all-shipments rollup.
+ */
+public class ShipmentOrderTotals {
+    private int shipmentId;
+    private int orderCount;
+    private double originalValue;
+    private double transportationCost;
+    private double otherCosts;
+
+    public int getShipmentId() { return shipmentId; }
+    public void setShipmentId(int shipmentId) { this.shipmentId = shipmentId; }
+
+    public int getOrderCount() { return orderCount; }
+    public void setOrderCount(int orderCount) { this.orderCount = orderCount; }
+
+    public double getOriginalValue() { return originalValue; }
+    public void setOriginalValue(double originalValue) { this.originalValue = originalValue; }
+
+    public double getTransportationCost() { return transportationCost; }
+    public void setTransportationCost(double transportationCost) { this.transportationCost = transportationCost; }
+
+    public double getOtherCosts() { return otherCosts; }
+    public void setOtherCosts(double otherCosts) { this.otherCosts = otherCosts; }
+}
@@ -0,0 +1,208 @@
+package service;
+
+import model.CurrencyRate;
+import util.AppConfig;
+
+import java.sql.SQLException;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Latest rate per currency pair, kept in memory for currency.cache.ttlSeconds.
+ *
+ * An expired entry is still returned while a background refresh replaces it, so
+ * conversions never wait on the database once a pair has been loaded. Loads are
+ * single-flight: concurrent misses for the same pair share one loader call, so a
+ * burst of conversions produces one query (and at most one API fetch) instead of one each.
+ */
+public class CurrencyRateCache {
+    private static final Logger LOGGER = Logger.getLogger(CurrencyRateCache.class.getName());
+    private static final CurrencyRateCache instance = new CurrencyRateCache(
+            TimeUnit.SECONDS.toNanos(AppConfig.getLong("currency.cache.ttlSeconds", 300)));
+
+    /**
+     * Reads the current rate for a pair; may return null when there is none.
+     */
+    @FunctionalInterface
+    public interface Loader {
+        CurrencyRate load() throws SQLException;
+    }
+
+    private final long ttlNanos;
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, CompletableFuture<CurrencyRate>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder refreshFailures = new LongAdder();
+
+    CurrencyRateCache(long ttlNanos) {
+        this.ttlNanos = ttlNanos;
+    }
+
+    public static CurrencyRateCache getInstance() {
+        return instance;
+    }
+
+    /**
+     * Return the cached rate for the pair, loading it on the calling thread on a miss.
+     * @return the rate, or null if the loader found none
+     */
+    public CurrencyRate get(String baseCurrency, String targetCurrency, Loader loader) throws SQLException {
+        String key = key(baseCurrency, targetCurrency);
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            if (System.nanoTime() - entry.loadedAt < ttlNanos) {
+                hits.increment();
+            } else {
+                staleHits.increment();
+                refreshInBackground(key, loader);
+            }
+            return entry.rate;
+        }
+        misses.increment();
+        return await(load(key, loader, false));
+    }
+
+    /**
+     * Store a rate that was just written to the database.
+     */
+    public void put(CurrencyRate rate) {
+        if (rate != null) {
+            entries.put(key(rate.getBaseCurrency(), rate.getTargetCurrency()), new Entry(rate, System.nanoTime()));
+        }
+    }
+
+    /**
+     * Forget the pair so the next lookup reads it again.
+     */
+    public void invalidate(String baseCurrency, String targetCurrency) {
+        entries.remove(key(baseCurrency, targetCurrency));
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    private void refreshInBackground(String key, Loader loader) {
+        load(key, loader, true).exceptionally(t -> {
+            // Keep serving the stale rate; the next lookup tries again
+            LOGGER.log(Level.WARNING, "Background refresh of {0} failed: {1}",
+                    new Object[]{key, ServiceExecutor.unwrap(t).getMessage()});
+            return null;
+        });
+    }
+
+    /**
+     * Start a load for the key unless one is already running, in which case join it.
+     */
+    private CompletableFuture<CurrencyRate> load(String key, Loader loader, boolean async) {
+        CompletableFuture<CurrencyRate> mine = new CompletableFuture<>();
+        CompletableFuture<CurrencyRate> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            coalesced.increment();
+            return running;
+        }
+        refreshes.increment();
+        Runnable task = () -> {
+            try {
+                CurrencyRate rate = loader.load();
+                if (rate != null) {
+                    entries.put(key, new Entry(rate, System.nanoTime()));
+                }
+                mine.complete(rate);
+            } catch (Throwable t) {
+                refreshFailures.increment();
+                mine.completeExceptionally(t);
+            } finally {
+                inFlight.remove(key, mine);
+            }
+        };
+        if (async) {
+            ServiceExecutor.getInstance().submit(() -> {
+                task.run();
+                return null;
+            });
+        } else {
+            task.run();
+        }
+        return mine;
+    }
+
+    private static CurrencyRate await(CompletableFuture<CurrencyRate> future) throws SQLException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = ServiceExecutor.unwrap(e);
+            if (cause instanceof SQLException) {
+                throw (SQLException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new SQLException("Failed to load currency rate: " + cause.getMessage(), cause);
+        }
+    }
+
+    private static String key(String baseCurrency, String targetCurrency) {
+        return baseCurrency.trim().toUpperCase(Locale.ROOT) + '/' + targetCurrency.trim().toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Lookups answered from a fresh entry.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Lookups answered from an expired entry while it was being refreshed.
+     */
+    public long getStaleHits() {
+        return staleHits.sum();
+    }
+
+    /**
+     * Lookups that found no entry and had to wait for a load.
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Loader calls actually made.
+     */
+    public long getRefreshes() {
+        return refreshes.sum();
+    }
+
+    /**
+     * Loads avoided because one for the same pair was already running.
+     */
+    public long getCoalesced() {
+        return coalesced.sum();
+    }
+
+    public long getRefreshFailures() {
+        return refreshFailures.sum();
+    }
+
+    private static final class Entry {
+        final CurrencyRate rate;
+        final long loadedAt;
+
+        Entry(CurrencyRate rate, long loadedAt) {
+            this.rate = rate;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
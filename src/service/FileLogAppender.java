@@ -0,0 +1,271 @@
+package service;
+
+import util.AppConfig;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Writes log entries to a file from a single background thread.
+ *
+ * Callers only enqueue into a bounded queue; the writer drains it in batches into a
+ * buffer and writes the buffer through a FileChannel at most every flush interval
+ * (or when it fills up). When the file passes the size limit it is rotated to
+ * app.log.1, app.log.2, ... keeping the configured number of old files.
+ *
+ * Settings (app.properties): log.file.path, log.file.maxSizeMb, log.file.retention,
+ * log.file.flushIntervalMs, log.file.queueCapacity, log.file.overflowPolicy.
+ */
+public class FileLogAppender {
+
+    /**
+     * What append does when the queue is full.
+     */
+    public enum OverflowPolicy {
+        /** Discard the new entry and count it; callers never wait. */
+        DROP,
+        /** Wait for the writer to make room; nothing is lost but callers can stall. */
+        BLOCK
+    }
+
+    private static final int BATCH_SIZE = 512;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // Wakes the writer on close; interrupting it instead would close the FileChannel mid-write
+    private static final LogEntry STOP = new LogEntry(0, "", "");
+
+    private final Path file;
+    private final long maxSizeBytes;
+    private final int retention;
+    private final long flushIntervalMs;
+    private final OverflowPolicy overflowPolicy;
+    private final BlockingQueue<LogEntry> queue;
+    private final LongAdder dropped = new LongAdder();
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    // Writer thread only
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    // A lone surrogate in a message becomes '?' instead of ending the line early
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private FileChannel channel;
+    private long fileSize;
+    private long lastFlush;
+
+    public FileLogAppender(Path file, long maxSizeBytes, int retention, long flushIntervalMs,
+                           int queueCapacity, OverflowPolicy overflowPolicy) {
+        this.file = file;
+        this.maxSizeBytes = Math.max(1024, maxSizeBytes);
+        this.retention = Math.max(0, retention);
+        this.flushIntervalMs = Math.max(1, flushIntervalMs);
+        this.overflowPolicy = overflowPolicy;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        this.writer = new Thread(this::runWriter, "log-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Build the appender from app.properties, or return null if log.file.enabled=false.
+     */
+    public static FileLogAppender fromAppConfig() {
+        if (!AppConfig.getBoolean("log.file.enabled", true)) {
+            return null;
+        }
+        OverflowPolicy policy;
+        try {
+            policy = OverflowPolicy.valueOf(AppConfig.getString("log.file.overflowPolicy", "DROP").trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            policy = OverflowPolicy.DROP;
+        }
+        return new FileLogAppender(
+                Paths.get(AppConfig.getString("log.file.path", "logs/app.log")),
+                AppConfig.getLong("log.file.maxSizeMb", 10) * 1024 * 1024,
+                AppConfig.getInt("log.file.retention", 5),
+                AppConfig.getLong("log.file.flushIntervalMs", 1000),
+                AppConfig.getInt("log.file.queueCapacity", 8192),
+                policy);
+    }
+
+    /**
+     * Queue an entry for writing. Never does I/O on the calling thread.
+     */
+    public void append(LogEntry entry) {
+        if (!running) {
+            dropped.increment();
+            return;
+        }
+        if (overflowPolicy == OverflowPolicy.BLOCK) {
+            try {
+                queue.put(entry);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                dropped.increment();
+            }
+        } else if (!queue.offer(entry)) {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * Entries discarded because the queue was full or the appender was closed.
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Entries waiting to be written.
+     */
+    public int getQueuedCount() {
+        return queue.size();
+    }
+
+    /**
+     * Write everything still queued, then stop the writer thread and close the file.
+     */
+    public void close() {
+        running = false;
+        queue.offer(STOP);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void runWriter() {
+        List<LogEntry> batch = new ArrayList<>(BATCH_SIZE);
+        try {
+            openFile();
+            lastFlush = System.currentTimeMillis();
+            while (running || !queue.isEmpty()) {
+                long untilFlush = Math.max(1, lastFlush + flushIntervalMs - System.currentTimeMillis());
+                LogEntry first;
+                try {
+                    first = queue.poll(untilFlush, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    continue;
+                }
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, BATCH_SIZE - 1);
+                    for (LogEntry entry : batch) {
+                        if (entry != STOP) {
+                            encode(entry.format());
+                        }
+                    }
+                    batch.clear();
+                }
+                // Entries accumulate in the buffer; it is written when full or once per interval
+                if (System.currentTimeMillis() - lastFlush >= flushIntervalMs) {
+                    flush();
+                }
+            }
+            flush();
+        } catch (IOException e) {
+            System.err.println("Log file writer stopped: " + e.getMessage());
+            running = false;
+            queue.clear();
+        } finally {
+            closeFile();
+        }
+    }
+
+    private void encode(String line) throws IOException {
+        CharBuffer chars = CharBuffer.wrap(line);
+        encoder.reset();
+        while (true) {
+            CoderResult result = encoder.encode(chars, buffer, true);
+            if (result.isOverflow()) {
+                writeBuffer();
+                continue;
+            }
+            break;
+        }
+        if (!buffer.hasRemaining()) {
+            writeBuffer();
+        }
+        buffer.put((byte) '\n');
+    }
+
+    private void flush() throws IOException {
+        writeBuffer();
+        lastFlush = System.currentTimeMillis();
+    }
+
+    private void writeBuffer() throws IOException {
+        buffer.flip();
+        if (buffer.hasRemaining() && fileSize + buffer.remaining() > maxSizeBytes && fileSize > 0) {
+            rotate();
+        }
+        while (buffer.hasRemaining()) {
+            fileSize += channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * app.log -> app.log.1 -> app.log.2 ...; the oldest beyond the retention count is deleted.
+     */
+    private void rotate() throws IOException {
+        closeFile();
+        if (retention == 0) {
+            Files.deleteIfExists(file);
+        } else {
+            Files.deleteIfExists(rotated(retention));
+            for (int i = retention - 1; i >= 1; i--) {
+                Path source = rotated(i);
+                if (Files.exists(source)) {
+                    Files.move(source, rotated(i + 1), StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            if (Files.exists(file)) {
+                Files.move(file, rotated(1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        openFile();
+    }
+
+    private Path rotated(int index) {
+        return file.resolveSibling(file.getFileName() + "." + index);
+    }
+
+    private void openFile() throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        fileSize = channel.size();
+    }
+
+    private void closeFile() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                System.err.println("Error closing log file: " + e.getMessage());
+            }
+            channel = null;
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package service;
+
+import javafx.application.Platform;
+import javafx.collections.ListChangeListener;
+import javafx.event.ActionEvent;
+import javafx.event.Event;
+import javafx.event.EventHandler;
+import javafx.scene.Node;
+import javafx.scene.control.Control;
+import javafx.scene.control.Labeled;
+import javafx.scene.input.KeyEvent;
+import javafx.scene.input.MouseEvent;
+import javafx.stage.Stage;
+import javafx.stage.Window;
+import util.AppConfig;
+import util.QueryMetrics;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Watchdog for the JavaFX application thread. A background thread posts a ping to the
+ * FX thread every check interval; when one is not handled within the threshold, the FX
+ * thread is busy (usually blocked on the database) and the screen is frozen.
+ *
+ * Each stall is reported once to the application log with the FX thread's stack, the
+ * last UI action (button, click or key press) and the SQL statement the FX thread is
+ * running, followed by a second entry with the total duration when it recovers.
+ *
+ * Settings (app.properties): ui.stall.enabled, ui.stall.thresholdMs, ui.stall.checkIntervalMs.
+ */
+public class FxStallDetector {
+    private static final Logger LOGGER = Logger.getLogger(FxStallDetector.class.getName());
+    private static final int MAX_STACK_FRAMES = 40;
+    private static final FxStallDetector instance = new FxStallDetector();
+
+    private final boolean enabled;
+    private final long thresholdNanos;
+    private final long checkIntervalMs;
+    private final LogService logService = LogService.getInstance();
+
+    private final EventHandler<Event> actionRecorder = this::recordAction;
+
+    private ScheduledExecutorService watchdog;
+    private volatile Thread fxThread;
+    private volatile long pingSentNanos;
+    private volatile boolean pingPending;
+    private volatile long pongNanos;
+    private volatile Event lastEvent;
+    private volatile long lastActionNanos;
+
+    // Watchdog thread only
+    private boolean stallReported;
+
+    private FxStallDetector() {
+        this.enabled = AppConfig.getBoolean("ui.stall.enabled", true);
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(50, AppConfig.getLong("ui.stall.thresholdMs", 1000)));
+        this.checkIntervalMs = Math.max(10, AppConfig.getLong("ui.stall.checkIntervalMs", 100));
+    }
+
+    public static FxStallDetector getInstance() {
+        return instance;
+    }
+
+    /**
+     * Start watching. Must be called on the FX application thread (App.start).
+     */
+    public synchronized void start() {
+        if (!enabled) {
+            LOGGER.log(Level.INFO, "FX stall detector disabled");
+            return;
+        }
+        if (watchdog != null) {
+            return;
+        }
+        fxThread = Thread.currentThread();
+        QueryMetrics.getInstance().watchThread(fxThread);
+
+        // Record what the user did last in every window, including dialogs opened later
+        for (Window window : Window.getWindows()) {
+            installActionRecorder(window);
+        }
+        Window.getWindows().addListener((ListChangeListener<Window>) change -> {
+            while (change.next()) {
+                for (Window window : change.getAddedSubList()) {
+                    installActionRecorder(window);
+                }
+            }
+        });
+
+        pingPending = false;
+        watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "fx-stall-detector");
+            thread.setDaemon(true);
+            return thread;
+        });
+        watchdog.scheduleWithFixedDelay(this::check, checkIntervalMs, checkIntervalMs, TimeUnit.MILLISECONDS);
+        LOGGER.log(Level.INFO, "FX stall detector watching with a {0} ms threshold",
+                TimeUnit.NANOSECONDS.toMillis(thresholdNanos));
+    }
+
+    public synchronized void stop() {
+        if (watchdog == null) {
+            return;
+        }
+        watchdog.shutdownNow();
+        watchdog = null;
+        QueryMetrics.getInstance().watchThread(null);
+    }
+
+    private void installActionRecorder(Window window) {
+        window.addEventFilter(ActionEvent.ACTION, actionRecorder);
+        window.addEventFilter(MouseEvent.MOUSE_CLICKED, actionRecorder);
+        window.addEventFilter(KeyEvent.KEY_PRESSED, actionRecorder);
+    }
+
+    /**
+     * Runs on the FX thread for every action, click and key press, so it only stores a
+     * reference; the description is built when a stall is reported.
+     */
+    private void recordAction(Event event) {
+        lastEvent = event;
+        lastActionNanos = System.nanoTime();
+    }
+
+    private void check() {
+        long now = System.nanoTime();
+        if (!pingPending) {
+            if (stallReported) {
+                stallReported = false;
+                long stalledMs = TimeUnit.NANOSECONDS.toMillis(pongNanos - pingSentNanos);
+                logService.warn("UI thread responsive again after a " + stalledMs + " ms stall");
+            }
+            pingPending = true;
+            pingSentNanos = now;
+            Platform.runLater(this::pong);
+            return;
+        }
+        if (!stallReported && now - pingSentNanos >= thresholdNanos) {
+            stallReported = true;
+            report(now);
+        }
+    }
+
+    private void pong() {
+        pongNanos = System.nanoTime();
+        pingPending = false;
+    }
+
+    private void report(long now) {
+        Thread thread = fxThread;
+        StringBuilder sb = new StringBuilder();
+        sb.append("UI thread stalled for ").append(TimeUnit.NANOSECONDS.toMillis(now - pingSentNanos)).append(" ms");
+
+        Event event = lastEvent;
+        if (event != null) {
+            sb.append("\n  Last UI action: ").append(describe(event))
+              .append(" (").append(TimeUnit.NANOSECONDS.toMillis(now - lastActionNanos)).append(" ms ago)");
+        } else {
+            sb.append("\n  Last UI action: none recorded");
+        }
+
+        QueryMetrics.InFlight statement = QueryMetrics.getInstance().getWatchedStatement();
+        if (statement == null) {
+            sb.append("\n  SQL: none run on the UI thread yet");
+        } else if (statement.isRunning()) {
+            sb.append("\n  SQL in flight (").append(TimeUnit.NANOSECONDS.toMillis(now - statement.getStartNanos()))
+              .append(" ms): ").append(oneLine(statement.getSql()));
+        } else {
+            sb.append("\n  Last SQL (took ")
+              .append(TimeUnit.NANOSECONDS.toMillis(statement.getEndNanos() - statement.getStartNanos()))
+              .append(" ms, finished ").append(TimeUnit.NANOSECONDS.toMillis(now - statement.getEndNanos()))
+              .append(" ms ago): ").append(oneLine(statement.getSql()));
+        }
+
+        if (thread != null) {
+            StackTraceElement[] stack = thread.getStackTrace();
+            sb.append("\n  UI thread stack (").append(thread.getState()).append("):");
+            for (int i = 0; i < Math.min(stack.length, MAX_STACK_FRAMES); i++) {
+                sb.append("\n    at ").append(stack[i]);
+            }
+            if (stack.length > MAX_STACK_FRAMES) {
+                sb.append("\n    ... ").append(stack.length - MAX_STACK_FRAMES).append(" more");
+            }
+        }
+        logService.warn(sb.toString());
+    }
+
+    /**
+     * e.g. "Button \"Save\" #saveButton (click) in 'Proxy Shopping Management'".
+     * Called from the watchdog while the FX thread is stuck, so it only reads properties.
+     */
+    private static String describe(Event event) {
+        StringBuilder sb = new StringBuilder();
+        Object target = event.getTarget();
+        if (target instanceof Node) {
+            Node node = (Node) target;
+            // Clicks land on a control's inner skin nodes; report the control itself
+            Node control = node;
+            while (control != null && !(control instanceof Control)) {
+                control = control.getParent();
+            }
+            if (control == null) {
+                control = node;
+            }
+            sb.append(control.getClass().getSimpleName());
+            if (control instanceof Labeled) {
+                String text = ((Labeled) control).getText();
+                if (text != null && !text.isBlank()) {
+                    sb.append(" \"").append(text).append('"');
+                }
+            }
+            if (control.getId() != null) {
+                sb.append(" #").append(control.getId());
+            }
+        } else if (target != null) {
+            sb.append(target.getClass().getSimpleName());
+        }
+
+        if (event instanceof KeyEvent) {
+            sb.append(" (key ").append(((KeyEvent) event).getCode()).append(')');
+        } else if (event instanceof MouseEvent) {
+            sb.append(" (click)");
+        } else {
+            sb.append(" (action)");
+        }
+
+        Object source = event.getSource();
+        if (source instanceof Stage && ((Stage) source).getTitle() != null) {
+            sb.append(" in '").append(((Stage) source).getTitle()).append('\'');
+        }
+        return sb.toString();
+    }
+
+    private static String oneLine(String sql) {
+        return sql.replaceAll("\\s+", " ").trim();
+    }
+}
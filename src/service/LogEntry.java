@@ -0,0 +1,48 @@
+package service;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * One application log line. Only the raw parts are captured when logging;
+ * the display text is built when someone reads it.
+ */
+public final class LogEntry {
+    private static final DateTimeFormatter FORMATTER =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").withZone(ZoneId.systemDefault());
+
+    private final long timestampMillis;
+    private final String level;
+    private final String message;
+
+    public LogEntry(long timestampMillis, String level, String message) {
+        this.timestampMillis = timestampMillis;
+        this.level = level;
+        this.message = message;
+    }
+
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    public String getLevel() {
+        return level;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Format as "[yyyy-MM-dd HH:mm:ss] [LEVEL] message".
+     */
+    public String format() {
+        return "[" + FORMATTER.format(Instant.ofEpochMilli(timestampMillis)) + "] [" + level + "] " + message;
+    }
+
+    @Override
+    public String toString() {
+        return format();
+    }
+}
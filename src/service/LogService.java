@@ -1,16 +1,26 @@
 package service;
 
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import util.AppConfig;
+import util.RingBuffer;
+
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
+/**
+ * In-memory application log shown in the admin Logs tab.
+ * Entries go into a lock-free ring buffer, so logging is O(1) from any thread
+ * and never waits for a reader; once full, the oldest entries are overwritten.
+ * They are also handed to a {@link FileLogAppender} so history survives restarts.
+ */
 public class LogService {
+    private static final int MAX_LOGS = 1024; // Keep the most recent entries
     private static final LogService instance = new LogService();
-    private final List<String> logs = Collections.synchronizedList(new ArrayList<>());
-    private final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-    private static final int MAX_LOGS = 1000; // Keep last 1000 log entries
+    private final RingBuffer<LogEntry> logs = new RingBuffer<>(MAX_LOGS);
+    private final boolean echoToConsole = AppConfig.getBoolean("log.console.enabled", false);
+    // Null when log.file.enabled=false
+    private final FileLogAppender fileAppender = FileLogAppender.fromAppConfig();
+    // Entries before this sequence number were cleared
+    private volatile long clearedBefore;
 
     private LogService() {
         log("INFO", "Log service initialized");
@@ -24,20 +34,16 @@ public class LogService {
      * Log a message with specified level
      */
     public void log(String level, String message) {
-        String timestamp = LocalDateTime.now().format(formatter);
-        String logEntry = String.format("[%s] [%s] %s", timestamp, level, message);
-        
-        synchronized (logs) {
-            logs.add(logEntry);
-            
-            // Keep only last MAX_LOGS entries
-            if (logs.size() > MAX_LOGS) {
-                logs.remove(0);
-            }
+        LogEntry entry = new LogEntry(System.currentTimeMillis(), level, message);
+        logs.add(entry);
+        if (fileAppender != null) {
+            fileAppender.append(entry);
         }
-        
+
         // Also print to console for debugging
-        System.out.println(logEntry);
+        if (echoToConsole) {
+            System.out.println(entry.format());
+        }
     }
 
     /**
@@ -65,28 +71,101 @@ public class LogService {
      * Get all logs as a single string
      */
     public String getAllLogs() {
-        synchronized (logs) {
-            if (logs.isEmpty()) {
-                return "No logs available.";
+        List<LogEntry> entries = getEntries();
+        if (entries.isEmpty()) {
+            return "No logs available.";
+        }
+        StringBuilder text = new StringBuilder(entries.size() * 80);
+        for (LogEntry entry : entries) {
+            if (text.length() > 0) {
+                text.append('\n');
             }
-            return String.join("\n", logs);
+            text.append(entry.format());
+        }
+        return text.toString();
+    }
+
+    /**
+     * Entries still held since the last clear, oldest first
+     */
+    public List<LogEntry> getEntries() {
+        return logs.readFrom(clearedBefore);
+    }
+
+    /**
+     * Write out queued file entries and close the log file. Call once when the app exits.
+     */
+    public void shutdown() {
+        if (fileAppender != null) {
+            fileAppender.close();
         }
     }
 
+    /**
+     * Entries logged since the given sequence number, for views that append new lines
+     * instead of re-reading everything. Start with 0 and pass back
+     * {@link Tail#getNextSequence()} on each call.
+     */
+    public Tail readSince(long sequence) {
+        long from = Math.max(sequence, clearedBefore);
+        List<LogEntry> entries = new ArrayList<>();
+        long next = logs.readFrom(from, entries);
+        // The log was cleared after the caller's position, or entries it had not seen yet were overwritten
+        boolean reset = sequence <= clearedBefore || sequence < logs.getNextSequence() - logs.capacity();
+        return new Tail(entries, next, reset);
+    }
+
     /**
      * Clear all logs
      */
     public void clearLogs() {
-        synchronized (logs) {
-            logs.clear();
-            log("INFO", "Logs cleared by admin");
-        }
+        // Nothing is removed: entries below the marker are simply no longer read
+        clearedBefore = logs.getNextSequence();
+        log("INFO", "Logs cleared by admin");
     }
 
     /**
      * Get number of log entries
      */
     public int getLogCount() {
-        return logs.size();
+        long next = logs.getNextSequence();
+        return (int) (next - Math.max(clearedBefore, next - logs.capacity()));
+    }
+
+    /**
+     * Result of {@link #readSince(long)}.
+     */
+    public static final class Tail {
+        private final List<LogEntry> entries;
+        private final long nextSequence;
+        private final boolean reset;
+
+        Tail(List<LogEntry> entries, long nextSequence, boolean reset) {
+            this.entries = entries;
+            this.nextSequence = nextSequence;
+            this.reset = reset;
+        }
+
+        /**
+         * New entries, oldest first
+         */
+        public List<LogEntry> getEntries() {
+            return entries;
+        }
+
+        /**
+         * Sequence number to pass to the next readSince call
+         */
+        public long getNextSequence() {
+            return nextSequence;
+        }
+
+        /**
+         * True if the log was cleared or unseen entries were overwritten since the caller's
+         * position; the caller should drop what it shows and display only these entries
+         */
+        public boolean isReset() {
+            return reset;
+        }
     }
 }
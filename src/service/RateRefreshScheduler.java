@@ -0,0 +1,195 @@
+package service;
+
+import model.CurrencyRate;
+import service.api.ICurrencyRateService;
+import service.impl.CurrencyRateServiceImpl;
+import util.AppConfig;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Refreshes the configured currency pairs from the rate provider in the background,
+ * so pricing does not drift on an old conversion rate between manual refreshes.
+ * Each run stores the rates, which also updates the rate cache and Settings.
+ *
+ * Runs every currency.refresh.intervalMinutes. After a failure the next attempt
+ * is delayed with jittered exponential backoff, capped at the normal interval.
+ */
+public class RateRefreshScheduler {
+    private static final Logger LOGGER = Logger.getLogger(RateRefreshScheduler.class.getName());
+    private static final RateRefreshScheduler instance = new RateRefreshScheduler(new CurrencyRateServiceImpl());
+
+    private final ICurrencyRateService currencyRateService;
+    private final boolean enabled;
+    private final String baseCurrency;
+    private final List<String> targetCurrencies;
+    private final long intervalMs;
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+
+    private ScheduledExecutorService scheduler;
+    private ScheduledFuture<?> nextRun;
+    private int consecutiveFailures;
+
+    RateRefreshScheduler(ICurrencyRateService currencyRateService) {
+        this(currencyRateService,
+                AppConfig.getBoolean("currency.refresh.enabled", true),
+                AppConfig.getString("currency.refresh.base", "EUR").trim().toUpperCase(Locale.ROOT),
+                parseTargets(AppConfig.getString("currency.refresh.targets", "TND,USD,CNY")),
+                TimeUnit.MINUTES.toMillis(Math.max(1, AppConfig.getLong("currency.refresh.intervalMinutes", 360))),
+                TimeUnit.SECONDS.toMillis(Math.max(1, AppConfig.getLong("currency.refresh.backoff.initialSeconds", 30))),
+                TimeUnit.SECONDS.toMillis(Math.max(1, AppConfig.getLong("currency.refresh.backoff.maxSeconds", 1800))));
+    }
+
+    /**
+     * Explicit settings in milliseconds, e.g. for tests; the backoff cap never exceeds the interval.
+     */
+    RateRefreshScheduler(ICurrencyRateService currencyRateService, boolean enabled, String baseCurrency,
+                         List<String> targetCurrencies, long intervalMs, long initialBackoffMs, long maxBackoffMs) {
+        this.currencyRateService = currencyRateService;
+        this.enabled = enabled;
+        this.baseCurrency = baseCurrency;
+        this.targetCurrencies = List.copyOf(targetCurrencies);
+        this.intervalMs = intervalMs;
+        this.initialBackoffMs = initialBackoffMs;
+        this.maxBackoffMs = Math.min(intervalMs, maxBackoffMs);
+    }
+
+    public static RateRefreshScheduler getInstance() {
+        return instance;
+    }
+
+    /**
+     * Base currency of the refreshed pairs.
+     */
+    public String getBaseCurrency() {
+        return baseCurrency;
+    }
+
+    /**
+     * Target currencies, the Settings conversion currency first.
+     */
+    public List<String> getTargetCurrencies() {
+        return targetCurrencies;
+    }
+
+    /**
+     * Schedule the first refresh. It runs immediately if the stored rate is older
+     * than one interval, otherwise when it becomes that old.
+     */
+    public synchronized void start() {
+        if (!enabled) {
+            LOGGER.log(Level.INFO, "Background rate refresh disabled");
+            return;
+        }
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "rate-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        consecutiveFailures = 0;
+        schedule(this::firstRun, 0);
+        LOGGER.log(Level.INFO, "Background rate refresh every {0} min for {1} -> {2}",
+                new Object[]{TimeUnit.MILLISECONDS.toMinutes(intervalMs), baseCurrency, targetCurrencies});
+    }
+
+    public synchronized void stop() {
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdownNow();
+        scheduler = null;
+        nextRun = null;
+    }
+
+    private void firstRun() {
+        long delayMs = 0;
+        try {
+            CurrencyRate latest = currencyRateService.getLatestRate(baseCurrency, targetCurrencies.get(0));
+            if (latest != null && latest.getUpdatedAt() != null) {
+                long ageMs = Duration.between(latest.getUpdatedAt(), LocalDateTime.now()).toMillis();
+                delayMs = Math.max(0, intervalMs - ageMs);
+            }
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, "Could not read the stored rate, refreshing now: {0}", e.getMessage());
+        }
+        if (delayMs == 0) {
+            refresh();
+        } else {
+            schedule(this::refresh, delayMs);
+        }
+    }
+
+    private void refresh() {
+        long delayMs;
+        try {
+            currencyRateService.refreshRatesFromApi(baseCurrency, targetCurrencies);
+            synchronized (this) {
+                consecutiveFailures = 0;
+            }
+            delayMs = intervalMs;
+            LOGGER.log(Level.INFO, "Background rate refresh succeeded");
+        } catch (Exception e) {
+            int failures;
+            synchronized (this) {
+                failures = ++consecutiveFailures;
+            }
+            delayMs = backoffDelay(failures);
+            LOGGER.log(Level.WARNING, "Background rate refresh failed ({0} in a row), retrying in {1} ms: {2}",
+                    new Object[]{failures, delayMs, e.getMessage()});
+        }
+        schedule(this::refresh, delayMs);
+    }
+
+    /**
+     * Exponential backoff with "equal jitter": half the delay is fixed, half random,
+     * so instances that failed together do not retry together.
+     */
+    long backoffDelay(int failures) {
+        long delay = initialBackoffMs << Math.min(failures - 1, 20);
+        delay = Math.min(maxBackoffMs, delay);
+        long half = delay / 2;
+        return half + ThreadLocalRandom.current().nextLong(half + 1);
+    }
+
+    private synchronized void schedule(Runnable task, long delayMs) {
+        if (scheduler == null) {
+            return;
+        }
+        nextRun = scheduler.schedule(task, delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Milliseconds until the next refresh, or -1 when not running.
+     */
+    public synchronized long getNextRunDelayMs() {
+        return nextRun == null ? -1 : nextRun.getDelay(TimeUnit.MILLISECONDS);
+    }
+
+    private static List<String> parseTargets(String value) {
+        List<String> targets = new ArrayList<>();
+        for (String target : value.split(",")) {
+            if (!target.isBlank()) {
+                targets.add(target.trim().toUpperCase(Locale.ROOT));
+            }
+        }
+        if (targets.isEmpty()) {
+            targets.add("TND");
+        }
+        return List.copyOf(targets);
+    }
+}
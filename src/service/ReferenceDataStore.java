@@ -0,0 +1,200 @@
+package service;
+
+import dao.ClientDAO;
+import dao.ShipmentDAO;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import model.Client;
+import model.DeliveryOption;
+import model.Shipment;
+import service.api.IDeliveryOptionService;
+import service.impl.DeliveryOptionServiceImpl;
+import util.IntObjectMap;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.ToIntFunction;
+
+/**
+ * Single in-memory copy of the reference data every view needs: clients, shipments
+ * and delivery options. Loaded once, then kept current by the services on every
+ * insert, update and delete, so controllers resolve IDs with O(1) lookups instead of
+ * scanning their own separately loaded lists.
+ *
+ * Changes are applied on the JavaFX Application Thread; observe them through the
+ * ObservableList returned by each table's items().
+ */
+public class ReferenceDataStore {
+    private static final ReferenceDataStore instance = new ReferenceDataStore();
+
+    private final Table<Client> clients = new Table<>(Client::getClientId, true);
+    private final Table<Shipment> shipments = new Table<>(Shipment::getShipmentId, true);
+    private final Table<DeliveryOption> deliveryOptions = new Table<>(DeliveryOption::getDeliveryOptionId, false);
+
+    private final ClientDAO clientDAO = new ClientDAO();
+    private final ShipmentDAO shipmentDAO = new ShipmentDAO();
+    // Owns the delivery option cache; this store only mirrors it for the views
+    private final IDeliveryOptionService deliveryOptionService = new DeliveryOptionServiceImpl();
+
+    private CompletableFuture<Void> loading;
+
+    private ReferenceDataStore() {
+    }
+
+    public static ReferenceDataStore getInstance() {
+        return instance;
+    }
+
+    public Table<Client> clients() {
+        return clients;
+    }
+
+    public Table<Shipment> shipments() {
+        return shipments;
+    }
+
+    public Table<DeliveryOption> deliveryOptions() {
+        return deliveryOptions;
+    }
+
+    /**
+     * Load everything on first use. Later calls share the same future; a failed load is retried.
+     * The future completes on the UI thread.
+     */
+    public synchronized CompletableFuture<Void> ensureLoaded() {
+        if (loading == null || loading.isCompletedExceptionally()) {
+            loading = reload();
+        }
+        return loading;
+    }
+
+    /**
+     * Re-read all reference data from the database, e.g. after changes made outside the app.
+     */
+    public synchronized CompletableFuture<Void> reload() {
+        CompletableFuture<List<Client>> loadedClients = ServiceExecutor.getInstance().submit(clientDAO::findAll);
+        CompletableFuture<List<Shipment>> loadedShipments = ServiceExecutor.getInstance().submit(shipmentDAO::findAll);
+        deliveryOptionService.invalidateCache();
+        CompletableFuture<List<DeliveryOption>> loadedOptions = ServiceExecutor.getInstance().submit(deliveryOptionService::getAllDeliveryOptions);
+
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        CompletableFuture.allOf(loadedClients, loadedShipments, loadedOptions).whenComplete((v, t) ->
+            ServiceExecutor.getInstance().runOnUi(() -> {
+                if (t != null) {
+                    done.completeExceptionally(ServiceExecutor.unwrap(t));
+                    return;
+                }
+                clients.replaceAll(loadedClients.join());
+                shipments.replaceAll(loadedShipments.join());
+                deliveryOptions.replaceAll(loadedOptions.join());
+                done.complete(null);
+            }));
+        loading = done;
+        return done;
+    }
+
+    /**
+     * One entity type: an int-keyed map for lookups plus an ordered observable list for views.
+     */
+    public static class Table<T> {
+        private final ToIntFunction<T> idOf;
+        private final boolean newestFirst;
+        private final IntObjectMap<Slot<T>> byId = new IntObjectMap<>();
+        private final ObservableList<T> items = FXCollections.observableArrayList();
+        private final ObservableList<T> readOnlyItems = FXCollections.unmodifiableObservableList(items);
+        // Position of items.get(0); an entity's list index is its slot position minus this
+        private int firstPosition;
+
+        Table(ToIntFunction<T> idOf, boolean newestFirst) {
+            this.idOf = idOf;
+            this.newestFirst = newestFirst;
+        }
+
+        /**
+         * @return the entity with this ID, or null if unknown
+         */
+        public synchronized T get(int id) {
+            Slot<T> slot = byId.get(id);
+            return slot != null ? slot.entity : null;
+        }
+
+        /**
+         * Read-only live view, suitable for tables and combo boxes.
+         */
+        public ObservableList<T> items() {
+            return readOnlyItems;
+        }
+
+        public synchronized int size() {
+            return byId.size();
+        }
+
+        /**
+         * Insert or replace an entity after it was saved.
+         */
+        public void put(T entity) {
+            ServiceExecutor.getInstance().runOnUi(() -> applyPut(entity));
+        }
+
+        /**
+         * Drop an entity after it was deleted.
+         */
+        public void remove(int id) {
+            ServiceExecutor.getInstance().runOnUi(() -> applyRemove(id));
+        }
+
+        private synchronized void applyPut(T entity) {
+            int id = idOf.applyAsInt(entity);
+            Slot<T> slot = byId.get(id);
+            if (slot != null) {
+                slot.entity = entity;
+                items.set(slot.position - firstPosition, entity);
+                return;
+            }
+            // Views list newest first for clients and shipments, matching the DAO ordering
+            if (newestFirst) {
+                byId.put(id, new Slot<>(entity, --firstPosition));
+                items.add(0, entity);
+            } else {
+                byId.put(id, new Slot<>(entity, firstPosition + items.size()));
+                items.add(entity);
+            }
+        }
+
+        private synchronized void applyRemove(int id) {
+            Slot<T> slot = byId.remove(id);
+            if (slot == null) {
+                return;
+            }
+            int index = slot.position - firstPosition;
+            items.remove(index);
+            // Everything after the removed entity moved up one place
+            for (int i = index; i < items.size(); i++) {
+                byId.get(idOf.applyAsInt(items.get(i))).position--;
+            }
+        }
+
+        private synchronized void replaceAll(List<T> entities) {
+            byId.clear();
+            firstPosition = 0;
+            for (int i = 0; i < entities.size(); i++) {
+                T entity = entities.get(i);
+                byId.put(idOf.applyAsInt(entity), new Slot<>(entity, i));
+            }
+            items.setAll(entities);
+        }
+
+        /**
+         * An entity and where it sits in items, so a replace needs no list search.
+         */
+        private static final class Slot<T> {
+            T entity;
+            int position;
+
+            Slot(T entity, int position) {
+                this.entity = entity;
+                this.position = position;
+            }
+        }
+    }
+}
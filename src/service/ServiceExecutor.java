@@ -0,0 +1,157 @@
+package service;
+
+import javafx.application.Platform;
+import util.AppConfig;
+import util.ConnectionPool;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs blocking service calls off the JavaFX Application Thread.
+ * Every task gets its own virtual thread, and a semaphore caps how many run at once
+ * so a burst of UI requests queues here instead of stampeding the connection pool.
+ */
+public class ServiceExecutor {
+    private static final ServiceExecutor instance = new ServiceExecutor();
+
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("service-", 0).factory());
+    private final Semaphore permits;
+    private final int maxConcurrency;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile Executor uiExecutor = ServiceExecutor::runLaterOrNow;
+
+    private ServiceExecutor() {
+        // Default to the pool size: more concurrent tasks would only wait for a connection
+        int defaultLimit = ConnectionPool.Config.fromAppConfig().getMaxSize();
+        this.maxConcurrency = Math.max(1, AppConfig.getInt("service.async.maxConcurrency", defaultLimit));
+        this.permits = new Semaphore(maxConcurrency, true);
+    }
+
+    public static ServiceExecutor getInstance() {
+        return instance;
+    }
+
+    /**
+     * Run a task in the background. The returned future completes on the worker thread.
+     * Failures complete it exceptionally with the task's own exception (e.g. SQLException).
+     */
+    public <T> CompletableFuture<T> submit(Callable<T> task) {
+        return submit(task, Runnable::run);
+    }
+
+    /**
+     * Run a task in the background and complete the returned future on the UI thread,
+     * so callbacks chained with thenAccept/whenComplete may touch JavaFX controls.
+     */
+    public <T> CompletableFuture<T> submitToUi(Callable<T> task) {
+        return submit(task, uiExecutor);
+    }
+
+    private <T> CompletableFuture<T> submit(Callable<T> task, Executor completionExecutor) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                T result;
+                try {
+                    result = runWithPermit(task);
+                } catch (Throwable t) {
+                    completionExecutor.execute(() -> future.completeExceptionally(t));
+                    return;
+                }
+                completionExecutor.execute(() -> future.complete(result));
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    private <T> T runWithPermit(Callable<T> task) throws Exception {
+        permits.acquire();
+        inFlight.incrementAndGet();
+        try {
+            return task.call();
+        } finally {
+            inFlight.decrementAndGet();
+            permits.release();
+        }
+    }
+
+    /**
+     * Run an action on the UI thread through the UI executor. Always queued, even from the
+     * UI thread itself, because asking JavaFX which thread we are on starts the toolkit.
+     */
+    public void runOnUi(Runnable action) {
+        uiExecutor.execute(action);
+    }
+
+    private static void runLaterOrNow(Runnable action) {
+        try {
+            Platform.runLater(action);
+        } catch (IllegalStateException e) {
+            // JavaFX toolkit not started (headless tools): there is no UI thread to hop to
+            action.run();
+        }
+    }
+
+    /**
+     * Replace the executor used to complete UI futures. Headless tools pass Runnable::run.
+     */
+    public void setUiExecutor(Executor uiExecutor) {
+        this.uiExecutor = uiExecutor;
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * Tasks currently holding a permit.
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Tasks waiting for a permit.
+     */
+    public int getQueued() {
+        return permits.getQueueLength();
+    }
+
+    /**
+     * Strip CompletableFuture wrappers to reach the exception thrown by the service call.
+     */
+    public static Throwable unwrap(Throwable t) {
+        while ((t instanceof CompletionException || t instanceof ExecutionException) && t.getCause() != null) {
+            t = t.getCause();
+        }
+        return t;
+    }
+
+    /**
+     * Stop accepting tasks and give running ones a moment to finish.
+     */
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package service;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Splits a shipment's costs (shipment, transportation and other costs) across its orders,
+ * in whole cents: the shares always add up to exactly the total, and each one is within a
+ * cent of its exact proportional value.
+ *
+ * Callers fill one slot per order in primitive arrays while reading the shipment's orders;
+ * allocating then walks those arrays twice (weights, then shares) without boxing or sorting.
+ */
+public class ShipmentCostAllocator {
+
+    /**
+     * How much of the costs an order carries, relative to the shipment's other orders.
+     * Orders with weight 0 get nothing; if every order weighs 0 the costs are split equally.
+     */
+    @FunctionalInterface
+    public interface Strategy {
+        /**
+         * @param valueCents the order's goods value (original price times quantity) in cents
+         * @param quantity the order's item count
+         * @return a non-negative weight
+         */
+        long weight(long valueCents, int quantity);
+
+        /** Proportional to the order's goods value: expensive orders carry more of the costs. */
+        Strategy BY_VALUE = (valueCents, quantity) -> Math.max(0, valueCents);
+
+        /** Proportional to the number of items, for costs driven by parcel count or weight. */
+        Strategy BY_QUANTITY = (valueCents, quantity) -> Math.max(0, quantity);
+
+        /** The same share for every order. */
+        Strategy EQUAL = (valueCents, quantity) -> 1;
+
+        /**
+         * Look up a built-in strategy by name (BY_VALUE, BY_QUANTITY or EQUAL, case-insensitive).
+         */
+        static Strategy fromName(String name) {
+            if (name == null) {
+                throw new IllegalArgumentException("Allocation strategy cannot be null");
+            }
+            return switch (name.trim().toUpperCase(Locale.ROOT)) {
+                case "BY_VALUE" -> BY_VALUE;
+                case "BY_QUANTITY" -> BY_QUANTITY;
+                case "EQUAL" -> EQUAL;
+                default -> throw new IllegalArgumentException("Unknown allocation strategy: " + name);
+            };
+        }
+    }
+
+    private final Strategy strategy;
+
+    public ShipmentCostAllocator(Strategy strategy) {
+        ValidationUtils.validateNotNull(strategy, "Allocation strategy");
+        this.strategy = strategy;
+    }
+
+    /**
+     * Allocate totalCents across orders.
+     * @param totalCents the shipment's costs in cents, not negative
+     * @param valueCents each order's goods value in cents
+     * @param quantities each order's item count, same length as valueCents
+     * @return each order's share in cents, summing to totalCents (empty when there are no orders)
+     */
+    public long[] allocate(long totalCents, long[] valueCents, int[] quantities) {
+        ValidationUtils.validateNotNull(valueCents, "Order values");
+        ValidationUtils.validateNotNull(quantities, "Order quantities");
+        if (valueCents.length != quantities.length) {
+            throw new IllegalArgumentException("Order values and quantities must have the same length");
+        }
+        if (totalCents < 0) {
+            throw new IllegalArgumentException("Costs to allocate cannot be negative");
+        }
+        int count = valueCents.length;
+        long[] shares = new long[count];
+        if (count == 0) {
+            return shares;
+        }
+
+        // The weights go into the result array, which then receives the shares in place
+        long totalWeight = 0;
+        for (int i = 0; i < count; i++) {
+            long weight = strategy.weight(valueCents[i], quantities[i]);
+            if (weight < 0) {
+                throw new IllegalArgumentException("Allocation weights cannot be negative");
+            }
+            shares[i] = weight;
+            totalWeight = Math.addExact(totalWeight, weight);
+        }
+        if (totalWeight == 0) {
+            Arrays.fill(shares, 1);
+            totalWeight = count;
+        }
+
+        // Round the running total rather than each share, so rounding errors never accumulate:
+        // share i = round(total * cumulativeWeight(i) / totalWeight) - round(... (i - 1) ...)
+        long cumulativeWeight = 0;
+        long allocatedSoFar = 0;
+        for (int i = 0; i < count; i++) {
+            cumulativeWeight += shares[i];
+            long allocatedThrough = roundedShare(totalCents, cumulativeWeight, totalWeight);
+            shares[i] = allocatedThrough - allocatedSoFar;
+            allocatedSoFar = allocatedThrough;
+        }
+        return shares;
+    }
+
+    /**
+     * round(total * part / whole), half up, exact for any long inputs.
+     */
+    private static long roundedShare(long total, long part, long whole) {
+        long product = total * part;
+        // Plain long arithmetic unless total * part + whole / 2 would overflow
+        if (Math.multiplyHigh(total, part) == 0 && product >= 0 && product <= Long.MAX_VALUE - whole / 2) {
+            return (product + whole / 2) / whole;
+        }
+        return BigInteger.valueOf(total).multiply(BigInteger.valueOf(part))
+                .add(BigInteger.valueOf(whole / 2))
+                .divide(BigInteger.valueOf(whole))
+                .longValueExact();
+    }
+}
@@ -0,0 +1,39 @@
+package service.api;
+
+import model.Client;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking variant of {@link IClientService}.
+ * Calls run on a background virtual thread; the returned futures complete on the JavaFX Application Thread
+ * and fail with the same exceptions the blocking service throws.
+ */
+public interface IClientServiceAsync {
+    
+    /**
+     * @see IClientService#getAllClients()
+     */
+    CompletableFuture<List<Client>> getAllClients();
+    
+    /**
+     * @see IClientService#searchClients(String)
+     */
+    CompletableFuture<List<Client>> searchClients(String keyword);
+    
+    /**
+     * @see IClientService#addClient(Client)
+     */
+    CompletableFuture<Void> addClient(Client client);
+    
+    /**
+     * @see IClientService#updateClient(Client)
+     */
+    CompletableFuture<Void> updateClient(Client client);
+    
+    /**
+     * @see IClientService#deleteClient(int)
+     */
+    CompletableFuture<Void> deleteClient(int clientId);
+}
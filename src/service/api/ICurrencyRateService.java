@@ -17,4 +17,14 @@ public interface ICurrencyRateService {
     double convert(double amount, String baseCurrency, String targetCurrency) throws SQLException;
 
     CurrencyRate refreshLatestRateFromApi(String baseCurrency, String targetCurrency) throws SQLException, IOException;
+
+    /**
+     * Fetch the rates of several targets against one base with a single API request and
+     * store them with a single batch insert. When the base is currency.refresh.base and the
+     * targets include the first of currency.refresh.targets (EUR and TND by default), that
+     * pair's rate becomes the settings conversion rate; other pairs leave the settings alone.
+     * @return the stored rates, in the order of the targets
+     * @throws IOException if the API call fails or a target is missing from the response
+     */
+    List<CurrencyRate> refreshRatesFromApi(String baseCurrency, List<String> targetCurrencies) throws SQLException, IOException;
 }
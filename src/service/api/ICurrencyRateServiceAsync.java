@@ -0,0 +1,39 @@
+package service.api;
+
+import model.CurrencyRate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking variant of {@link ICurrencyRateService}.
+ * Calls run on a background virtual thread; the returned futures complete on the JavaFX Application Thread
+ * and fail with the same exceptions the blocking service throws.
+ */
+public interface ICurrencyRateServiceAsync {
+    
+    /**
+     * @see ICurrencyRateService#getRateHistory(String, String)
+     */
+    CompletableFuture<List<CurrencyRate>> getRateHistory(String baseCurrency, String targetCurrency);
+    
+    /**
+     * @see ICurrencyRateService#getLatestRate(String, String)
+     */
+    CompletableFuture<CurrencyRate> getLatestRate(String baseCurrency, String targetCurrency);
+    
+    /**
+     * @see ICurrencyRateService#convert(double, String, String)
+     */
+    CompletableFuture<Double> convert(double amount, String baseCurrency, String targetCurrency);
+    
+    /**
+     * @see ICurrencyRateService#refreshLatestRateFromApi(String, String)
+     */
+    CompletableFuture<CurrencyRate> refreshLatestRateFromApi(String baseCurrency, String targetCurrency);
+
+    /**
+     * @see ICurrencyRateService#refreshRatesFromApi(String, List)
+     */
+    CompletableFuture<List<CurrencyRate>> refreshRatesFromApi(String baseCurrency, List<String> targetCurrencies);
+}
@@ -24,4 +24,10 @@ public interface IDeliveryOptionService {
      * @throws SQLException if database error occurs
      */
     DeliveryOption getDeliveryOptionById(int deliveryOptionId) throws SQLException;
+
+    /**
+     * Drop the cached delivery options so the next call reads them from the database.
+     * Call this after delivery options are changed.
+     */
+    void invalidateCache();
 }
@@ -0,0 +1,24 @@
+package service.api;
+
+import model.DeliveryOption;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking variant of {@link IDeliveryOptionService}.
+ * Calls run on a background virtual thread; the returned futures complete on the JavaFX Application Thread
+ * and fail with the same exceptions the blocking service throws.
+ */
+public interface IDeliveryOptionServiceAsync {
+    
+    /**
+     * @see IDeliveryOptionService#getAllDeliveryOptions()
+     */
+    CompletableFuture<List<DeliveryOption>> getAllDeliveryOptions();
+    
+    /**
+     * @see IDeliveryOptionService#getDeliveryOptionById(int)
+     */
+    CompletableFuture<DeliveryOption> getDeliveryOptionById(int deliveryOptionId);
+}
@@ -1,6 +1,8 @@
 package service.api;
 
 import model.Order;
+import model.OrderFilter;
+import model.Payment;
 import model.Platform;
 
 import java.sql.SQLException;
@@ -18,6 +20,16 @@ public interface IOrderService {
      */
     List<Order> getAllOrders() throws SQLException;
     
+    /**
+     * Get one page of orders, newest first, matching the filter.
+     * @param afterOrderId last order ID of the previous page, or null for the first page
+     * @param limit maximum number of orders to return
+     * @param filter search, status and platform criteria
+     * @return up to limit orders with IDs below afterOrderId
+     * @throws SQLException if database error occurs
+     */
+    List<Order> getOrdersPage(Integer afterOrderId, int limit, OrderFilter filter) throws SQLException;
+    
     /**
      * Get orders by shipment ID.
      * @param shipmentId the shipment ID
@@ -59,6 +71,17 @@ public interface IOrderService {
      */
     int addOrder(Order order) throws SQLException;
     
+    /**
+     * Add a new order together with its first payment (deposit or full payment) atomically.
+     * The order is saved with the payment status the payment gives it.
+     * @param order the order to add
+     * @param initialPayment the first payment, or null to add the order alone
+     * @return the generated order ID
+     * @throws SQLException if database error occurs
+     * @throws IllegalArgumentException if validation fails
+     */
+    int createOrderWithInitialPayment(Order order, Payment initialPayment) throws SQLException;
+    
     /**
      * Insert an order without returning the ID.
      * @param order the order to insert
@@ -82,6 +105,21 @@ public interface IOrderService {
      */
     void recalculatePaymentStatus(Order order) throws SQLException;
     
+    /**
+     * Recompute an order's payment status from its payments and save it, in a single statement.
+     * @param orderId the order ID
+     * @return the new payment status, or null if the order does not exist
+     * @throws SQLException if database error occurs
+     */
+    String recalculatePaymentStatus(int orderId) throws SQLException;
+    
+    /**
+     * Recompute and save the payment status of every order in a single statement.
+     * @return the number of orders whose status was wrong and has been corrected
+     * @throws SQLException if database error occurs
+     */
+    int recalculateAllPaymentStatuses() throws SQLException;
+    
     /**
      * Calculate remaining amount for an order.
      * @param order the order
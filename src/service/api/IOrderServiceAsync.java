@@ -0,0 +1,82 @@
+package service.api;
+
+import model.Order;
+import model.OrderFilter;
+import model.Payment;
+import model.Platform;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking variant of {@link IOrderService}.
+ * Calls run on a background virtual thread; the returned futures complete on the JavaFX Application Thread
+ * and fail with the same exceptions the blocking service throws.
+ */
+public interface IOrderServiceAsync {
+    
+    /**
+     * @see IOrderService#getAllOrders()
+     */
+    CompletableFuture<List<Order>> getAllOrders();
+    
+    /**
+     * @see IOrderService#getOrdersPage(Integer, int, OrderFilter)
+     */
+    CompletableFuture<List<Order>> getOrdersPage(Integer afterOrderId, int limit, OrderFilter filter);
+    
+    /**
+     * @see IOrderService#getOrdersByShipment(int)
+     */
+    CompletableFuture<List<Order>> getOrdersByShipment(int shipmentId);
+    
+    /**
+     * @see IOrderService#getOrdersByClient(int)
+     */
+    CompletableFuture<List<Order>> getOrdersByClient(int clientId);
+    
+    /**
+     * @see IOrderService#getOrderById(int)
+     */
+    CompletableFuture<Order> getOrderById(int orderId);
+    
+    /**
+     * @see IOrderService#getOrdersByPlatform(Platform)
+     */
+    CompletableFuture<List<Order>> getOrdersByPlatform(Platform platform);
+    
+    /**
+     * @see IOrderService#addOrder(Order)
+     */
+    CompletableFuture<Integer> addOrder(Order order);
+    
+    /**
+     * @see IOrderService#createOrderWithInitialPayment(Order, Payment)
+     */
+    CompletableFuture<Integer> createOrderWithInitialPayment(Order order, Payment initialPayment);
+    
+    /**
+     * @see IOrderService#updateOrder(Order)
+     */
+    CompletableFuture<Void> updateOrder(Order order);
+    
+    /**
+     * @see IOrderService#deleteOrder(int)
+     */
+    CompletableFuture<Void> deleteOrder(int orderId);
+    
+    /**
+     * @see IOrderService#updatePaymentStatus(int, String)
+     */
+    CompletableFuture<Void> updatePaymentStatus(int orderId, String status);
+    
+    /**
+     * @see IOrderService#recalculateAllPaymentStatuses()
+     */
+    CompletableFuture<Integer> recalculateAllPaymentStatuses();
+    
+    /**
+     * @see IOrderService#getRemainingAmount(Order)
+     */
+    CompletableFuture<Double> getRemainingAmount(Order order);
+}
@@ -1,6 +1,7 @@
 package service.api;
 
 import model.Payment;
+import util.IntDoubleMap;
 
 import java.sql.SQLException;
 import java.util.List;
@@ -41,6 +42,22 @@ public interface IPaymentService {
      */
     double getTotalPaidForOrder(int orderId) throws SQLException;
     
+    /**
+     * Get total amount paid for several orders in a single query.
+     * Orders without payments are absent from the result.
+     * @param orderIds the order IDs
+     * @return map of order ID to total amount paid
+     * @throws SQLException if database error occurs
+     */
+    IntDoubleMap getTotalsPaidByOrder(int[] orderIds) throws SQLException;
+    
+    /**
+     * Get total amount paid for every order that has payments, in a single query.
+     * @return map of order ID to total amount paid
+     * @throws SQLException if database error occurs
+     */
+    IntDoubleMap getTotalsPaidForAllOrders() throws SQLException;
+    
     /**
      * Add a new payment with validation and automatic order status update.
      * @param payment the payment to add
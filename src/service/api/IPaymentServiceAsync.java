@@ -0,0 +1,60 @@
+package service.api;
+
+import model.Payment;
+import util.IntDoubleMap;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking variant of {@link IPaymentService}.
+ * Calls run on a background virtual thread; the returned futures complete on the JavaFX Application Thread
+ * and fail with the same exceptions the blocking service throws.
+ */
+public interface IPaymentServiceAsync {
+    
+    /**
+     * @see IPaymentService#getAllPayments()
+     */
+    CompletableFuture<List<Payment>> getAllPayments();
+    
+    /**
+     * @see IPaymentService#getPaymentsByOrder(int)
+     */
+    CompletableFuture<List<Payment>> getPaymentsByOrder(int orderId);
+    
+    /**
+     * @see IPaymentService#getPaymentsByClient(int)
+     */
+    CompletableFuture<List<Payment>> getPaymentsByClient(int clientId);
+    
+    /**
+     * @see IPaymentService#getTotalPaidForOrder(int)
+     */
+    CompletableFuture<Double> getTotalPaidForOrder(int orderId);
+    
+    /**
+     * @see IPaymentService#getTotalsPaidByOrder(int[])
+     */
+    CompletableFuture<IntDoubleMap> getTotalsPaidByOrder(int[] orderIds);
+    
+    /**
+     * @see IPaymentService#getTotalsPaidForAllOrders()
+     */
+    CompletableFuture<IntDoubleMap> getTotalsPaidForAllOrders();
+    
+    /**
+     * @see IPaymentService#addPayment(Payment)
+     */
+    CompletableFuture<Void> addPayment(Payment payment);
+    
+    /**
+     * @see IPaymentService#updatePayment(Payment)
+     */
+    CompletableFuture<Void> updatePayment(Payment payment);
+    
+    /**
+     * @see IPaymentService#deletePayment(int, int)
+     */
+    CompletableFuture<Void> deletePayment(int paymentId, int orderId);
+}
@@ -1,8 +1,10 @@
 package service.api;
 
 import model.Profit;
+import service.ShipmentCostAllocator;
 
 import java.sql.SQLException;
+import java.util.List;
 
 /**
  * Interface for Profit service operations.
@@ -17,6 +19,36 @@ public interface IProfitService {
      */
     void saveProfit(Profit profit) throws SQLException;
     
+    /**
+     * Save or update the profits of many orders in a single batch.
+     * @param profits the profits to save
+     * @throws SQLException if database error occurs
+     * @throws IllegalArgumentException if validation fails
+     */
+    void saveProfits(List<Profit> profits) throws SQLException;
+    
+    /**
+     * Calculate the profit of every order in a shipment and save them all in a single batch.
+     * The shipment's costs are allocated to its orders with the strategy set in app.properties
+     * (profit.costAllocation, BY_VALUE by default).
+     * @param shipmentId the shipment ID
+     * @return the saved profits, one per order
+     * @throws SQLException if database error occurs
+     * @throws IllegalArgumentException if the shipment does not exist
+     */
+    List<Profit> computeAndSaveProfits(int shipmentId) throws SQLException;
+    
+    /**
+     * Calculate the profit of every order in a shipment and save them all in a single batch,
+     * allocating the shipment's costs with the given strategy.
+     * @param shipmentId the shipment ID
+     * @param strategy how the shipment, transportation and other costs are split between orders
+     * @return the saved profits, one per order
+     * @throws SQLException if database error occurs
+     * @throws IllegalArgumentException if the shipment does not exist
+     */
+    List<Profit> computeAndSaveProfits(int shipmentId, ShipmentCostAllocator.Strategy strategy) throws SQLException;
+    
     /**
      * Calculate profit for an order.
      * @param orderId the order ID
@@ -0,0 +1,19 @@
+package service.api;
+
+import model.Profit;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking variant of {@link IProfitService}.
+ * Calls run on a background virtual thread; the returned futures complete on the JavaFX Application Thread
+ * and fail with the same exceptions the blocking service throws.
+ */
+public interface IProfitServiceAsync {
+    
+    /**
+     * @see IProfitService#computeAndSaveProfits(int)
+     */
+    CompletableFuture<List<Profit>> computeAndSaveProfits(int shipmentId);
+}
@@ -2,6 +2,7 @@ package service.api;
 
 import model.Order;
 import model.Shipment;
+import model.ShipmentFinancials;
 
 import java.sql.SQLException;
 import java.util.List;
@@ -51,6 +52,23 @@ public interface IShipmentService {
      */
     List<Order> getOrdersForShipment(int shipmentId) throws SQLException;
     
+    /**
+     * Compute all financial figures for a shipment from a single aggregate query.
+     * Transportation and other costs are taken from the given shipment object.
+     * @param shipment the shipment
+     * @return the shipment's financials
+     * @throws SQLException if database error occurs
+     */
+    ShipmentFinancials getShipmentFinancials(Shipment shipment) throws SQLException;
+    
+    /**
+     * Compute revenue, cost of goods, expenses and profit for every shipment
+     * from a single GROUP BY query.
+     * @return financials for all shipments, ordered by shipment ID
+     * @throws SQLException if database error occurs
+     */
+    List<ShipmentFinancials> getAllShipmentFinancials() throws SQLException;
+    
     /**
      * Calculate total number of orders in a shipment.
      * @param shipment the shipment
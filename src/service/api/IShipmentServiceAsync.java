@@ -0,0 +1,51 @@
+package service.api;
+
+import model.Order;
+import model.Shipment;
+import model.ShipmentFinancials;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking variant of {@link IShipmentService}.
+ * Calls run on a background virtual thread; the returned futures complete on the JavaFX Application Thread
+ * and fail with the same exceptions the blocking service throws.
+ */
+public interface IShipmentServiceAsync {
+    
+    /**
+     * @see IShipmentService#getAllShipments()
+     */
+    CompletableFuture<List<Shipment>> getAllShipments();
+    
+    /**
+     * @see IShipmentService#addShipment(Shipment)
+     */
+    CompletableFuture<Void> addShipment(Shipment shipment);
+    
+    /**
+     * @see IShipmentService#updateShipment(Shipment)
+     */
+    CompletableFuture<Void> updateShipment(Shipment shipment);
+    
+    /**
+     * @see IShipmentService#deleteShipment(int)
+     */
+    CompletableFuture<Void> deleteShipment(int shipmentId);
+    
+    /**
+     * @see IShipmentService#getOrdersForShipment(int)
+     */
+    CompletableFuture<List<Order>> getOrdersForShipment(int shipmentId);
+    
+    /**
+     * @see IShipmentService#getShipmentFinancials(Shipment)
+     */
+    CompletableFuture<ShipmentFinancials> getShipmentFinancials(Shipment shipment);
+    
+    /**
+     * @see IShipmentService#getAllShipmentFinancials()
+     */
+    CompletableFuture<List<ShipmentFinancials>> getAllShipmentFinancials();
+}
@@ -0,0 +1,65 @@
+package service.impl;
+
+import model.Client;
+import service.ServiceExecutor;
+import service.api.IClientService;
+import service.api.IClientServiceAsync;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Runs {@link IClientService} calls through the {@link ServiceExecutor}.
+ */
+public class ClientServiceAsyncImpl implements IClientServiceAsync {
+
+    private final IClientService delegate;
+    private final ServiceExecutor executor;
+
+    public ClientServiceAsyncImpl(IClientService delegate, ServiceExecutor executor) {
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    public ClientServiceAsyncImpl(IClientService delegate) {
+        this(delegate, ServiceExecutor.getInstance());
+    }
+
+    public ClientServiceAsyncImpl() {
+        this(new ClientServiceImpl());
+    }
+
+    @Override
+    public CompletableFuture<List<Client>> getAllClients() {
+        return executor.submitToUi(() -> delegate.getAllClients());
+    }
+
+    @Override
+    public CompletableFuture<List<Client>> searchClients(String keyword) {
+        return executor.submitToUi(() -> delegate.searchClients(keyword));
+    }
+
+    @Override
+    public CompletableFuture<Void> addClient(Client client) {
+        return executor.submitToUi(() -> {
+            delegate.addClient(client);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> updateClient(Client client) {
+        return executor.submitToUi(() -> {
+            delegate.updateClient(client);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteClient(int clientId) {
+        return executor.submitToUi(() -> {
+            delegate.deleteClient(clientId);
+            return null;
+        });
+    }
+}
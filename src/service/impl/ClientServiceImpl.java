@@ -3,6 +3,7 @@ package service.impl;
 import service.api.IClientService;
 import dao.ClientDAO;
 import model.Client;
+import service.ReferenceDataStore;
 import service.ValidationUtils;
 
 import java.sql.SQLException;
@@ -18,6 +19,7 @@ public class ClientServiceImpl implements IClientService {
 
     private static final Logger LOGGER = Logger.getLogger(ClientServiceImpl.class.getName());
     private final ClientDAO clientDAO;
+    private final ReferenceDataStore referenceData = ReferenceDataStore.getInstance();
 
     public ClientServiceImpl(ClientDAO clientDAO) {
         this.clientDAO = clientDAO;
@@ -48,6 +50,7 @@ public class ClientServiceImpl implements IClientService {
         validateClient(client);
         LOGGER.log(Level.INFO, "Adding new client: {0}", client.getUsername());
         clientDAO.insert(client);
+        referenceData.clients().put(client);
         LOGGER.log(Level.INFO, "Client added successfully: {0}", client.getUsername());
     }
 
@@ -59,6 +62,7 @@ public class ClientServiceImpl implements IClientService {
         }
         LOGGER.log(Level.INFO, "Updating client ID: {0}", client.getClientId());
         clientDAO.update(client);
+        referenceData.clients().put(client);
         LOGGER.log(Level.INFO, "Client updated successfully: {0}", client.getUsername());
     }
 
@@ -67,6 +71,7 @@ public class ClientServiceImpl implements IClientService {
         ValidationUtils.validatePositiveId(clientId, "Client ID");
         LOGGER.log(Level.INFO, "Deleting client ID: {0}", clientId);
         clientDAO.delete(clientId);
+        referenceData.clients().remove(clientId);
         LOGGER.log(Level.INFO, "Client deleted successfully: {0}", clientId);
     }
 
@@ -0,0 +1,56 @@
+package service.impl;
+
+import model.CurrencyRate;
+import service.ServiceExecutor;
+import service.api.ICurrencyRateService;
+import service.api.ICurrencyRateServiceAsync;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Runs {@link ICurrencyRateService} calls through the {@link ServiceExecutor}.
+ */
+public class CurrencyRateServiceAsyncImpl implements ICurrencyRateServiceAsync {
+
+    private final ICurrencyRateService delegate;
+    private final ServiceExecutor executor;
+
+    public CurrencyRateServiceAsyncImpl(ICurrencyRateService delegate, ServiceExecutor executor) {
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    public CurrencyRateServiceAsyncImpl(ICurrencyRateService delegate) {
+        this(delegate, ServiceExecutor.getInstance());
+    }
+
+    public CurrencyRateServiceAsyncImpl() {
+        this(new CurrencyRateServiceImpl());
+    }
+
+    @Override
+    public CompletableFuture<List<CurrencyRate>> getRateHistory(String baseCurrency, String targetCurrency) {
+        return executor.submitToUi(() -> delegate.getRateHistory(baseCurrency, targetCurrency));
+    }
+
+    @Override
+    public CompletableFuture<CurrencyRate> getLatestRate(String baseCurrency, String targetCurrency) {
+        return executor.submitToUi(() -> delegate.getLatestRate(baseCurrency, targetCurrency));
+    }
+
+    @Override
+    public CompletableFuture<Double> convert(double amount, String baseCurrency, String targetCurrency) {
+        return executor.submitToUi(() -> delegate.convert(amount, baseCurrency, targetCurrency));
+    }
+
+    @Override
+    public CompletableFuture<CurrencyRate> refreshLatestRateFromApi(String baseCurrency, String targetCurrency) {
+        return executor.submitToUi(() -> delegate.refreshLatestRateFromApi(baseCurrency, targetCurrency));
+    }
+
+    @Override
+    public CompletableFuture<List<CurrencyRate>> refreshRatesFromApi(String baseCurrency, List<String> targetCurrencies) {
+        return executor.submitToUi(() -> delegate.refreshRatesFromApi(baseCurrency, targetCurrencies));
+    }
+}
@@ -3,13 +3,19 @@ package service.impl;
 import service.api.ICurrencyRateService;
 import dao.CurrencyRateDAO;
 import model.CurrencyRate;
+import service.CurrencyRateCache;
+import util.AppConfig;
 import util.SettingsManager;
 import util.CurrencyRateFetcher;
+import util.ExchangeRates;
+import util.RateProvider;
 
 import java.io.IOException;
 import java.sql.SQLException;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -17,15 +23,27 @@ public class CurrencyRateServiceImpl implements ICurrencyRateService {
 
     private static final Logger LOGGER = Logger.getLogger(CurrencyRateServiceImpl.class.getName());
     private final CurrencyRateDAO currencyRateDAO;
-    private final CurrencyRateFetcher currencyRateFetcher;
+    private final RateProvider rateProvider;
+    private final CurrencyRateCache rateCache;
+    // The pair behind Settings' conversion rate: the refresh base and its first target
+    private final String conversionBase;
+    private final String conversionTarget;
 
     public CurrencyRateServiceImpl(CurrencyRateDAO currencyRateDAO) {
         this(currencyRateDAO, new CurrencyRateFetcher(Duration.ofSeconds(10)));
     }
 
-    public CurrencyRateServiceImpl(CurrencyRateDAO currencyRateDAO, CurrencyRateFetcher currencyRateFetcher) {
+    public CurrencyRateServiceImpl(CurrencyRateDAO currencyRateDAO, RateProvider rateProvider) {
+        this(currencyRateDAO, rateProvider, CurrencyRateCache.getInstance());
+    }
+
+    public CurrencyRateServiceImpl(CurrencyRateDAO currencyRateDAO, RateProvider rateProvider,
+                                   CurrencyRateCache rateCache) {
         this.currencyRateDAO = currencyRateDAO;
-        this.currencyRateFetcher = currencyRateFetcher;
+        this.rateProvider = rateProvider;
+        this.rateCache = rateCache;
+        this.conversionBase = AppConfig.getString("currency.refresh.base", "EUR").trim().toUpperCase(Locale.ROOT);
+        this.conversionTarget = firstTarget(AppConfig.getString("currency.refresh.targets", "TND"));
     }
 
     public CurrencyRateServiceImpl() {
@@ -52,20 +70,15 @@ public class CurrencyRateServiceImpl implements ICurrencyRateService {
         LOGGER.log(Level.INFO, "Adding new currency rate: {0}/{1} = {2}", 
                   new Object[]{rate.getBaseCurrency(), rate.getTargetCurrency(), rate.getCustomRate()});
         currencyRateDAO.insert(rate);
+        rateCache.invalidate(rate.getBaseCurrency(), rate.getTargetCurrency());
         LOGGER.log(Level.INFO, "Currency rate added successfully");
     }
 
     @Override
     public double convert(double amount, String baseCurrency, String targetCurrency) throws SQLException {
-        CurrencyRate rate = getLatestRate(baseCurrency, targetCurrency);
-        if (rate == null) {
-            try {
-                LOGGER.log(Level.INFO, "No rate cached for {0}/{1}, fetching from API", new Object[]{baseCurrency, targetCurrency});
-                rate = refreshLatestRateFromApi(baseCurrency, targetCurrency);
-            } catch (IOException e) {
-                LOGGER.log(Level.WARNING, "Failed to fetch rate from API, returning original amount: " + e.getMessage());
-            }
-        }
+        validateCurrencyPair(baseCurrency, targetCurrency);
+        CurrencyRate rate = rateCache.get(baseCurrency, targetCurrency,
+                () -> loadOrFetchRate(baseCurrency, targetCurrency));
         if (rate == null) {
             LOGGER.log(Level.WARNING, "No rate found for {0}/{1}, returning original amount", 
                       new Object[]{baseCurrency, targetCurrency});
@@ -77,24 +90,78 @@ public class CurrencyRateServiceImpl implements ICurrencyRateService {
         return convertedAmount;
     }
 
+    /**
+     * Cache loader for convert(): the latest stored rate, or a freshly fetched one if none is stored.
+     */
+    private CurrencyRate loadOrFetchRate(String baseCurrency, String targetCurrency) throws SQLException {
+        CurrencyRate rate = getLatestRate(baseCurrency, targetCurrency);
+        if (rate != null) {
+            return rate;
+        }
+        try {
+            LOGGER.log(Level.INFO, "No rate stored for {0}/{1}, fetching from API", new Object[]{baseCurrency, targetCurrency});
+            return refreshLatestRateFromApi(baseCurrency, targetCurrency);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Failed to fetch rate from API, returning original amount: " + e.getMessage());
+            return null;
+        }
+    }
+
     @Override
     public CurrencyRate refreshLatestRateFromApi(String baseCurrency, String targetCurrency) throws SQLException, IOException {
-        validateCurrencyPair(baseCurrency, targetCurrency);
-        double latestRate = currencyRateFetcher.fetchLatestRate(baseCurrency, targetCurrency);
+        return refreshRatesFromApi(baseCurrency, List.of(targetCurrency)).get(0);
+    }
 
-        CurrencyRate rate = new CurrencyRate();
-        rate.setBaseCurrency(baseCurrency);
-        rate.setTargetCurrency(targetCurrency);
-        rate.setOriginalRate(latestRate);
-        rate.setCustomRate(latestRate); // allow overriding later via UI if needed
+    @Override
+    public List<CurrencyRate> refreshRatesFromApi(String baseCurrency, List<String> targetCurrencies) throws SQLException, IOException {
+        if (targetCurrencies == null || targetCurrencies.isEmpty()) {
+            throw new IllegalArgumentException("At least one target currency is required");
+        }
+        for (String targetCurrency : targetCurrencies) {
+            validateCurrencyPair(baseCurrency, targetCurrency);
+        }
+        ExchangeRates latestRates = rateProvider.fetchAllRates(baseCurrency);
 
-        LOGGER.log(Level.INFO, "Persisting fetched currency rate {0}/{1} = {2}",
-                new Object[]{baseCurrency, targetCurrency, latestRate});
-        currencyRateDAO.insert(rate);
+        List<CurrencyRate> rates = new ArrayList<>(targetCurrencies.size());
+        for (String targetCurrency : targetCurrencies) {
+            double latestRate = latestRates.get(targetCurrency);
+            if (Double.isNaN(latestRate)) {
+                throw new IOException("Rate for " + targetCurrency + " not found in response");
+            }
+            CurrencyRate rate = new CurrencyRate();
+            rate.setBaseCurrency(baseCurrency);
+            rate.setTargetCurrency(targetCurrency);
+            rate.setOriginalRate(latestRate);
+            rate.setCustomRate(latestRate); // allow overriding later via UI if needed
+            rates.add(rate);
+        }
+
+        LOGGER.log(Level.INFO, "Persisting {0} fetched currency rates for {1}",
+                new Object[]{rates.size(), baseCurrency});
+        currencyRateDAO.insertBatch(rates);
+        for (CurrencyRate rate : rates) {
+            rateCache.put(rate);
+        }
 
         // Keep settings conversion rate in sync for parts of the app that rely on it
-        SettingsManager.updateConversionRate(latestRate);
-        return getLatestRate(baseCurrency, targetCurrency);
+        if (conversionBase.equalsIgnoreCase(baseCurrency.trim())) {
+            for (CurrencyRate rate : rates) {
+                if (conversionTarget.equalsIgnoreCase(rate.getTargetCurrency().trim())) {
+                    SettingsManager.updateConversionRate(rate.getCustomRate());
+                    break;
+                }
+            }
+        }
+        return rates;
+    }
+
+    private static String firstTarget(String targets) {
+        for (String target : targets.split(",")) {
+            if (!target.isBlank()) {
+                return target.trim().toUpperCase(Locale.ROOT);
+            }
+        }
+        return "TND";
     }
 
     private void validateCurrencyPair(String baseCurrency, String targetCurrency) {
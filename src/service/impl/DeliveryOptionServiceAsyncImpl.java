@@ -0,0 +1,41 @@
+package service.impl;
+
+import model.DeliveryOption;
+import service.ServiceExecutor;
+import service.api.IDeliveryOptionService;
+import service.api.IDeliveryOptionServiceAsync;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Runs {@link IDeliveryOptionService} calls through the {@link ServiceExecutor}.
+ */
+public class DeliveryOptionServiceAsyncImpl implements IDeliveryOptionServiceAsync {
+
+    private final IDeliveryOptionService delegate;
+    private final ServiceExecutor executor;
+
+    public DeliveryOptionServiceAsyncImpl(IDeliveryOptionService delegate, ServiceExecutor executor) {
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    public DeliveryOptionServiceAsyncImpl(IDeliveryOptionService delegate) {
+        this(delegate, ServiceExecutor.getInstance());
+    }
+
+    public DeliveryOptionServiceAsyncImpl() {
+        this(new DeliveryOptionServiceImpl());
+    }
+
+    @Override
+    public CompletableFuture<List<DeliveryOption>> getAllDeliveryOptions() {
+        return executor.submitToUi(() -> delegate.getAllDeliveryOptions());
+    }
+
+    @Override
+    public CompletableFuture<DeliveryOption> getDeliveryOptionById(int deliveryOptionId) {
+        return executor.submitToUi(() -> delegate.getDeliveryOptionById(deliveryOptionId));
+    }
+}
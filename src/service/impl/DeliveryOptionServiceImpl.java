@@ -4,19 +4,32 @@ import service.api.IDeliveryOptionService;
 import dao.DeliveryOptionDAO;
 import model.DeliveryOption;
 import service.ValidationUtils;
+import util.IntObjectMap;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * Service layer for DeliveryOption-related business logic.
  * Handles validation, logging, and delegates CRUD operations to DeliveryOptionDAO.
+ * Delivery options rarely change, so they are read once and served from memory
+ * until {@link #invalidateCache()} is called. The
+ * {@link service.ReferenceDataStore} fills its delivery option table from this cache.
  */
 public class DeliveryOptionServiceImpl implements IDeliveryOptionService {
 
     private static final Logger LOGGER = Logger.getLogger(DeliveryOptionServiceImpl.class.getName());
+
+    // Shared by all instances so invalidation from one is seen by every caller.
+    // Each invalidation installs a new empty snapshot, so a load that started
+    // before it can never publish over it.
+    private static final AtomicReference<Snapshot> CACHE = new AtomicReference<>(Snapshot.empty());
+
     private final DeliveryOptionDAO deliveryOptionDAO;
 
     public DeliveryOptionServiceImpl(DeliveryOptionDAO deliveryOptionDAO) {
@@ -29,18 +42,65 @@ public class DeliveryOptionServiceImpl implements IDeliveryOptionService {
 
     @Override
     public List<DeliveryOption> getAllDeliveryOptions() throws SQLException {
-        LOGGER.log(Level.INFO, "Fetching all delivery options");
-        return deliveryOptionDAO.findAll();
+        return new ArrayList<>(loadCache().options);
     }
 
     @Override
     public DeliveryOption getDeliveryOptionById(int deliveryOptionId) throws SQLException {
         ValidationUtils.validatePositiveId(deliveryOptionId, "Delivery option ID");
-        LOGGER.log(Level.INFO, "Fetching delivery option by ID: {0}", deliveryOptionId);
-        List<DeliveryOption> all = deliveryOptionDAO.findAll();
-        return all.stream()
-                  .filter(d -> d.getDeliveryOptionId() == deliveryOptionId)
-                  .findFirst()
-                  .orElse(null);
+        DeliveryOption option = loadCache().byId.get(deliveryOptionId);
+        if (option != null) {
+            return option;
+        }
+        // Not cached: the option may have been added since the cache was filled
+        LOGGER.log(Level.INFO, "Delivery option {0} not cached, reading it from the database", deliveryOptionId);
+        option = deliveryOptionDAO.findById(deliveryOptionId);
+        if (option != null) {
+            invalidateCache();
+        }
+        return option;
+    }
+
+    @Override
+    public void invalidateCache() {
+        CACHE.set(Snapshot.empty());
+    }
+
+    private Snapshot loadCache() throws SQLException {
+        Snapshot current = CACHE.get();
+        if (current.isLoaded()) {
+            return current;
+        }
+        // Read without holding a lock; if two threads race, the first to publish wins
+        LOGGER.log(Level.INFO, "Fetching all delivery options");
+        Snapshot loaded = new Snapshot(deliveryOptionDAO.findAll());
+        Snapshot witness = CACHE.compareAndExchange(current, loaded);
+        return witness == current || !witness.isLoaded() ? loaded : witness;
+    }
+
+    /**
+     * Immutable once published: readers share it without locking.
+     */
+    private static final class Snapshot {
+        final List<DeliveryOption> options;
+        final IntObjectMap<DeliveryOption> byId;
+
+        Snapshot(List<DeliveryOption> options) {
+            this.options = options == null ? null : Collections.unmodifiableList(options);
+            this.byId = new IntObjectMap<>(options == null ? 0 : options.size());
+            if (options != null) {
+                for (DeliveryOption option : options) {
+                    byId.put(option.getDeliveryOptionId(), option);
+                }
+            }
+        }
+
+        static Snapshot empty() {
+            return new Snapshot(null);
+        }
+
+        boolean isLoaded() {
+            return options != null;
+        }
     }
 }
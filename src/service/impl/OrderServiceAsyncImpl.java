@@ -0,0 +1,108 @@
+package service.impl;
+
+import model.Order;
+import model.OrderFilter;
+import model.Payment;
+import model.Platform;
+import service.ServiceExecutor;
+import service.api.IOrderService;
+import service.api.IOrderServiceAsync;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Runs {@link IOrderService} calls through the {@link ServiceExecutor}.
+ */
+public class OrderServiceAsyncImpl implements IOrderServiceAsync {
+
+    private final IOrderService delegate;
+    private final ServiceExecutor executor;
+
+    public OrderServiceAsyncImpl(IOrderService delegate, ServiceExecutor executor) {
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    public OrderServiceAsyncImpl(IOrderService delegate) {
+        this(delegate, ServiceExecutor.getInstance());
+    }
+
+    public OrderServiceAsyncImpl() {
+        this(new OrderServiceImpl());
+    }
+
+    @Override
+    public CompletableFuture<List<Order>> getAllOrders() {
+        return executor.submitToUi(() -> delegate.getAllOrders());
+    }
+
+    @Override
+    public CompletableFuture<List<Order>> getOrdersPage(Integer afterOrderId, int limit, OrderFilter filter) {
+        return executor.submitToUi(() -> delegate.getOrdersPage(afterOrderId, limit, filter));
+    }
+
+    @Override
+    public CompletableFuture<List<Order>> getOrdersByShipment(int shipmentId) {
+        return executor.submitToUi(() -> delegate.getOrdersByShipment(shipmentId));
+    }
+
+    @Override
+    public CompletableFuture<List<Order>> getOrdersByClient(int clientId) {
+        return executor.submitToUi(() -> delegate.getOrdersByClient(clientId));
+    }
+
+    @Override
+    public CompletableFuture<Order> getOrderById(int orderId) {
+        return executor.submitToUi(() -> delegate.getOrderById(orderId));
+    }
+
+    @Override
+    public CompletableFuture<List<Order>> getOrdersByPlatform(Platform platform) {
+        return executor.submitToUi(() -> delegate.getOrdersByPlatform(platform));
+    }
+
+    @Override
+    public CompletableFuture<Integer> addOrder(Order order) {
+        return executor.submitToUi(() -> delegate.addOrder(order));
+    }
+
+    @Override
+    public CompletableFuture<Integer> createOrderWithInitialPayment(Order order, Payment initialPayment) {
+        return executor.submitToUi(() -> delegate.createOrderWithInitialPayment(order, initialPayment));
+    }
+
+    @Override
+    public CompletableFuture<Void> updateOrder(Order order) {
+        return executor.submitToUi(() -> {
+            delegate.updateOrder(order);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteOrder(int orderId) {
+        return executor.submitToUi(() -> {
+            delegate.deleteOrder(orderId);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> updatePaymentStatus(int orderId, String status) {
+        return executor.submitToUi(() -> {
+            delegate.updatePaymentStatus(orderId, status);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Integer> recalculateAllPaymentStatuses() {
+        return executor.submitToUi(() -> delegate.recalculateAllPaymentStatuses());
+    }
+
+    @Override
+    public CompletableFuture<Double> getRemainingAmount(Order order) {
+        return executor.submitToUi(() -> delegate.getRemainingAmount(order));
+    }
+}
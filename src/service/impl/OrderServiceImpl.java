@@ -4,6 +4,8 @@ import service.api.IOrderService;
 import dao.OrderDAO;
 import dao.PaymentDAO;
 import model.Order;
+import model.OrderFilter;
+import model.Payment;
 import model.Platform;
 import service.ValidationUtils;
 import ui.util.PriceCalculator;
@@ -38,6 +40,12 @@ public class OrderServiceImpl implements IOrderService {
         return orderDAO.findAll();
     }
 
+    @Override
+    public List<Order> getOrdersPage(Integer afterOrderId, int limit, OrderFilter filter) throws SQLException {
+        ValidationUtils.validatePositiveId(limit, "Page size");
+        return orderDAO.findPage(afterOrderId, limit, filter != null ? filter : OrderFilter.none());
+    }
+
     @Override
     public List<Order> getOrdersByShipment(int shipmentId) throws SQLException {
         LOGGER.log(Level.INFO, "Fetching orders for shipment ID: {0}", shipmentId);
@@ -72,6 +80,25 @@ public class OrderServiceImpl implements IOrderService {
         return orderId;
     }
 
+    @Override
+    public int createOrderWithInitialPayment(Order order, Payment initialPayment) throws SQLException {
+        if (initialPayment == null) {
+            return addOrder(order);
+        }
+        validateOrder(order);
+        ValidationUtils.validatePositive(initialPayment.getAmount(), "Payment amount");
+        ValidationUtils.validateNotEmpty(initialPayment.getPaymentMethod(), "Payment method");
+        calculateSellingPrice(order);
+        order.setPaymentStatus(PriceCalculator.determinePaymentStatus(order.getSellingPrice(), initialPayment.getAmount()));
+        LOGGER.log(Level.INFO, "Adding new order for client ID: {0} with {1} payment of {2}",
+                  new Object[]{order.getClientId(), initialPayment.getPaymentMethod(), initialPayment.getAmount()});
+        int orderId = orderDAO.insertWithPayment(order, initialPayment);
+        order.setOrderId(orderId);
+        initialPayment.setOrderId(orderId);
+        LOGGER.log(Level.INFO, "Order added successfully with ID: {0}", orderId);
+        return orderId;
+    }
+
     @Override
     public void insertOrder(Order order) throws SQLException {
         validateOrder(order);
@@ -91,20 +118,27 @@ public class OrderServiceImpl implements IOrderService {
 
     @Override
     public void recalculatePaymentStatus(Order order) throws SQLException {
-        double totalPaid = paymentDAO.getTotalPaidForOrder(order.getOrderId());
-        double sellingPrice = order.getSellingPrice();
-        
-        String newStatus;
-        if (totalPaid <= 0) {
-            newStatus = "Unpaid";
-        } else if (totalPaid < sellingPrice) {
-            newStatus = "Partial";
-        } else {
-            newStatus = "Paid";
+        ValidationUtils.validateNotNull(order, "Order");
+        String newStatus = recalculatePaymentStatus(order.getOrderId());
+        if (newStatus != null) {
+            order.setPaymentStatus(newStatus);
         }
-        
-        updatePaymentStatus(order.getOrderId(), newStatus);
-        order.setPaymentStatus(newStatus);
+    }
+
+    @Override
+    public String recalculatePaymentStatus(int orderId) throws SQLException {
+        ValidationUtils.validatePositiveId(orderId, "Order ID");
+        String newStatus = orderDAO.recalculatePaymentStatus(orderId);
+        LOGGER.log(Level.INFO, "Recalculated payment status for order {0}: {1}", new Object[]{orderId, newStatus});
+        return newStatus;
+    }
+
+    @Override
+    public int recalculateAllPaymentStatuses() throws SQLException {
+        LOGGER.log(Level.INFO, "Recalculating payment status of all orders");
+        int corrected = orderDAO.recalculateAllPaymentStatuses();
+        LOGGER.log(Level.INFO, "Corrected payment status of {0} orders", corrected);
+        return corrected;
     }
 
     @Override
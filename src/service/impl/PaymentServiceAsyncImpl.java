@@ -0,0 +1,86 @@
+package service.impl;
+
+import model.Payment;
+import service.ServiceExecutor;
+import service.api.IPaymentService;
+import service.api.IPaymentServiceAsync;
+import util.IntDoubleMap;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Runs {@link IPaymentService} calls through the {@link ServiceExecutor}.
+ */
+public class PaymentServiceAsyncImpl implements IPaymentServiceAsync {
+
+    private final IPaymentService delegate;
+    private final ServiceExecutor executor;
+
+    public PaymentServiceAsyncImpl(IPaymentService delegate, ServiceExecutor executor) {
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    public PaymentServiceAsyncImpl(IPaymentService delegate) {
+        this(delegate, ServiceExecutor.getInstance());
+    }
+
+    public PaymentServiceAsyncImpl() {
+        this(new PaymentServiceImpl());
+    }
+
+    @Override
+    public CompletableFuture<List<Payment>> getAllPayments() {
+        return executor.submitToUi(() -> delegate.getAllPayments());
+    }
+
+    @Override
+    public CompletableFuture<List<Payment>> getPaymentsByOrder(int orderId) {
+        return executor.submitToUi(() -> delegate.getPaymentsByOrder(orderId));
+    }
+
+    @Override
+    public CompletableFuture<List<Payment>> getPaymentsByClient(int clientId) {
+        return executor.submitToUi(() -> delegate.getPaymentsByClient(clientId));
+    }
+
+    @Override
+    public CompletableFuture<Double> getTotalPaidForOrder(int orderId) {
+        return executor.submitToUi(() -> delegate.getTotalPaidForOrder(orderId));
+    }
+
+    @Override
+    public CompletableFuture<IntDoubleMap> getTotalsPaidByOrder(int[] orderIds) {
+        return executor.submitToUi(() -> delegate.getTotalsPaidByOrder(orderIds));
+    }
+
+    @Override
+    public CompletableFuture<IntDoubleMap> getTotalsPaidForAllOrders() {
+        return executor.submitToUi(() -> delegate.getTotalsPaidForAllOrders());
+    }
+
+    @Override
+    public CompletableFuture<Void> addPayment(Payment payment) {
+        return executor.submitToUi(() -> {
+            delegate.addPayment(payment);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> updatePayment(Payment payment) {
+        return executor.submitToUi(() -> {
+            delegate.updatePayment(payment);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> deletePayment(int paymentId, int orderId) {
+        return executor.submitToUi(() -> {
+            delegate.deletePayment(paymentId, orderId);
+            return null;
+        });
+    }
+}
@@ -1,10 +1,12 @@
 package service.impl;
 
 import service.api.IPaymentService;
+import dao.OrderDAO;
 import dao.PaymentDAO;
 import model.Payment;
 import service.ValidationUtils;
 import ui.util.PriceCalculator;
+import util.IntDoubleMap;
 
 import java.sql.SQLException;
 import java.util.List;
@@ -19,9 +21,15 @@ public class PaymentServiceImpl implements IPaymentService {
 
     private static final Logger LOGGER = Logger.getLogger(PaymentServiceImpl.class.getName());
     private final PaymentDAO paymentDAO;
+    private final OrderDAO orderDAO;
 
-    public PaymentServiceImpl(PaymentDAO paymentDAO) {
+    public PaymentServiceImpl(PaymentDAO paymentDAO, OrderDAO orderDAO) {
         this.paymentDAO = paymentDAO;
+        this.orderDAO = orderDAO;
+    }
+
+    public PaymentServiceImpl(PaymentDAO paymentDAO) {
+        this(paymentDAO, new OrderDAO());
     }
 
     public PaymentServiceImpl() {
@@ -51,6 +59,17 @@ public class PaymentServiceImpl implements IPaymentService {
         return paymentDAO.getTotalPaidForOrder(orderId);
     }
 
+    @Override
+    public IntDoubleMap getTotalsPaidByOrder(int[] orderIds) throws SQLException {
+        ValidationUtils.validateNotNull(orderIds, "Order IDs");
+        return paymentDAO.getTotalsPaidByOrder(orderIds);
+    }
+
+    @Override
+    public IntDoubleMap getTotalsPaidForAllOrders() throws SQLException {
+        return paymentDAO.getTotalsPaidForAllOrders();
+    }
+
     @Override
     public void addPayment(Payment payment) throws SQLException {
         validatePayment(payment);
@@ -111,8 +130,9 @@ public class PaymentServiceImpl implements IPaymentService {
     }
 
     private void updateOrderPaymentStatus(int orderId) throws SQLException {
-        double totalPaid = paymentDAO.getTotalPaidForOrder(orderId);
-        LOGGER.log(Level.INFO, "Total paid for order {0}: {1}", new Object[]{orderId, totalPaid});
+        // Summed and written by the database in one statement
+        String status = orderDAO.recalculatePaymentStatus(orderId);
+        LOGGER.log(Level.INFO, "Payment status of order {0}: {1}", new Object[]{orderId, status});
     }
 
     @Override
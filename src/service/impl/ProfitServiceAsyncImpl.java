@@ -0,0 +1,36 @@
+package service.impl;
+
+import model.Profit;
+import service.ServiceExecutor;
+import service.api.IProfitService;
+import service.api.IProfitServiceAsync;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Runs {@link IProfitService} calls through the {@link ServiceExecutor}.
+ */
+public class ProfitServiceAsyncImpl implements IProfitServiceAsync {
+
+    private final IProfitService delegate;
+    private final ServiceExecutor executor;
+
+    public ProfitServiceAsyncImpl(IProfitService delegate, ServiceExecutor executor) {
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    public ProfitServiceAsyncImpl(IProfitService delegate) {
+        this(delegate, ServiceExecutor.getInstance());
+    }
+
+    public ProfitServiceAsyncImpl() {
+        this(new ProfitServiceImpl());
+    }
+
+    @Override
+    public CompletableFuture<List<Profit>> computeAndSaveProfits(int shipmentId) {
+        return executor.submitToUi(() -> delegate.computeAndSaveProfits(shipmentId));
+    }
+}
@@ -1,10 +1,22 @@
 package service.impl;
 
+import service.ShipmentCostAllocator;
+import service.ValidationUtils;
+import service.api.ICurrencyRateService;
 import service.api.IProfitService;
+import dao.OrderDAO;
 import dao.ProfitDAO;
+import dao.ShipmentDAO;
+import model.CurrencyRate;
+import model.Order;
 import model.Profit;
+import model.Shipment;
+import util.AppConfig;
+import util.SettingsManager;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -16,9 +28,20 @@ public class ProfitServiceImpl implements IProfitService {
 
     private static final Logger LOGGER = Logger.getLogger(ProfitServiceImpl.class.getName());
     private final ProfitDAO profitDAO;
+    private final OrderDAO orderDAO;
+    private final ShipmentDAO shipmentDAO;
+    private final ICurrencyRateService currencyRateService;
 
-    public ProfitServiceImpl(ProfitDAO profitDAO) {
+    public ProfitServiceImpl(ProfitDAO profitDAO, OrderDAO orderDAO, ShipmentDAO shipmentDAO,
+                             ICurrencyRateService currencyRateService) {
         this.profitDAO = profitDAO;
+        this.orderDAO = orderDAO;
+        this.shipmentDAO = shipmentDAO;
+        this.currencyRateService = currencyRateService;
+    }
+
+    public ProfitServiceImpl(ProfitDAO profitDAO) {
+        this(profitDAO, new OrderDAO(), new ShipmentDAO(), new CurrencyRateServiceImpl());
     }
 
     public ProfitServiceImpl() {
@@ -34,9 +57,68 @@ public class ProfitServiceImpl implements IProfitService {
         LOGGER.log(Level.INFO, "Profit saved successfully for order ID: {0}", profit.getOrderId());
     }
 
+    @Override
+    public void saveProfits(List<Profit> profits) throws SQLException {
+        ValidationUtils.validateNotNull(profits, "Profits");
+        for (Profit profit : profits) {
+            validateProfit(profit);
+        }
+        LOGGER.log(Level.INFO, "Saving {0} profits", profits.size());
+        profitDAO.upsertProfits(profits);
+    }
+
+    @Override
+    public List<Profit> computeAndSaveProfits(int shipmentId) throws SQLException {
+        return computeAndSaveProfits(shipmentId,
+                ShipmentCostAllocator.Strategy.fromName(AppConfig.getString("profit.costAllocation", "BY_VALUE")));
+    }
+
+    @Override
+    public List<Profit> computeAndSaveProfits(int shipmentId, ShipmentCostAllocator.Strategy strategy) throws SQLException {
+        ValidationUtils.validatePositiveId(shipmentId, "Shipment ID");
+        ShipmentCostAllocator allocator = new ShipmentCostAllocator(strategy);
+        Shipment shipment = shipmentDAO.findById(shipmentId);
+        if (shipment == null) {
+            throw new IllegalArgumentException("Shipment not found: " + shipmentId);
+        }
+        List<Order> orders = orderDAO.findByShipment(shipmentId);
+        double customRate = SettingsManager.getCurrentSettings().getConversionRate();
+        double originalRate = marketRate(customRate);
+        long totalCostCents = toCents(shipment.getShipmentCost())
+                + toCents(shipment.getTransportationCost())
+                + toCents(shipment.getOtherCosts());
+
+        int count = orders.size();
+        long[] valueCents = new long[count];
+        int[] quantities = new int[count];
+        for (int i = 0; i < count; i++) {
+            Order order = orders.get(i);
+            valueCents[i] = toCents(order.getOriginalPrice() * order.getQuantity());
+            quantities[i] = order.getQuantity();
+        }
+        long[] costShareCents = allocator.allocate(totalCostCents, valueCents, quantities);
+
+        List<Profit> profits = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Order order = orders.get(i);
+            profits.add(profitFor(order.getOrderId(), originalRate, customRate,
+                    order.getOriginalPrice() * order.getQuantity(), order.getSellingPrice(), costShareCents[i] / 100.0));
+        }
+        saveProfits(profits);
+        LOGGER.log(Level.INFO, "Saved profits of {0} orders for shipment {1}", new Object[]{profits.size(), shipmentId});
+        return profits;
+    }
+
     @Override
     public Profit calculateProfit(int orderId, double originalRate, double customRate, 
                                    double originalPriceEUR, double sellingPriceTND, double shipmentCostShare) {
+        Profit profit = profitFor(orderId, originalRate, customRate, originalPriceEUR, sellingPriceTND, shipmentCostShare);
+        LOGGER.log(Level.INFO, "Calculated profit for order {0}: {1}", new Object[]{orderId, profit.getCalculatedProfit()});
+        return profit;
+    }
+
+    private static Profit profitFor(int orderId, double originalRate, double customRate,
+                                    double originalPriceEUR, double sellingPriceTND, double shipmentCostShare) {
         Profit profit = new Profit();
         profit.setOrderId(orderId);
         profit.setOriginalRate(originalRate);
@@ -46,11 +128,21 @@ public class ProfitServiceImpl implements IProfitService {
         double costInTND = originalPriceEUR * customRate;
         double calculatedProfit = sellingPriceTND - costInTND - shipmentCostShare;
         profit.setCalculatedProfit(calculatedProfit);
-        
-        LOGGER.log(Level.INFO, "Calculated profit for order {0}: {1}", new Object[]{orderId, calculatedProfit});
         return profit;
     }
 
+    private static long toCents(double amount) {
+        return Math.round(amount * 100);
+    }
+
+    /**
+     * Latest stored EUR/TND market rate, or the custom rate if none has been fetched yet.
+     */
+    private double marketRate(double customRate) throws SQLException {
+        CurrencyRate latest = currencyRateService.getLatestRate("EUR", "TND");
+        return latest != null && latest.getOriginalRate() > 0 ? latest.getOriginalRate() : customRate;
+    }
+
     private void validateProfit(Profit profit) {
         if (profit == null) {
             throw new IllegalArgumentException("Profit cannot be null");
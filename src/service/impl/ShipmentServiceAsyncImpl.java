@@ -0,0 +1,77 @@
+package service.impl;
+
+import model.Order;
+import model.Shipment;
+import model.ShipmentFinancials;
+import service.ServiceExecutor;
+import service.api.IShipmentService;
+import service.api.IShipmentServiceAsync;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Runs {@link IShipmentService} calls through the {@link ServiceExecutor}.
+ */
+public class ShipmentServiceAsyncImpl implements IShipmentServiceAsync {
+
+    private final IShipmentService delegate;
+    private final ServiceExecutor executor;
+
+    public ShipmentServiceAsyncImpl(IShipmentService delegate, ServiceExecutor executor) {
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    public ShipmentServiceAsyncImpl(IShipmentService delegate) {
+        this(delegate, ServiceExecutor.getInstance());
+    }
+
+    public ShipmentServiceAsyncImpl() {
+        this(new ShipmentServiceImpl());
+    }
+
+    @Override
+    public CompletableFuture<List<Shipment>> getAllShipments() {
+        return executor.submitToUi(() -> delegate.getAllShipments());
+    }
+
+    @Override
+    public CompletableFuture<Void> addShipment(Shipment shipment) {
+        return executor.submitToUi(() -> {
+            delegate.addShipment(shipment);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> updateShipment(Shipment shipment) {
+        return executor.submitToUi(() -> {
+            delegate.updateShipment(shipment);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteShipment(int shipmentId) {
+        return executor.submitToUi(() -> {
+            delegate.deleteShipment(shipmentId);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<List<Order>> getOrdersForShipment(int shipmentId) {
+        return executor.submitToUi(() -> delegate.getOrdersForShipment(shipmentId));
+    }
+
+    @Override
+    public CompletableFuture<ShipmentFinancials> getShipmentFinancials(Shipment shipment) {
+        return executor.submitToUi(() -> delegate.getShipmentFinancials(shipment));
+    }
+
+    @Override
+    public CompletableFuture<List<ShipmentFinancials>> getAllShipmentFinancials() {
+        return executor.submitToUi(() -> delegate.getAllShipmentFinancials());
+    }
+}
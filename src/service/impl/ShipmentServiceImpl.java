@@ -6,11 +6,14 @@ import dao.OrderDAO;
 import model.Shipment;
 import model.Order;
 import model.Settings;
+import model.ShipmentFinancials;
+import model.ShipmentOrderTotals;
+import service.ReferenceDataStore;
 import service.ValidationUtils;
-import ui.util.PriceCalculator;
 import util.SettingsManager;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -21,6 +24,7 @@ public class ShipmentServiceImpl implements IShipmentService {
 
     private static final Logger LOGGER = Logger.getLogger(ShipmentServiceImpl.class.getName());
     private final ShipmentDAO shipmentDAO;
+    private final ReferenceDataStore referenceData = ReferenceDataStore.getInstance();
     private final OrderDAO orderDAO;
 
     public ShipmentServiceImpl(ShipmentDAO shipmentDAO, OrderDAO orderDAO) {
@@ -43,6 +47,7 @@ public class ShipmentServiceImpl implements IShipmentService {
         validateShipment(shipment);
         LOGGER.log(Level.INFO, "Adding new shipment: {0}", shipment.getBatchName());
         shipmentDAO.insert(shipment);
+        referenceData.shipments().put(shipment);
         LOGGER.log(Level.INFO, "Shipment added successfully: {0}", shipment.getBatchName());
     }
 
@@ -54,6 +59,7 @@ public class ShipmentServiceImpl implements IShipmentService {
         }
         LOGGER.log(Level.INFO, "Updating shipment ID: {0}", shipment.getShipmentId());
         shipmentDAO.update(shipment);
+        referenceData.shipments().put(shipment);
         LOGGER.log(Level.INFO, "Shipment updated successfully: {0}", shipment.getBatchName());
     }
 
@@ -62,6 +68,7 @@ public class ShipmentServiceImpl implements IShipmentService {
         ValidationUtils.validatePositiveId(shipmentId, "Shipment ID");
         LOGGER.log(Level.INFO, "Deleting shipment ID: {0}", shipmentId);
         shipmentDAO.delete(shipmentId);
+        referenceData.shipments().remove(shipmentId);
         LOGGER.log(Level.INFO, "Shipment deleted successfully: {0}", shipmentId);
     }
 
@@ -71,64 +78,80 @@ public class ShipmentServiceImpl implements IShipmentService {
     }
 
     @Override
-    public int calculateTotalOrders(Shipment shipment) throws SQLException {
-        List<Order> orders = orderDAO.getOrdersByShipmentId(shipment.getShipmentId());
-        return orders.size();
+    public ShipmentFinancials getShipmentFinancials(Shipment shipment) throws SQLException {
+        ValidationUtils.validateNotNull(shipment, "Shipment");
+        ShipmentOrderTotals totals = orderDAO.findTotalsByShipment(shipment.getShipmentId());
+        return toFinancials(totals, shipment.getTransportationCost(), shipment.getOtherCosts(),
+                SettingsManager.getCurrentSettings());
     }
 
     @Override
-    public double calculateTotalCostOfGoods(Shipment shipment) throws SQLException {
-        List<Order> orders = orderDAO.getOrdersByShipmentId(shipment.getShipmentId());
+    public List<ShipmentFinancials> getAllShipmentFinancials() throws SQLException {
+        List<ShipmentOrderTotals> rows = orderDAO.findTotalsForAllShipments();
         Settings settings = SettingsManager.getCurrentSettings();
-        double conversionRate = settings.getConversionRate();
-        
-        double totalCost = 0.0;
-        for (Order order : orders) {
-            double orderCost = order.getOriginalPrice() * conversionRate * order.getQuantity();
-            totalCost += orderCost;
+        List<ShipmentFinancials> result = new ArrayList<>(rows.size());
+        for (ShipmentOrderTotals totals : rows) {
+            result.add(toFinancials(totals, totals.getTransportationCost(), totals.getOtherCosts(), settings));
         }
-        return totalCost;
+        return result;
+    }
+
+    @Override
+    public int calculateTotalOrders(Shipment shipment) throws SQLException {
+        return getShipmentFinancials(shipment).getTotalOrders();
+    }
+
+    @Override
+    public double calculateTotalCostOfGoods(Shipment shipment) throws SQLException {
+        return getShipmentFinancials(shipment).getTotalCostOfGoods();
     }
 
     @Override
     public double calculateTotalRevenue(Shipment shipment) throws SQLException {
-        List<Order> orders = orderDAO.getOrdersByShipmentId(shipment.getShipmentId());
-        
-        double totalRevenue = 0.0;
-        for (Order order : orders) {
-            double orderRevenue = PriceCalculator.calculateTotalSellingPrice(
-                order.getOriginalPrice(), order.getQuantity());
-            totalRevenue += orderRevenue;
-        }
-        return totalRevenue;
+        return getShipmentFinancials(shipment).getTotalRevenue();
     }
 
     @Override
     public double calculateTotalExpenses(Shipment shipment) throws SQLException {
-        double totalCostOfGoods = calculateTotalCostOfGoods(shipment);
-        return totalCostOfGoods + shipment.getTransportationCost() + shipment.getOtherCosts();
+        return getShipmentFinancials(shipment).getTotalExpenses();
     }
 
     @Override
     public double calculateNetProfit(Shipment shipment) throws SQLException {
-        double totalRevenue = calculateTotalRevenue(shipment);
-        double totalExpenses = calculateTotalExpenses(shipment);
-        return totalRevenue - totalExpenses;
+        return getShipmentFinancials(shipment).getNetProfit();
     }
 
     @Override
     public Map<String, Double> getFinancialSummary(Shipment shipment) throws SQLException {
+        ShipmentFinancials financials = getShipmentFinancials(shipment);
         Map<String, Double> summary = new HashMap<>();
-        summary.put("totalOrders", (double) calculateTotalOrders(shipment));
-        summary.put("totalCostOfGoods", calculateTotalCostOfGoods(shipment));
-        summary.put("transportationCost", (double) shipment.getTransportationCost());
-        summary.put("otherCosts", (double) shipment.getOtherCosts());
-        summary.put("totalRevenue", calculateTotalRevenue(shipment));
-        summary.put("totalExpenses", calculateTotalExpenses(shipment));
-        summary.put("netProfit", calculateNetProfit(shipment));
+        summary.put("totalOrders", (double) financials.getTotalOrders());
+        summary.put("totalCostOfGoods", financials.getTotalCostOfGoods());
+        summary.put("transportationCost", financials.getTransportationCost());
+        summary.put("otherCosts", financials.getOtherCosts());
+        summary.put("totalRevenue", financials.getTotalRevenue());
+        summary.put("totalExpenses", financials.getTotalExpenses());
+        summary.put("netProfit", financials.getNetProfit());
         return summary;
     }
 
+    /**
+     * Cost of goods and revenue are both linear in SUM(original_price * quantity):
+     * orderCost = unitPriceEUR * conversionRate * quantity,
+     * orderRevenue = unitPriceEUR * sellingMultiplier * quantity.
+     */
+    private ShipmentFinancials toFinancials(ShipmentOrderTotals totals, double transportationCost,
+                                            double otherCosts, Settings settings) {
+        double originalValue = totals.getOriginalValue();
+        return new ShipmentFinancials(
+                totals.getShipmentId(),
+                totals.getOrderCount(),
+                originalValue * settings.getConversionRate(),
+                originalValue * settings.getSellingMultiplier(),
+                transportationCost,
+                otherCosts);
+    }
+
     private void validateShipment(Shipment shipment) {
         ValidationUtils.validateNotNull(shipment, "Shipment");
         ValidationUtils.validateNotEmpty(shipment.getBatchName(), "Batch name");
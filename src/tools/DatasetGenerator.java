@@ -0,0 +1,609 @@
+package tools;
+
+import model.Platform;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+import service.ValidationUtils;
+import util.DBConnection;
+import util.SchemaMigrator;
+import util.SettingsManager;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Fills the database with a realistic synthetic dataset for reproducing production-scale
+ * slowness: clients, shipments, orders over every platform and payment type, and the
+ * deposits, instalments and full payments behind each order's payment status.
+ *
+ * Rows are streamed with COPY into the database configured in app.properties
+ * (db.url, db.user, db.password), in one transaction; a few million orders load in minutes.
+ * IDs continue after the existing rows, so it can also top up a database in use.
+ *
+ * Usage: java tools.DatasetGenerator [--orders=N] [--clients=N] [--shipments=N]
+ *        [--seed=N] [--skew=X] [--days=N] [--truncate]
+ *   --orders     orders to create (default 100000)
+ *   --clients    default orders / 25
+ *   --shipments  default orders / 150
+ *   --seed       same seed and counts give the same data (default 42)
+ *   --skew       client popularity: 1 = uniform, higher = a few clients place most orders (default 2)
+ *   --days       orders are spread over this many days up to today (default 730)
+ *   --truncate   first delete all clients, shipments, orders, payments and profits
+ */
+public class DatasetGenerator {
+
+    private static final String[] FIRST_NAMES = {
+            "amira", "yasmine", "mariem", "sarra", "ines", "nour", "rania", "hela", "salma", "eya",
+            "khadija", "fatma", "asma", "imen", "olfa", "mohamed", "ahmed", "aziz", "youssef", "karim",
+            "mehdi", "amine", "skander", "walid", "hamza", "oussama", "sami", "bilel", "rim", "wiem"
+    };
+    private static final String[] LAST_NAMES = {
+            "bensalah", "trabelsi", "gharbi", "jebali", "hammami", "mejri", "ayari", "bouazizi", "chaabane",
+            "dridi", "ferchichi", "jlassi", "khemiri", "mansouri", "nasri", "riahi", "sassi", "toumi", "zouari", "baccouche"
+    };
+    private static final String[] CITIES = {
+            "Tunis", "Sfax", "Sousse", "Ariana", "Bizerte", "Nabeul", "Monastir", "Kairouan", "Gabes", "Ben Arous"
+    };
+    private static final String[] SOURCES = {"facebook", "facebook", "instagram", "instagram", "instagram", "whatsapp", null};
+    private static final String[] SIZES = {"XS", "S", "M", "M", "L", "L", "XL", "XXL", "36", "38", "40", null};
+    private static final String[] PAY_METHODS = {"cash", "cash", "card", "post"};
+
+    // Cumulative platform mix in percent: SHEIN, TEMU, ALIEXPRESS, ALIBABA, OTHER
+    private static final Platform[] PLATFORMS = Platform.values();
+    private static final int[] PLATFORM_WEIGHTS = {50, 75, 90, 95, 100};
+    // Median EUR price per platform, same order
+    private static final double[] PLATFORM_PRICES = {12, 8, 10, 30, 18};
+
+    private static final byte FULL = 0;
+    private static final byte DEPOSIT = 1;
+    private static final byte ON_DELIVERY = 2;
+
+    // What happened to an order after it was placed
+    private static final int PLAN_NONE = 0;
+    private static final int PLAN_PARTIAL = 1;
+    private static final int PLAN_PAID = 2;
+
+    private static final int COPY_CHUNK = 256 * 1024;
+
+    private final int orderCount;
+    private final int clientCount;
+    private final int shipmentCount;
+    private final long seed;
+    private final double skew;
+    private final int days;
+    private final boolean truncate;
+
+    private final double sellingMultiplier = SettingsManager.getCurrentSettings().getSellingMultiplier();
+    private final LocalDateTime end = LocalDate.now().atStartOfDay();
+    private final LocalDateTime start;
+
+    // Filled while writing orders, read when writing payments
+    private int[] orderTotalCents;
+    private byte[] orderPaymentType;
+    private int[] orderMinute;
+    private boolean[] orderDelivered;
+
+    public DatasetGenerator(int orderCount, int clientCount, int shipmentCount, long seed,
+                            double skew, int days, boolean truncate) {
+        ValidationUtils.validatePositive(orderCount, "Orders");
+        ValidationUtils.validatePositive(clientCount, "Clients");
+        ValidationUtils.validatePositive(shipmentCount, "Shipments");
+        ValidationUtils.validatePositive(days, "Days");
+        if (skew < 1) {
+            throw new IllegalArgumentException("Skew must be at least 1");
+        }
+        this.orderCount = orderCount;
+        this.clientCount = clientCount;
+        this.shipmentCount = shipmentCount;
+        this.seed = seed;
+        this.skew = skew;
+        this.days = days;
+        this.truncate = truncate;
+        this.start = end.minusDays(days);
+    }
+
+    public static void main(String[] args) throws Exception {
+        int orders = 100_000;
+        int clients = -1;
+        int shipments = -1;
+        long seed = 42;
+        double skew = 2;
+        int days = 730;
+        boolean truncate = false;
+        for (String arg : args) {
+            String value = arg.contains("=") ? arg.substring(arg.indexOf('=') + 1) : "";
+            if (arg.startsWith("--orders=")) {
+                orders = Integer.parseInt(value);
+            } else if (arg.startsWith("--clients=")) {
+                clients = Integer.parseInt(value);
+            } else if (arg.startsWith("--shipments=")) {
+                shipments = Integer.parseInt(value);
+            } else if (arg.startsWith("--seed=")) {
+                seed = Long.parseLong(value);
+            } else if (arg.startsWith("--skew=")) {
+                skew = Double.parseDouble(value);
+            } else if (arg.startsWith("--days=")) {
+                days = Integer.parseInt(value);
+            } else if (arg.equals("--truncate")) {
+                truncate = true;
+            } else {
+                System.err.println("Unknown option: " + arg);
+                System.err.println("Usage: DatasetGenerator [--orders=N] [--clients=N] [--shipments=N] "
+                        + "[--seed=N] [--skew=X] [--days=N] [--truncate]");
+                System.exit(2);
+            }
+        }
+        if (clients < 0) {
+            clients = Math.max(1, orders / 25);
+        }
+        if (shipments < 0) {
+            shipments = Math.max(1, orders / 150);
+        }
+        try {
+            new DatasetGenerator(orders, clients, shipments, seed, skew, days, truncate).run();
+        } finally {
+            DBConnection.shutdown();
+        }
+    }
+
+    public void run() throws SQLException {
+        long began = System.nanoTime();
+        // The COPY column lists follow the migrated schema, which a fresh database lacks
+        SchemaMigrator.migrateOnStartup();
+        try (Connection conn = DBConnection.getConnection()) {
+            requireColumn(conn, "shipments", "transportation_cost");
+            conn.setAutoCommit(false);
+            try {
+                if (truncate) {
+                    try (Statement st = conn.createStatement()) {
+                        st.execute("TRUNCATE profits, payments, orders, shipments, clients RESTART IDENTITY CASCADE");
+                    }
+                    System.out.println("Deleted existing clients, shipments, orders, payments and profits");
+                }
+                CopyManager copy = conn.unwrap(PGConnection.class).getCopyAPI();
+                int[] deliveryOptionIds = ensureDeliveryOptions(conn);
+                int firstClientId = maxId(conn, "clients", "client_id") + 1;
+                int firstShipmentId = maxId(conn, "shipments", "shipment_id") + 1;
+                int firstOrderId = maxId(conn, "orders", "order_id") + 1;
+                int firstPaymentId = maxId(conn, "payments", "payment_id") + 1;
+
+                writeClients(copy, firstClientId);
+                LocalDateTime[] arrivals = writeShipments(copy, firstShipmentId);
+                writeOrders(copy, firstOrderId, firstClientId, firstShipmentId, arrivals, deliveryOptionIds);
+                int payments = writePayments(copy, firstOrderId, firstPaymentId);
+
+                setSequence(conn, "clients", "client_id", firstClientId + clientCount - 1);
+                setSequence(conn, "shipments", "shipment_id", firstShipmentId + shipmentCount - 1);
+                setSequence(conn, "orders", "order_id", firstOrderId + orderCount - 1);
+                if (payments > 0) {
+                    setSequence(conn, "payments", "payment_id", firstPaymentId + payments - 1);
+                }
+                conn.commit();
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            }
+            conn.setAutoCommit(true);
+            try (Statement st = conn.createStatement()) {
+                st.execute("ANALYZE clients, shipments, orders, payments");
+            }
+        }
+        System.out.printf(Locale.ROOT, "Done in %.1f s%n", (System.nanoTime() - began) / 1e9);
+    }
+
+    private void writeClients(CopyManager copy, int firstId) throws SQLException {
+        SplittableRandom random = new SplittableRandom(seed);
+        long began = System.nanoTime();
+        try (CsvCopy out = new CsvCopy(copy, "COPY clients (client_id, username, phone, source, address, created_at) FROM STDIN WITH (FORMAT csv)")) {
+            for (int i = 0; i < clientCount; i++) {
+                String phone = "259".charAt(random.nextInt(3)) + String.format(Locale.ROOT, "%07d", random.nextInt(10_000_000));
+                ValidationUtils.validatePhoneNumber(phone, "Phone");
+                out.integer(firstId + i)
+                   .text(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + "_"
+                           + LAST_NAMES[random.nextInt(LAST_NAMES.length)] + random.nextInt(100))
+                   .text(phone)
+                   .text(SOURCES[random.nextInt(SOURCES.length)])
+                   .text(random.nextInt(5) == 0 ? null
+                           : (1 + random.nextInt(200)) + " Rue " + LAST_NAMES[random.nextInt(LAST_NAMES.length)]
+                           + ", " + CITIES[random.nextInt(CITIES.length)])
+                   .timestamp(start.plusMinutes(random.nextLong((long) days * 24 * 60)))
+                   .endRow();
+            }
+            report("clients", out.finish(), began);
+        }
+    }
+
+    /**
+     * One shipment per equal slice of the period, oldest first. Returns each shipment's arrival.
+     */
+    private LocalDateTime[] writeShipments(CopyManager copy, int firstId) throws SQLException {
+        SplittableRandom random = new SplittableRandom(seed + 1);
+        LocalDateTime[] arrivals = new LocalDateTime[shipmentCount];
+        long sliceMinutes = Math.max(1, (long) days * 24 * 60 / shipmentCount);
+        long began = System.nanoTime();
+        try (CsvCopy out = new CsvCopy(copy, "COPY shipments (shipment_id, batch_name, departure_country, arrival_country, "
+                + "shipment_cost, departure_date, arrival_date, status, transportation_cost, other_costs) FROM STDIN WITH (FORMAT csv)")) {
+            for (int i = 0; i < shipmentCount; i++) {
+                LocalDateTime departure = start.plusMinutes(sliceMinutes * (i + 1));
+                LocalDateTime arrival = departure.plusDays(5 + random.nextInt(10));
+                arrivals[i] = arrival;
+                long daysSinceArrival = ChronoUnit.DAYS.between(arrival, end);
+                String status = departure.isAfter(end) ? "pending"
+                        : daysSinceArrival < 0 ? "in_transit"
+                        : daysSinceArrival < 7 ? "arrived" : "distributed";
+                out.integer(firstId + i)
+                   .text("Batch " + departure.toLocalDate() + " #" + (i + 1))
+                   .text("France")
+                   .text("Tunisia")
+                   .cents(20_000 + random.nextInt(80_000))
+                   .text(departure.toLocalDate().toString())
+                   .text(arrival.toLocalDate().toString())
+                   .text(status)
+                   .cents(5_000 + random.nextInt(20_000))
+                   .cents(random.nextInt(5_000))
+                   .endRow();
+            }
+            report("shipments", out.finish(), began);
+        }
+        return arrivals;
+    }
+
+    private void writeOrders(CopyManager copy, int firstId, int firstClientId, int firstShipmentId,
+                             LocalDateTime[] arrivals, int[] deliveryOptionIds) throws SQLException {
+        SplittableRandom random = new SplittableRandom(seed + 2);
+        orderTotalCents = new int[orderCount];
+        orderPaymentType = new byte[orderCount];
+        orderMinute = new int[orderCount];
+        orderDelivered = new boolean[orderCount];
+        long periodMinutes = (long) days * 24 * 60;
+        long sliceMinutes = Math.max(1, periodMinutes / shipmentCount);
+        long began = System.nanoTime();
+        try (CsvCopy out = new CsvCopy(copy, "COPY orders (order_id, client_id, shipment_id, delivery_option_id, product_link, "
+                + "product_size, quantity, original_price, selling_price, platform, payment_type, payment_status, "
+                + "order_date, notes) FROM STDIN WITH (FORMAT csv)")) {
+            for (int i = 0; i < orderCount; i++) {
+                // Order dates grow with the ID, like real inserts
+                int minute = (int) (periodMinutes * i / orderCount + random.nextInt(60));
+                orderMinute[i] = minute;
+
+                // u^skew piles the draws up near 0, so low client IDs place most orders
+                int client = (int) (clientCount * Math.pow(random.nextDouble(), skew));
+
+                // Each order ships with the batch leaving after it was placed; the newest are not shipped yet
+                int shipment = (int) (minute / sliceMinutes);
+                Integer shipmentId = shipment < shipmentCount && random.nextInt(20) != 0 ? firstShipmentId + shipment : null;
+                boolean delivered = shipmentId != null && !arrivals[shipment].isAfter(end);
+                orderDelivered[i] = delivered;
+
+                int roll = random.nextInt(100);
+                int p = 0;
+                while (roll >= PLATFORM_WEIGHTS[p]) {
+                    p++;
+                }
+                Platform platform = PLATFORMS[p];
+                int quantity = quantity(random);
+                double u = random.nextDouble();
+                // Long right tail: most items near the platform's median, a few several times dearer
+                int originalCents = (int) Math.max(99, Math.round(PLATFORM_PRICES[p] * 100 * (0.3 + 1.4 * u * u * u + 0.3 * u)));
+                long totalCents = Math.round(originalCents * sellingMultiplier * quantity);
+                orderTotalCents[i] = (int) Math.min(Integer.MAX_VALUE, totalCents);
+
+                byte type = paymentType(random);
+                orderPaymentType[i] = type;
+
+                out.integer(firstId + i)
+                   .integer(firstClientId + client)
+                   .integer(shipmentId)
+                   .integer(random.nextInt(4) == 0 || deliveryOptionIds.length == 0 ? null
+                           : deliveryOptionIds[random.nextInt(deliveryOptionIds.length)])
+                   .text(productLink(platform, random))
+                   .text(SIZES[random.nextInt(SIZES.length)])
+                   .integer(quantity)
+                   .cents(originalCents)
+                   .cents(totalCents)
+                   .text(platform.getDisplayName())
+                   .text(type == FULL ? "Full" : type == DEPOSIT ? "Deposit" : "On Delivery")
+                   .text(paymentStatus(i))
+                   .timestamp(start.plusMinutes(minute))
+                   .text(random.nextInt(12) == 0 ? "Gift, please remove price tags" : null)
+                   .endRow();
+                out.progress("orders", began);
+            }
+            report("orders", out.finish(), began);
+        }
+    }
+
+    /**
+     * Payments matching each order's payment_status; derived from the same per-order
+     * draws, so the status written with the order always agrees with the sum paid.
+     */
+    private int writePayments(CopyManager copy, int firstOrderId, int firstPaymentId) throws SQLException {
+        long began = System.nanoTime();
+        int paymentId = firstPaymentId;
+        try (CsvCopy out = new CsvCopy(copy, "COPY payments (payment_id, order_id, amount, payment_date, payment_method, comment) "
+                + "FROM STDIN WITH (FORMAT csv)")) {
+            for (int i = 0; i < orderCount; i++) {
+                int total = orderTotalCents[i];
+                LocalDateTime placed = start.plusMinutes(orderMinute[i]);
+                int plan = plan(i);
+                int deposit = total / 2;
+                switch (orderPaymentType[i]) {
+                    case FULL:
+                        out.integer(paymentId++).integer(firstOrderId + i).cents(total).timestamp(placed)
+                           .text("Full Payment").text("Full payment received").endRow();
+                        break;
+                    case DEPOSIT:
+                        out.integer(paymentId++).integer(firstOrderId + i).cents(deposit).timestamp(placed)
+                           .text("Deposit").text("Initial deposit payment").endRow();
+                        if (plan == PLAN_PAID) {
+                            out.integer(paymentId++).integer(firstOrderId + i).cents(total - deposit)
+                               .timestamp(placed.plusDays(14)).text(PAY_METHODS[i % PAY_METHODS.length])
+                               .text("Balance on delivery").endRow();
+                        } else if (plan == PLAN_PARTIAL) {
+                            out.integer(paymentId++).integer(firstOrderId + i).cents((total - deposit) / 2)
+                               .timestamp(placed.plusDays(14)).text(PAY_METHODS[i % PAY_METHODS.length])
+                               .text("Instalment").endRow();
+                        }
+                        break;
+                    default:
+                        if (plan == PLAN_PAID) {
+                            out.integer(paymentId++).integer(firstOrderId + i).cents(total)
+                               .timestamp(placed.plusDays(14)).text(PAY_METHODS[i % PAY_METHODS.length])
+                               .text("Paid on delivery").endRow();
+                        } else if (plan == PLAN_PARTIAL) {
+                            out.integer(paymentId++).integer(firstOrderId + i).cents(deposit)
+                               .timestamp(placed.plusDays(14)).text(PAY_METHODS[i % PAY_METHODS.length])
+                               .text("Partial payment on delivery").endRow();
+                        }
+                        break;
+                }
+                out.progress("payments", began);
+            }
+            report("payments", out.finish(), began);
+        }
+        return paymentId - firstPaymentId;
+    }
+
+    /**
+     * What happened after the order was placed. Only delivered orders get paid off,
+     * mostly in full; a stable hash of the index keeps it reproducible for both passes.
+     */
+    private int plan(int i) {
+        if (orderPaymentType[i] == FULL) {
+            return PLAN_PAID;
+        }
+        if (!orderDelivered[i]) {
+            return PLAN_NONE;
+        }
+        long h = (seed + i) * 0x9E3779B97F4A7C15L;
+        int roll = (int) ((h >>> 33) % 100);
+        return roll < 85 ? PLAN_PAID : roll < 92 ? PLAN_PARTIAL : PLAN_NONE;
+    }
+
+    private String paymentStatus(int i) {
+        int plan = plan(i);
+        if (plan == PLAN_PAID) {
+            return "Paid";
+        }
+        if (orderPaymentType[i] == DEPOSIT || plan == PLAN_PARTIAL) {
+            return "Partial";
+        }
+        return "Unpaid";
+    }
+
+    private static byte paymentType(SplittableRandom random) {
+        int roll = random.nextInt(100);
+        return roll < 25 ? FULL : roll < 70 ? DEPOSIT : ON_DELIVERY;
+    }
+
+    private static int quantity(SplittableRandom random) {
+        int roll = random.nextInt(100);
+        return roll < 70 ? 1 : roll < 90 ? 2 : 3 + random.nextInt(3);
+    }
+
+    private static String productLink(Platform platform, SplittableRandom random) {
+        long item = 10_000_000L + random.nextLong(990_000_000L);
+        switch (platform) {
+            case SHEIN: return "https://fr.shein.com/item-p-" + item + ".html";
+            case TEMU: return "https://www.temu.com/fr/goods.html?goods_id=" + item;
+            case ALIEXPRESS: return "https://fr.aliexpress.com/item/" + item + ".html";
+            case ALIBABA: return "https://www.alibaba.com/product-detail/" + item + ".html";
+            default: return "https://www.vinted.fr/items/" + item;
+        }
+    }
+
+    /**
+     * Fail before loading anything if the schema is older than the columns written here.
+     */
+    private static void requireColumn(Connection conn, String table, String column) throws SQLException {
+        String sql = "SELECT 1 FROM information_schema.columns WHERE table_schema = current_schema() "
+                + "AND table_name = ? AND column_name = ?";
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, table);
+            ps.setString(2, column);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next()) {
+                    throw new SQLException("Column " + table + "." + column + " is missing: the database schema is not"
+                            + " migrated. Run from the project root so db/migration is found, or set"
+                            + " -Ddb.migration.location and leave db.migration.enabled on.");
+                }
+            }
+        }
+    }
+
+    private static int[] ensureDeliveryOptions(Connection conn) throws SQLException {
+        List<Integer> ids = new ArrayList<>();
+        try (Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery("SELECT delivery_option_id FROM delivery_options ORDER BY delivery_option_id")) {
+            while (rs.next()) {
+                ids.add(rs.getInt(1));
+            }
+        }
+        if (ids.isEmpty()) {
+            String sql = "INSERT INTO delivery_options (name, description, contact_info) VALUES (?,?,?) RETURNING delivery_option_id";
+            String[][] options = {
+                    {"RapidEx", "Home delivery, 24-48h", "71 000 000"},
+                    {"Colis Tunisie", "Post office pickup", "71 111 111"},
+                    {"Hand delivery", "Delivered by us in Tunis", null}
+            };
+            try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                for (String[] option : options) {
+                    ps.setString(1, option[0]);
+                    ps.setString(2, option[1]);
+                    ps.setString(3, option[2]);
+                    try (ResultSet rs = ps.executeQuery()) {
+                        rs.next();
+                        ids.add(rs.getInt(1));
+                    }
+                }
+            }
+        }
+        return ids.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static int maxId(Connection conn, String table, String column) throws SQLException {
+        try (Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery("SELECT COALESCE(MAX(" + column + "), 0) FROM " + table)) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    /**
+     * Rows were copied with explicit IDs; move the SERIAL sequence past them.
+     */
+    private static void setSequence(Connection conn, String table, String column, int lastId) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement("SELECT setval(pg_get_serial_sequence(?, ?), ?)")) {
+            ps.setString(1, table);
+            ps.setString(2, column);
+            ps.setLong(3, lastId);
+            ps.execute();
+        }
+    }
+
+    private static void report(String table, long rows, long beganNanos) {
+        double seconds = (System.nanoTime() - beganNanos) / 1e9;
+        System.out.printf(Locale.ROOT, "Loaded %,d %s in %.1f s (%,.0f rows/s)%n",
+                rows, table, seconds, rows / Math.max(seconds, 1e-9));
+    }
+
+    /**
+     * Builds CSV rows for COPY ... FROM STDIN and sends them to the server in large chunks.
+     */
+    private static final class CsvCopy implements AutoCloseable {
+        private final CopyIn copyIn;
+        private final StringBuilder buffer = new StringBuilder(COPY_CHUNK + 1024);
+        private boolean firstField = true;
+        private long rows;
+        private long nextProgress = 1_000_000;
+
+        CsvCopy(CopyManager copy, String sql) throws SQLException {
+            this.copyIn = copy.copyIn(sql);
+        }
+
+        CsvCopy integer(Integer value) {
+            separator();
+            if (value != null) {
+                buffer.append(value.intValue());
+            }
+            return this;
+        }
+
+        CsvCopy integer(int value) {
+            separator();
+            buffer.append(value);
+            return this;
+        }
+
+        /** Amount in cents written as a decimal, without going through double formatting. */
+        CsvCopy cents(long cents) {
+            separator();
+            buffer.append(cents / 100).append('.');
+            long fraction = cents % 100;
+            if (fraction < 10) {
+                buffer.append('0');
+            }
+            buffer.append(fraction);
+            return this;
+        }
+
+        /** Quoted text; null becomes an unquoted empty field, which COPY reads as NULL. */
+        CsvCopy text(String value) {
+            separator();
+            if (value != null) {
+                buffer.append('"');
+                for (int i = 0; i < value.length(); i++) {
+                    char c = value.charAt(i);
+                    if (c == '"') {
+                        buffer.append('"');
+                    }
+                    buffer.append(c);
+                }
+                buffer.append('"');
+            }
+            return this;
+        }
+
+        CsvCopy timestamp(LocalDateTime value) {
+            separator();
+            buffer.append(value.toLocalDate()).append(' ').append(value.toLocalTime());
+            return this;
+        }
+
+        void endRow() throws SQLException {
+            buffer.append('\n');
+            firstField = true;
+            rows++;
+            if (buffer.length() >= COPY_CHUNK) {
+                flush();
+            }
+        }
+
+        void progress(String table, long beganNanos) {
+            if (rows >= nextProgress) {
+                report(table + " so far", rows, beganNanos);
+                nextProgress += 1_000_000;
+            }
+        }
+
+        long finish() throws SQLException {
+            flush();
+            copyIn.endCopy();
+            return rows;
+        }
+
+        private void separator() {
+            if (!firstField) {
+                buffer.append(',');
+            }
+            firstField = false;
+        }
+
+        private void flush() throws SQLException {
+            if (buffer.length() > 0) {
+                byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+                copyIn.writeToCopy(bytes, 0, bytes.length);
+                buffer.setLength(0);
+            }
+        }
+
+        @Override
+        public void close() throws SQLException {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+}
@@ -0,0 +1,513 @@
+package tools;
+
+import model.Client;
+import model.DeliveryOption;
+import model.Order;
+import model.Payment;
+import model.Platform;
+import model.Shipment;
+import service.ServiceExecutor;
+import service.api.IClientService;
+import service.api.IOrderService;
+import service.api.IPaymentService;
+import service.impl.ClientServiceImpl;
+import service.impl.OrderServiceImpl;
+import service.impl.PaymentServiceImpl;
+import ui.dialog.order.OrderSaveHandler;
+import ui.dialog.payment.PaymentProcessor;
+import ui.util.PriceCalculator;
+import util.DBConnection;
+import util.LatencyHistogram;
+import util.QueryMetrics;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Replays the desks' daily work against the database without the UI, to measure how the
+ * service layer holds up under several people working at once. Each simulated operator
+ * runs in its own thread and loops over a weighted mix of:
+ *   create  - a new order through OrderSaveHandler, with a deposit or full payment like the order form
+ *             (--create=legacy replays the old separate insert, payment and status calls instead)
+ *   add     - open an order's payments and add one through PaymentProcessor (status recomputed)
+ *   edit    - change the amount of one of an order's payments
+ *   delete  - delete one of an order's payments
+ *   search  - the client search box, by name fragment, phone digits or full username
+ * Each timed operation includes the reads the matching dialog makes before saving.
+ * Orders are picked at random among those present at start; adds on fully paid orders and
+ * edits or deletes on orders without payments are skipped and counted, not timed.
+ *
+ * Dialogs cannot be shown here, so a handler that reaches one (validation or database error)
+ * fails with an exception and the operation is counted as an error.
+ *
+ * Runs against the database configured in app.properties (fill it first with
+ * tools.DatasetGenerator), from a directory containing settings.properties.
+ *
+ * Usage: java tools.WorkloadReplay [--operators=N] [--duration=S] [--warmup=S]
+ *        [--think=MS] [--seed=N] [--mix=create:W,add:W,edit:W,delete:W,search:W]
+ *        [--create=atomic|legacy] [--sql]
+ *   --operators  concurrent simulated operators (default 8)
+ *   --duration   measured seconds (default 60)
+ *   --warmup     seconds run before measuring (default 10)
+ *   --think      mean pause between an operator's operations in ms, exponentially distributed (default 0)
+ *   --seed       random seed (default 42)
+ *   --mix        relative operation weights (default create:25,add:20,edit:10,delete:5,search:40)
+ *   --create     atomic: order and first payment in one statement (default);
+ *                legacy: addOrder, then addPayment, then updatePaymentStatus
+ *   --sql        also print the per-statement query metrics of the measured period
+ */
+public class WorkloadReplay {
+
+    enum Operation {
+        CREATE("create", "create-order"),
+        ADD("add", "add-payment"),
+        EDIT("edit", "edit-payment"),
+        DELETE("delete", "delete-payment"),
+        SEARCH("search", "search-clients");
+
+        final String key;
+        final String label;
+
+        Operation(String key, String label) {
+            this.key = key;
+            this.label = label;
+        }
+
+        static Operation fromKey(String key) {
+            for (Operation op : values()) {
+                if (op.key.equals(key)) {
+                    return op;
+                }
+            }
+            throw new IllegalArgumentException("Unknown operation in mix: " + key);
+        }
+    }
+
+    private static final String[] SIZES = {"S", "M", "L", "XL", "38", "40", ""};
+    private static final String[] PAYMENT_TYPES = {"Deposit", "Deposit", "Deposit", "Deposit", "Deposit",
+            "Full", "Full", "Full", "On Delivery", "On Delivery"};
+    private static final String[] PAY_METHODS = {"cash", "card", "post"};
+    private static final Platform[] PLATFORMS = Platform.values();
+
+    private final int operators;
+    private final int durationSeconds;
+    private final int warmupSeconds;
+    private final int thinkMillis;
+    private final long seed;
+    private final int[] cumulativeWeights;
+    private final boolean printSql;
+    private final boolean legacyCreate;
+
+    private final IOrderService orderService = new OrderServiceImpl();
+    private final IPaymentService paymentService = new PaymentServiceImpl();
+    private final IClientService clientService = new ClientServiceImpl();
+    private final OrderSaveHandler orderSaveHandler = new OrderSaveHandler(orderService);
+    private final PaymentProcessor paymentProcessor = new PaymentProcessor(paymentService, orderService);
+
+    private final LatencyHistogram[] latencies = new LatencyHistogram[Operation.values().length];
+    private final LongAdder[] errors = new LongAdder[Operation.values().length];
+    private final LongAdder[] skipped = new LongAdder[Operation.values().length];
+    private final AtomicBoolean[] errorReported = new AtomicBoolean[Operation.values().length];
+    private volatile boolean measuring;
+    private volatile boolean stopped;
+
+    // Loaded once before the run
+    private int[] clientIds;
+    private int[] shipmentIds;
+    private int[] deliveryOptionIds;
+    private String[] searchKeywords;
+    private int minOrderId;
+    private int maxOrderId;
+
+    public WorkloadReplay(int operators, int durationSeconds, int warmupSeconds, int thinkMillis,
+                          long seed, int[] weights, boolean printSql, boolean legacyCreate) {
+        if (operators <= 0) {
+            throw new IllegalArgumentException("Operators must be positive");
+        }
+        if (durationSeconds <= 0) {
+            throw new IllegalArgumentException("Duration must be positive");
+        }
+        if (warmupSeconds < 0 || thinkMillis < 0) {
+            throw new IllegalArgumentException("Warmup and think time cannot be negative");
+        }
+        this.operators = operators;
+        this.durationSeconds = durationSeconds;
+        this.warmupSeconds = warmupSeconds;
+        this.thinkMillis = thinkMillis;
+        this.seed = seed;
+        this.printSql = printSql;
+        this.legacyCreate = legacyCreate;
+        this.cumulativeWeights = new int[weights.length];
+        int sum = 0;
+        for (int i = 0; i < weights.length; i++) {
+            if (weights[i] < 0) {
+                throw new IllegalArgumentException("Mix weights cannot be negative");
+            }
+            sum += weights[i];
+            cumulativeWeights[i] = sum;
+        }
+        if (sum == 0) {
+            throw new IllegalArgumentException("Mix must give at least one operation a weight");
+        }
+        for (int i = 0; i < latencies.length; i++) {
+            latencies[i] = new LatencyHistogram();
+            errors[i] = new LongAdder();
+            skipped[i] = new LongAdder();
+            errorReported[i] = new AtomicBoolean();
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int operators = 8;
+        int duration = 60;
+        int warmup = 10;
+        int think = 0;
+        long seed = 42;
+        int[] weights = {25, 20, 10, 5, 40};
+        boolean sql = false;
+        boolean legacyCreate = false;
+        for (String arg : args) {
+            String value = arg.contains("=") ? arg.substring(arg.indexOf('=') + 1) : "";
+            if (arg.startsWith("--operators=")) {
+                operators = Integer.parseInt(value);
+            } else if (arg.startsWith("--duration=")) {
+                duration = Integer.parseInt(value);
+            } else if (arg.startsWith("--warmup=")) {
+                warmup = Integer.parseInt(value);
+            } else if (arg.startsWith("--think=")) {
+                think = Integer.parseInt(value);
+            } else if (arg.startsWith("--seed=")) {
+                seed = Long.parseLong(value);
+            } else if (arg.startsWith("--mix=")) {
+                weights = new int[Operation.values().length];
+                for (String part : value.split(",")) {
+                    String[] keyWeight = part.split(":");
+                    if (keyWeight.length != 2) {
+                        throw new IllegalArgumentException("Mix entries look like add:20, got: " + part);
+                    }
+                    weights[Operation.fromKey(keyWeight[0].trim()).ordinal()] = Integer.parseInt(keyWeight[1].trim());
+                }
+            } else if (arg.startsWith("--create=") && (value.equals("atomic") || value.equals("legacy"))) {
+                legacyCreate = value.equals("legacy");
+            } else if (arg.equals("--sql")) {
+                sql = true;
+            } else {
+                System.err.println("Unknown option: " + arg);
+                System.err.println("Usage: WorkloadReplay [--operators=N] [--duration=S] [--warmup=S] [--think=MS] "
+                        + "[--seed=N] [--mix=create:W,add:W,edit:W,delete:W,search:W] [--create=atomic|legacy] [--sql]");
+                System.exit(2);
+            }
+        }
+        // Services log every call at INFO; on the console that would cost more than the calls themselves
+        Logger.getLogger("").setLevel(Level.WARNING);
+        // There is no JavaFX thread: complete UI callbacks on the calling thread
+        ServiceExecutor.getInstance().setUiExecutor(Runnable::run);
+        try {
+            new WorkloadReplay(operators, duration, warmup, think, seed, weights, sql, legacyCreate).run();
+        } finally {
+            ServiceExecutor.getInstance().shutdown();
+            DBConnection.shutdown();
+        }
+    }
+
+    public void run() throws SQLException, InterruptedException {
+        loadReferenceData();
+        System.out.printf(Locale.ROOT, "%d operators, %d s warmup, %d s measured, %s order creation, orders %d..%d, %d clients sampled%n",
+                operators, warmupSeconds, durationSeconds, legacyCreate ? "legacy" : "atomic",
+                minOrderId, maxOrderId, clientIds.length);
+
+        SplittableRandom master = new SplittableRandom(seed);
+        List<Thread> threads = new ArrayList<>(operators);
+        for (int i = 0; i < operators; i++) {
+            SplittableRandom random = master.split();
+            threads.add(Thread.ofPlatform().name("operator-" + i).start(() -> operate(random)));
+        }
+
+        Thread.sleep(warmupSeconds * 1000L);
+        QueryMetrics.getInstance().reset();
+        long measureStart = System.nanoTime();
+        measuring = true;
+        Thread.sleep(durationSeconds * 1000L);
+        measuring = false;
+        long measuredNanos = System.nanoTime() - measureStart;
+        stopped = true;
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        printReport(measuredNanos / 1e9);
+    }
+
+    private void operate(SplittableRandom random) {
+        while (!stopped) {
+            Operation op = pickOperation(random);
+            long began = System.nanoTime();
+            try {
+                boolean performed = perform(op, random);
+                if (measuring) {
+                    if (performed) {
+                        latencies[op.ordinal()].recordNanos(System.nanoTime() - began);
+                    } else {
+                        skipped[op.ordinal()].increment();
+                    }
+                }
+            } catch (Exception e) {
+                if (measuring) {
+                    errors[op.ordinal()].increment();
+                }
+                if (errorReported[op.ordinal()].compareAndSet(false, true)) {
+                    System.err.println(op.label + " failed (further failures are only counted): " + e);
+                }
+            }
+            if (thinkMillis > 0) {
+                try {
+                    // Exponential pauses make operators arrive independently instead of in lockstep
+                    Thread.sleep((long) (-thinkMillis * Math.log(1 - random.nextDouble())));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private Operation pickOperation(SplittableRandom random) {
+        int r = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (r < cumulativeWeights[i]) {
+                return Operation.values()[i];
+            }
+        }
+        throw new IllegalStateException("Unreachable");
+    }
+
+    /**
+     * Run one operation. Returns false when it was skipped because the picked order did not allow it.
+     */
+    private boolean perform(Operation op, SplittableRandom random) throws SQLException {
+        return switch (op) {
+            case CREATE -> legacyCreate ? createOrderLegacy(random) : createOrder(random);
+            case ADD -> addPayment(random);
+            case EDIT -> editPayment(random);
+            case DELETE -> deletePayment(random);
+            case SEARCH -> searchClients(random);
+        };
+    }
+
+    private boolean createOrder(SplittableRandom random) {
+        Client client = new Client();
+        client.setClientId(clientIds[random.nextInt(clientIds.length)]);
+        Shipment shipment = new Shipment();
+        shipment.setShipmentId(shipmentIds[random.nextInt(shipmentIds.length)]);
+        DeliveryOption delivery = null;
+        if (deliveryOptionIds.length > 0 && random.nextInt(4) != 0) {
+            delivery = new DeliveryOption();
+            delivery.setDeliveryOptionId(deliveryOptionIds[random.nextInt(deliveryOptionIds.length)]);
+        }
+        Platform platform = PLATFORMS[random.nextInt(PLATFORMS.length)];
+        int quantity = 1 + random.nextInt(3);
+        String originalText = money(3 + random.nextDouble() * 57);
+        String paymentType = PAYMENT_TYPES[random.nextInt(PAYMENT_TYPES.length)];
+        String depositText = null;
+        if ("Deposit".equals(paymentType)) {
+            double selling = PriceCalculator.calculateTotalSellingPrice(PriceCalculator.parsePrice(originalText), quantity);
+            depositText = money(PriceCalculator.calculateDeposit(selling));
+        }
+        orderSaveHandler.saveNewOrder(client, shipment, delivery,
+                "https://" + platform.name().toLowerCase(Locale.ROOT) + ".com/item/" + random.nextInt(1_000_000),
+                SIZES[random.nextInt(SIZES.length)], quantity, originalText, "", paymentType,
+                platform.getDisplayName(), depositText, "", null, null);
+        return true;
+    }
+
+    /**
+     * The order form's save as it was before orders and their first payment were saved together:
+     * four or more round trips, each on its own connection and transaction.
+     */
+    private boolean createOrderLegacy(SplittableRandom random) throws SQLException {
+        Platform platform = PLATFORMS[random.nextInt(PLATFORMS.length)];
+        Order order = new Order();
+        order.setClientId(clientIds[random.nextInt(clientIds.length)]);
+        order.setShipmentId(shipmentIds[random.nextInt(shipmentIds.length)]);
+        if (deliveryOptionIds.length > 0 && random.nextInt(4) != 0) {
+            order.setDeliveryOptionId(deliveryOptionIds[random.nextInt(deliveryOptionIds.length)]);
+        }
+        order.setProductLink("https://" + platform.name().toLowerCase(Locale.ROOT) + ".com/item/" + random.nextInt(1_000_000));
+        order.setProductSize(SIZES[random.nextInt(SIZES.length)]);
+        order.setQuantity(1 + random.nextInt(3));
+        order.setOriginalPrice(PriceCalculator.parsePrice(money(3 + random.nextDouble() * 57)));
+        order.setSellingPrice(PriceCalculator.calculateTotalSellingPrice(order.getOriginalPrice(), order.getQuantity()));
+        String paymentType = PAYMENT_TYPES[random.nextInt(PAYMENT_TYPES.length)];
+        order.setPaymentType(paymentType);
+        order.setPaymentStatus("Unpaid");
+        order.setPlatform(platform);
+        order.setNotes("");
+
+        int orderId = orderService.addOrder(order);
+        Payment payment = new Payment();
+        payment.setOrderId(orderId);
+        if ("Deposit".equals(paymentType)) {
+            payment.setAmount(PriceCalculator.parsePrice(money(PriceCalculator.calculateDeposit(order.getSellingPrice()))));
+            payment.setPaymentMethod("Deposit");
+            payment.setComment("Initial deposit payment");
+            paymentService.addPayment(payment);
+            orderService.updatePaymentStatus(orderId, "Partial");
+        } else if ("Full".equals(paymentType)) {
+            payment.setAmount(order.getSellingPrice());
+            payment.setPaymentMethod("Full Payment");
+            payment.setComment("Full payment received");
+            paymentService.addPayment(payment);
+            orderService.updatePaymentStatus(orderId, "Paid");
+        }
+        return true;
+    }
+
+    private boolean addPayment(SplittableRandom random) throws SQLException {
+        // What the "add payment" dialog reads before it opens
+        Order order = orderService.getOrderById(randomOrderId(random));
+        if (order == null) {
+            return false;
+        }
+        double totalPaid = paymentService.getTotalPaidForOrder(order.getOrderId());
+        double remaining = PriceCalculator.calculateRemaining(order.getSellingPrice(), totalPaid);
+        if (remaining < 0.01) {
+            return false;
+        }
+        paymentProcessor.processAddPayment(order.getOrderId(), partOf(remaining, random),
+                PAY_METHODS[random.nextInt(PAY_METHODS.length)], "replay", remaining, null, null);
+        return true;
+    }
+
+    private boolean editPayment(SplittableRandom random) throws SQLException {
+        Payment payment = randomPayment(random);
+        if (payment == null) {
+            return false;
+        }
+        // What the "edit payment" dialog reads before it opens
+        Order order = orderService.getOrderById(payment.getOrderId());
+        if (order == null) {
+            return false;
+        }
+        double totalPaid = paymentService.getTotalPaidForOrder(payment.getOrderId());
+        double maxAmount = PriceCalculator.calculateRemaining(order.getSellingPrice(), totalPaid) + payment.getAmount();
+        if (maxAmount < 0.01) {
+            return false;
+        }
+        paymentProcessor.processEditPayment(payment, partOf(maxAmount, random),
+                PAY_METHODS[random.nextInt(PAY_METHODS.length)], "replay edit", maxAmount, null, null);
+        return true;
+    }
+
+    private boolean deletePayment(SplittableRandom random) throws SQLException {
+        Payment payment = randomPayment(random);
+        if (payment == null) {
+            return false;
+        }
+        paymentProcessor.deletePayment(payment);
+        return true;
+    }
+
+    private boolean searchClients(SplittableRandom random) throws SQLException {
+        clientService.searchClients(searchKeywords[random.nextInt(searchKeywords.length)]);
+        return true;
+    }
+
+    /**
+     * One payment of a random order, as listed in the order's payments table.
+     */
+    private Payment randomPayment(SplittableRandom random) throws SQLException {
+        List<Payment> payments = paymentService.getPaymentsByOrder(randomOrderId(random));
+        return payments.isEmpty() ? null : payments.get(random.nextInt(payments.size()));
+    }
+
+    private int randomOrderId(SplittableRandom random) {
+        return minOrderId + random.nextInt(maxOrderId - minOrderId + 1);
+    }
+
+    /**
+     * An amount between 10% and 100% of max, rounded down to the cent, typed the way a desk would.
+     */
+    private static String partOf(double max, SplittableRandom random) {
+        long maxCents = (long) Math.floor(max * 100 + 1e-6);
+        long cents = Math.max(1, Math.min(maxCents, (long) (maxCents * (0.1 + 0.9 * random.nextDouble()))));
+        return String.format(Locale.ROOT, "%d.%02d", cents / 100, cents % 100);
+    }
+
+    private static String money(double amount) {
+        return String.format(Locale.ROOT, "%.2f", amount);
+    }
+
+    private void loadReferenceData() throws SQLException {
+        try (Connection conn = DBConnection.getConnection();
+             Statement st = conn.createStatement()) {
+            try (ResultSet rs = st.executeQuery("SELECT MIN(order_id), MAX(order_id) FROM orders")) {
+                rs.next();
+                minOrderId = rs.getInt(1);
+                maxOrderId = rs.getInt(2);
+            }
+            clientIds = ids(st, "SELECT client_id FROM clients ORDER BY random() LIMIT 5000");
+            shipmentIds = ids(st, "SELECT shipment_id FROM shipments");
+            deliveryOptionIds = ids(st, "SELECT delivery_option_id FROM delivery_options");
+
+            List<String> keywords = new ArrayList<>();
+            try (ResultSet rs = st.executeQuery("SELECT username, phone FROM clients ORDER BY random() LIMIT 300")) {
+                while (rs.next()) {
+                    String username = rs.getString(1);
+                    String phone = rs.getString(2);
+                    int underscore = username.indexOf('_');
+                    // Desks mostly type a first name, sometimes a few phone digits or the whole username
+                    keywords.add(underscore > 0 ? username.substring(0, underscore) : username);
+                    keywords.add(username);
+                    if (phone != null && phone.length() >= 4) {
+                        keywords.add(phone.substring(phone.length() - 4));
+                    }
+                }
+            }
+            searchKeywords = keywords.toArray(new String[0]);
+        }
+        if (maxOrderId <= 0 || clientIds.length == 0 || shipmentIds.length == 0) {
+            throw new IllegalStateException("The database needs clients, shipments and orders; run tools.DatasetGenerator first");
+        }
+    }
+
+    private static int[] ids(Statement st, String sql) throws SQLException {
+        List<Integer> ids = new ArrayList<>();
+        try (ResultSet rs = st.executeQuery(sql)) {
+            while (rs.next()) {
+                ids.add(rs.getInt(1));
+            }
+        }
+        return ids.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private void printReport(double seconds) {
+        System.out.printf(Locale.ROOT, "%nMeasured %.1f s with %d operators%n", seconds, operators);
+        System.out.printf(Locale.ROOT, "%-16s %9s %7s %8s %9s %9s %9s %9s %9s%n",
+                "operation", "count", "errors", "skipped", "ops/s", "mean ms", "p50 ms", "p99 ms", "max ms");
+        long totalCount = 0;
+        for (Operation op : Operation.values()) {
+            LatencyHistogram h = latencies[op.ordinal()];
+            totalCount += h.getCount();
+            System.out.printf(Locale.ROOT, "%-16s %9d %7d %8d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    op.label, h.getCount(), errors[op.ordinal()].sum(), skipped[op.ordinal()].sum(),
+                    h.getCount() / seconds, h.getMeanMicros() / 1000.0, h.getPercentileMicros(50) / 1000.0,
+                    h.getPercentileMicros(99) / 1000.0, h.getMaxMicros() / 1000.0);
+        }
+        System.out.printf(Locale.ROOT, "%-16s %9d %7s %8s %9.1f%n", "total", totalCount, "", "", totalCount / seconds);
+        System.out.println();
+        System.out.println("Connection pool: " + DBConnection.getPoolStats());
+        if (printSql) {
+            System.out.println();
+            System.out.println(QueryMetrics.getInstance().formatReport());
+        }
+    }
+}
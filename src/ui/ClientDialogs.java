@@ -3,11 +3,8 @@ package ui;
 import service.api.IClientService;
 import service.api.IOrderService;
 import service.impl.OrderServiceImpl;
-import service.api.IShipmentService;
-import service.impl.ShipmentServiceImpl;
+import service.ReferenceDataStore;
 import javafx.application.Platform;
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
 import javafx.scene.control.*;
 import javafx.scene.layout.GridPane;
 import model.Client;
@@ -26,14 +23,11 @@ public class ClientDialogs {
 
     private final IClientService clientService;
     private final IOrderService orderService;
-    private final IShipmentService shipmentService;
-    private final ObservableList<Shipment> shipmentData = FXCollections.observableArrayList();
+    private final ReferenceDataStore referenceData = ReferenceDataStore.getInstance();
 
     public ClientDialogs(IClientService clientService) {
         this.clientService = clientService;
         this.orderService = new OrderServiceImpl();
-        this.shipmentService = new ShipmentServiceImpl();
-        loadShipments();
     }
 
     public void showAddClientDialog(Runnable onSuccess, java.util.function.Consumer<String> onError) {
@@ -125,9 +119,9 @@ public class ClientDialogs {
     }
 
     public void showAddOrderDialog(Client client, Runnable onSuccess, java.util.function.Consumer<String> onError) {
-        // Reload shipments every time the dialog is opened to ensure fresh data
-        loadShipments();
-        
+        // The shared shipment list is kept current by the shipment service
+        referenceData.ensureLoaded();
+
         Dialog<Void> dialog = new Dialog<>();
         dialog.setTitle("New Order for " + client.getUsername());
 
@@ -160,7 +154,7 @@ public class ClientDialogs {
         cbPlatform.getItems().addAll(model.Platform.getDisplayNames());
         cbPlatform.setValue("Other");
 
-        ComboBox<Shipment> cbShipment = new ComboBox<>(shipmentData);
+        ComboBox<Shipment> cbShipment = new ComboBox<>(referenceData.shipments().items());
         cbShipment.setPromptText("Select Shipment (REQUIRED)");
         cbShipment.setStyle("-fx-border-color: red; -fx-border-width: 2px;");
 
@@ -292,13 +286,4 @@ public class ClientDialogs {
             if (onError != null) onError.accept("Database error: " + e.getMessage());
         }
     }
-
-    private void loadShipments() {
-        shipmentData.clear();
-        try {
-            shipmentData.addAll(shipmentService.getAllShipments());
-        } catch (SQLException e) {
-            System.err.println("Error loading shipments: " + e.getMessage());
-        }
-    }
 }
@@ -1,8 +1,6 @@
 package ui.dialog.order;
 
 import service.api.IOrderService;
-import service.api.IPaymentService;
-import javafx.collections.ObservableList;
 import javafx.scene.control.*;
 import javafx.scene.layout.GridPane;
 import model.*;
@@ -15,24 +13,17 @@ public class OrderDialogs {
 
     private final OrderSaveHandler saveHandler;
 
-    public OrderDialogs(IOrderService orderService, IPaymentService paymentService) {
-        this.saveHandler = new OrderSaveHandler(orderService, paymentService);
+    public OrderDialogs(IOrderService orderService) {
+        this.saveHandler = new OrderSaveHandler(orderService);
     }
 
-    public void openNewOrderDialog(ObservableList<Client> clients,
-                                    ObservableList<Shipment> shipments,
-                                    ObservableList<DeliveryOption> deliveryOptions,
-                                    OrderSaveHandler.OrderCallback onSuccess,
+    public void openNewOrderDialog(OrderSaveHandler.OrderCallback onSuccess,
                                     OrderSaveHandler.OrderCallback onPaymentCreated) {
-        openOrderFormDialog(null, clients, shipments, deliveryOptions, onSuccess, onPaymentCreated);
+        openOrderFormDialog(null, onSuccess, onPaymentCreated);
     }
 
-    public void openEditOrderDialog(Order order,
-                                     ObservableList<Client> clients,
-                                     ObservableList<Shipment> shipments,
-                                     ObservableList<DeliveryOption> deliveryOptions,
-                                     OrderSaveHandler.OrderCallback onSuccess) {
-        openOrderFormDialog(order, clients, shipments, deliveryOptions, onSuccess, null);
+    public void openEditOrderDialog(Order order, OrderSaveHandler.OrderCallback onSuccess) {
+        openOrderFormDialog(order, onSuccess, null);
     }
 
     public void showClientInfoPopup(Client client) {
@@ -56,9 +47,6 @@ public class OrderDialogs {
     }
 
     private void openOrderFormDialog(Order editingOrder,
-                                      ObservableList<Client> clients,
-                                      ObservableList<Shipment> shipments,
-                                      ObservableList<DeliveryOption> deliveryOptions,
                                       OrderSaveHandler.OrderCallback onSuccess,
                                       OrderSaveHandler.OrderCallback onPaymentCreated) {
         boolean isEditMode = editingOrder != null;
@@ -66,8 +54,7 @@ public class OrderDialogs {
         Dialog<Void> dialog = new Dialog<>();
         dialog.setTitle(isEditMode ? "Edit Order #" + editingOrder.getOrderId() : "New Order");
 
-        OrderFormBuilder.OrderFormComponents components = OrderFormBuilder.buildOrderForm(
-            editingOrder, clients, shipments, deliveryOptions);
+        OrderFormBuilder.OrderFormComponents components = OrderFormBuilder.buildOrderForm(editingOrder);
 
         GridPane form = OrderFormBuilder.layoutOrderForm(components);
 
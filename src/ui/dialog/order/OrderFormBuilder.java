@@ -1,9 +1,9 @@
 package ui.dialog.order;
 
-import javafx.collections.ObservableList;
 import javafx.scene.control.*;
 import javafx.scene.layout.GridPane;
 import model.*;
+import service.ReferenceDataStore;
 import ui.util.DialogUtils;
 import ui.util.PriceCalculator;
 
@@ -25,39 +25,35 @@ public class OrderFormBuilder {
         public Button btnCalculate;
     }
 
-    public static OrderFormComponents buildOrderForm(Order editingOrder,
-                                                      ObservableList<Client> clients,
-                                                      ObservableList<Shipment> shipments,
-                                                      ObservableList<DeliveryOption> deliveryOptions) {
+    /**
+     * Build the form controls. The combo boxes list and look up entries in the shared
+     * {@link ReferenceDataStore}, so a pre-selected value is always one of the listed items.
+     */
+    public static OrderFormComponents buildOrderForm(Order editingOrder) {
         OrderFormComponents components = new OrderFormComponents();
         boolean isEditMode = editingOrder != null;
+        ReferenceDataStore referenceData = ReferenceDataStore.getInstance();
 
-        components.cbClient = new ComboBox<>(clients);
+        components.cbClient = new ComboBox<>(referenceData.clients().items());
         components.cbClient.getStyleClass().add("app-field");
         components.cbClient.setPromptText("Select Client");
         if (isEditMode) {
-            components.cbClient.setValue(clients.stream()
-                .filter(c -> c.getClientId() == editingOrder.getClientId())
-                .findFirst().orElse(null));
+            components.cbClient.setValue(referenceData.clients().get(editingOrder.getClientId()));
         }
 
-        components.cbShipment = new ComboBox<>(shipments);
+        components.cbShipment = new ComboBox<>(referenceData.shipments().items());
         components.cbShipment.getStyleClass().add("app-field");
         components.cbShipment.setPromptText("Select Shipment (REQUIRED)");
         components.cbShipment.setStyle("-fx-border-color: red; -fx-border-width: 2px;");
         if (isEditMode && editingOrder.getShipmentId() != null) {
-            components.cbShipment.setValue(shipments.stream()
-                .filter(s -> s.getShipmentId() == editingOrder.getShipmentId())
-                .findFirst().orElse(null));
+            components.cbShipment.setValue(referenceData.shipments().get(editingOrder.getShipmentId()));
         }
 
-        components.cbDelivery = new ComboBox<>(deliveryOptions);
+        components.cbDelivery = new ComboBox<>(referenceData.deliveryOptions().items());
         components.cbDelivery.getStyleClass().add("app-field");
         components.cbDelivery.setPromptText("Delivery option (optional)");
         if (isEditMode && editingOrder.getDeliveryOptionId() != null) {
-            components.cbDelivery.setValue(deliveryOptions.stream()
-                .filter(d -> d.getDeliveryOptionId() == editingOrder.getDeliveryOptionId())
-                .findFirst().orElse(null));
+            components.cbDelivery.setValue(referenceData.deliveryOptions().get(editingOrder.getDeliveryOptionId()));
         }
 
         components.txtProduct = DialogUtils.createStyledTextField("Product link");
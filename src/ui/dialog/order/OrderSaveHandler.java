@@ -1,7 +1,6 @@
 package ui.dialog.order;
 
 import service.api.IOrderService;
-import service.api.IPaymentService;
 import model.*;
 import ui.util.DialogUtils;
 import ui.util.PriceCalculator;
@@ -15,15 +14,13 @@ import java.sql.SQLException;
 public class OrderSaveHandler {
 
     private final IOrderService orderService;
-    private final IPaymentService paymentService;
 
     public interface OrderCallback {
         void onComplete();
     }
 
-    public OrderSaveHandler(IOrderService orderService, IPaymentService paymentService) {
+    public OrderSaveHandler(IOrderService orderService) {
         this.orderService = orderService;
-        this.paymentService = paymentService;
     }
 
     public void saveEditOrder(Order order, Client client, Shipment shipment, DeliveryOption delivery,
@@ -116,21 +113,20 @@ public class OrderSaveHandler {
             order.setPlatform(Platform.fromString(platform));
             order.setNotes(notes);
 
-            int newOrderId = orderService.addOrder(order);
-
+            Payment initialPayment = null;
             if ("Deposit".equals(paymentType) && depositText != null && !depositText.trim().isEmpty()) {
                 double depositAmount = PriceCalculator.parsePriceOrDefault(depositText, 0);
                 if (depositAmount > 0) {
-                    createPayment(newOrderId, depositAmount, "Deposit", "Initial deposit payment");
-                    orderService.updatePaymentStatus(newOrderId, "Partial");
-                    if (onPaymentCreated != null) onPaymentCreated.onComplete();
+                    initialPayment = createPayment(depositAmount, "Deposit", "Initial deposit payment");
                 }
             } else if ("Full".equals(paymentType) && sellingPrice > 0) {
-                createPayment(newOrderId, sellingPrice, "Full Payment", "Full payment received");
-                orderService.updatePaymentStatus(newOrderId, "Paid");
-                if (onPaymentCreated != null) onPaymentCreated.onComplete();
+                initialPayment = createPayment(sellingPrice, "Full Payment", "Full payment received");
             }
 
+            // Order, payment and status are saved together, so an order never lacks its deposit
+            orderService.createOrderWithInitialPayment(order, initialPayment);
+
+            if (initialPayment != null && onPaymentCreated != null) onPaymentCreated.onComplete();
             if (onSuccess != null) onSuccess.onComplete();
 
         } catch (NumberFormatException ex) {
@@ -140,12 +136,11 @@ public class OrderSaveHandler {
         }
     }
 
-    private void createPayment(int orderId, double amount, String method, String comment) throws SQLException {
+    private Payment createPayment(double amount, String method, String comment) {
         Payment payment = new Payment();
-        payment.setOrderId(orderId);
         payment.setAmount(amount);
         payment.setPaymentMethod(method);
         payment.setComment(comment);
-        paymentService.addPayment(payment);
+        return payment;
     }
 }
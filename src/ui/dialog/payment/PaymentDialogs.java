@@ -54,7 +54,7 @@ public class PaymentDialogs {
         final double maxAmount = remaining;
         dialog.setResultConverter(bt -> {
             if (bt == ButtonType.OK) {
-                processor.processAddPayment(order.getOrderId(), order.getSellingPrice(), components.txtAmount.getText(),
+                processor.processAddPayment(order.getOrderId(), components.txtAmount.getText(),
                     components.cbMethod.getValue(), components.txtComment.getText(), maxAmount, onSuccess, onOrderUpdate);
             }
             return null;
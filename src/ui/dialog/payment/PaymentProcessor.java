@@ -55,19 +55,13 @@ public class PaymentProcessor {
         return payment;
     }
 
-    public void updateOrderPaymentStatus(int orderId, double sellingPrice) throws SQLException {
-        double totalPaid = paymentService.getTotalPaidForOrder(orderId);
-        String newStatus = PriceCalculator.determinePaymentStatus(sellingPrice, totalPaid);
-        orderService.updatePaymentStatus(orderId, newStatus);
-    }
-
     public void executeCallbacks(PaymentCallback... callbacks) {
         for (PaymentCallback callback : callbacks) {
             if (callback != null) callback.onComplete();
         }
     }
 
-    public void processAddPayment(int orderId, double sellingPrice, String amountText,
+    public void processAddPayment(int orderId, String amountText,
                                   String method, String comment, double maxAmount,
                                   PaymentCallback onSuccess, PaymentCallback onOrderUpdate) {
         try {
@@ -76,7 +70,6 @@ public class PaymentProcessor {
 
             Payment payment = createPayment(orderId, amount, method, comment);
             paymentService.addPayment(payment);
-            updateOrderPaymentStatus(orderId, sellingPrice);
 
             executeCallbacks(onSuccess, onOrderUpdate);
 
@@ -111,7 +104,7 @@ public class PaymentProcessor {
                 return;
             }
 
-            processAddPayment(orderId, order.getSellingPrice(), amountText, method, comment,
+            processAddPayment(orderId, amountText, method, comment,
                 remaining, onSuccess, onOrderUpdate);
 
         } catch (NumberFormatException ex) {
@@ -134,11 +127,6 @@ public class PaymentProcessor {
 
             paymentService.updatePayment(payment);
 
-            Order order = orderService.getOrderById(payment.getOrderId());
-            if (order != null) {
-                updateOrderPaymentStatus(payment.getOrderId(), order.getSellingPrice());
-            }
-
             executeCallbacks(onSuccess, onOrderUpdate);
 
         } catch (NumberFormatException ex) {
@@ -152,15 +140,7 @@ public class PaymentProcessor {
                                      PaymentCallback onOrderUpdate) {
         if (DialogUtils.showConfirmation("Delete selected payment?")) {
             try {
-                paymentService.deletePayment(payment.getPaymentId(), payment.getOrderId());
-
-                Order order = orderService.getOrderById(payment.getOrderId());
-                if (order != null) {
-                    double totalPaid = paymentService.getTotalPaidForOrder(payment.getOrderId());
-                    String newStatus = PriceCalculator.determinePaymentStatus(order.getSellingPrice(), totalPaid);
-                    orderService.updatePaymentStatus(payment.getOrderId(), newStatus);
-                }
-
+                deletePayment(payment);
                 executeCallbacks(onSuccess, onOrderUpdate);
 
             } catch (SQLException ex) {
@@ -168,4 +148,11 @@ public class PaymentProcessor {
             }
         }
     }
+
+    /**
+     * Delete a payment and recompute its order's payment status, without asking for confirmation.
+     */
+    public void deletePayment(Payment payment) throws SQLException {
+        paymentService.deletePayment(payment.getPaymentId(), payment.getOrderId());
+    }
 }
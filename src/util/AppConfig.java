@@ -0,0 +1,87 @@
+package util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Properties;
+
+/**
+ * Read-only technical configuration (connection pool, caches, background jobs).
+ * Values come from app.properties in the working directory and can be
+ * overridden with -Dkey=value. Business settings stay in SettingsManager.
+ */
+public class AppConfig {
+
+    private static final String CONFIG_FILE = "app.properties";
+    private static volatile Properties properties;
+
+    private AppConfig() {
+        // Utility class - prevent instantiation
+    }
+
+    private static Properties load() {
+        Properties props = properties;
+        if (props != null) {
+            return props;
+        }
+        synchronized (AppConfig.class) {
+            if (properties == null) {
+                Properties loaded = new Properties();
+                Path path = Paths.get(CONFIG_FILE);
+                if (Files.exists(path)) {
+                    try (InputStream input = Files.newInputStream(path)) {
+                        loaded.load(input);
+                    } catch (IOException e) {
+                        System.err.println("Error loading " + CONFIG_FILE + ": " + e.getMessage());
+                    }
+                }
+                properties = loaded;
+            }
+            return properties;
+        }
+    }
+
+    public static String getString(String key, String defaultValue) {
+        String value = System.getProperty(key);
+        if (value == null) {
+            value = load().getProperty(key);
+        }
+        return value != null ? value.trim() : defaultValue;
+    }
+
+    public static int getInt(String key, int defaultValue) {
+        String value = getString(key, null);
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid integer for " + key + ": " + value);
+            return defaultValue;
+        }
+    }
+
+    public static long getLong(String key, long defaultValue) {
+        String value = getString(key, null);
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid number for " + key + ": " + value);
+            return defaultValue;
+        }
+    }
+
+    public static boolean getBoolean(String key, boolean defaultValue) {
+        String value = getString(key, null);
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        return Boolean.parseBoolean(value);
+    }
+}
@@ -0,0 +1,592 @@
+package util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded JDBC connection pool.
+ * Callers get a proxy whose close() hands the physical connection back to the pool,
+ * so the DAOs keep their try-with-resources pattern unchanged.
+ * Statements created through the proxy are timed per SQL text into QueryMetrics.
+ */
+public class ConnectionPool {
+
+    /**
+     * Pool sizing and timeouts. Defaults are overridden by db.pool.* keys in app.properties.
+     */
+    public static class Config {
+        private int minSize = 2;
+        private int maxSize = 10;
+        private long idleTimeoutMs = 10 * 60 * 1000L;
+        private long maxLifetimeMs = 30 * 60 * 1000L;
+        private long acquireTimeoutMs = 10 * 1000L;
+        private long validationIntervalMs = 5 * 1000L;
+        private String validationQuery = "";
+
+        public static Config fromAppConfig() {
+            Config config = new Config();
+            config.setMinSize(AppConfig.getInt("db.pool.minSize", config.minSize));
+            config.setMaxSize(AppConfig.getInt("db.pool.maxSize", config.maxSize));
+            config.setIdleTimeoutMs(AppConfig.getLong("db.pool.idleTimeoutMs", config.idleTimeoutMs));
+            config.setMaxLifetimeMs(AppConfig.getLong("db.pool.maxLifetimeMs", config.maxLifetimeMs));
+            config.setAcquireTimeoutMs(AppConfig.getLong("db.pool.acquireTimeoutMs", config.acquireTimeoutMs));
+            config.setValidationIntervalMs(AppConfig.getLong("db.pool.validationIntervalMs", config.validationIntervalMs));
+            config.setValidationQuery(AppConfig.getString("db.pool.validationQuery", config.validationQuery));
+            return config;
+        }
+
+        public int getMinSize() { return minSize; }
+        public void setMinSize(int minSize) { this.minSize = minSize; }
+
+        public int getMaxSize() { return maxSize; }
+        public void setMaxSize(int maxSize) { this.maxSize = maxSize; }
+
+        public long getIdleTimeoutMs() { return idleTimeoutMs; }
+        public void setIdleTimeoutMs(long idleTimeoutMs) { this.idleTimeoutMs = idleTimeoutMs; }
+
+        public long getMaxLifetimeMs() { return maxLifetimeMs; }
+        public void setMaxLifetimeMs(long maxLifetimeMs) { this.maxLifetimeMs = maxLifetimeMs; }
+
+        public long getAcquireTimeoutMs() { return acquireTimeoutMs; }
+        public void setAcquireTimeoutMs(long acquireTimeoutMs) { this.acquireTimeoutMs = acquireTimeoutMs; }
+
+        public long getValidationIntervalMs() { return validationIntervalMs; }
+        public void setValidationIntervalMs(long validationIntervalMs) { this.validationIntervalMs = validationIntervalMs; }
+
+        public String getValidationQuery() { return validationQuery; }
+        public void setValidationQuery(String validationQuery) { this.validationQuery = validationQuery; }
+
+        private void validate() {
+            if (maxSize <= 0) {
+                throw new IllegalArgumentException("db.pool.maxSize must be positive");
+            }
+            if (minSize < 0 || minSize > maxSize) {
+                throw new IllegalArgumentException("db.pool.minSize must be between 0 and db.pool.maxSize");
+            }
+            if (acquireTimeoutMs <= 0) {
+                throw new IllegalArgumentException("db.pool.acquireTimeoutMs must be positive");
+            }
+        }
+    }
+
+    /**
+     * Point-in-time view of the pool, for the Logs tab and diagnostics.
+     */
+    public static class Stats {
+        private final int active;
+        private final int idle;
+        private final int total;
+        private final int waiters;
+        private final int maxSize;
+        private final long acquireCount;
+        private final long acquireTimeouts;
+        private final double avgAcquireMillis;
+        private final double maxAcquireMillis;
+        private final long connectionsCreated;
+        private final long connectionsClosed;
+
+        Stats(int active, int idle, int total, int waiters, int maxSize, long acquireCount, long acquireTimeouts,
+              double avgAcquireMillis, double maxAcquireMillis, long connectionsCreated, long connectionsClosed) {
+            this.active = active;
+            this.idle = idle;
+            this.total = total;
+            this.waiters = waiters;
+            this.maxSize = maxSize;
+            this.acquireCount = acquireCount;
+            this.acquireTimeouts = acquireTimeouts;
+            this.avgAcquireMillis = avgAcquireMillis;
+            this.maxAcquireMillis = maxAcquireMillis;
+            this.connectionsCreated = connectionsCreated;
+            this.connectionsClosed = connectionsClosed;
+        }
+
+        public int getActive() { return active; }
+        public int getIdle() { return idle; }
+        public int getTotal() { return total; }
+        public int getWaiters() { return waiters; }
+        public int getMaxSize() { return maxSize; }
+        public long getAcquireCount() { return acquireCount; }
+        public long getAcquireTimeouts() { return acquireTimeouts; }
+        public double getAvgAcquireMillis() { return avgAcquireMillis; }
+        public double getMaxAcquireMillis() { return maxAcquireMillis; }
+        public long getConnectionsCreated() { return connectionsCreated; }
+        public long getConnectionsClosed() { return connectionsClosed; }
+
+        @Override
+        public String toString() {
+            return String.format("Pool{active=%d, idle=%d, total=%d/%d, waiters=%d, acquires=%d, timeouts=%d, " +
+                            "avgAcquire=%.3fms, maxAcquire=%.3fms, created=%d, closed=%d}",
+                    active, idle, total, maxSize, waiters, acquireCount, acquireTimeouts,
+                    avgAcquireMillis, maxAcquireMillis, connectionsCreated, connectionsClosed);
+        }
+    }
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final Config config;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+    private final Deque<PooledConnection> idle = new ArrayDeque<>();
+    private int total;
+    private int waiters;
+    private boolean closed;
+
+    private final AtomicInteger active = new AtomicInteger();
+    private final LongAdder acquireCount = new LongAdder();
+    private final LongAdder acquireNanos = new LongAdder();
+    private final AtomicLong maxAcquireNanos = new AtomicLong();
+    private final LongAdder acquireTimeouts = new LongAdder();
+    private final LongAdder created = new LongAdder();
+    private final LongAdder destroyed = new LongAdder();
+    private final QueryMetrics metrics = QueryMetrics.getInstance();
+
+    private final ScheduledExecutorService housekeeper;
+
+    public ConnectionPool(String url, String user, String password, Config config) {
+        config.validate();
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.config = config;
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "db-pool-housekeeper");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = Math.max(1000L, Math.min(config.getIdleTimeoutMs() / 2, 30_000L));
+        housekeeper.scheduleWithFixedDelay(this::housekeep, 0, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Borrow a connection, waiting up to the acquire timeout when the pool is exhausted.
+     */
+    public Connection getConnection() throws SQLException {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(config.getAcquireTimeoutMs());
+
+        PooledConnection pooled = null;
+        while (pooled == null) {
+            boolean createNew = false;
+            lock.lock();
+            try {
+                while (true) {
+                    if (closed) {
+                        throw new SQLException("Connection pool is closed");
+                    }
+                    pooled = idle.pollFirst();
+                    if (pooled != null) {
+                        break;
+                    }
+                    if (total < config.getMaxSize()) {
+                        total++;
+                        createNew = true;
+                        break;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        acquireTimeouts.increment();
+                        throw new SQLTimeoutException("Timed out after " + config.getAcquireTimeoutMs()
+                                + " ms waiting for a database connection (active=" + active.get()
+                                + ", max=" + config.getMaxSize() + ")");
+                    }
+                    waiters++;
+                    try {
+                        available.awaitNanos(remaining);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new SQLException("Interrupted while waiting for a database connection", e);
+                    } finally {
+                        waiters--;
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            if (createNew) {
+                pooled = openPhysical();
+            } else if (!isUsable(pooled)) {
+                destroy(pooled);
+                pooled = null;
+            }
+        }
+
+        active.incrementAndGet();
+        recordAcquire(System.nanoTime() - start);
+        return pooled.borrow();
+    }
+
+    public Stats getStats() {
+        int idleCount;
+        int totalCount;
+        int waiting;
+        lock.lock();
+        try {
+            idleCount = idle.size();
+            totalCount = total;
+            waiting = waiters;
+        } finally {
+            lock.unlock();
+        }
+        long count = acquireCount.sum();
+        double avgMillis = count == 0 ? 0.0 : acquireNanos.sum() / (double) count / 1_000_000.0;
+        return new Stats(active.get(), idleCount, totalCount, waiting, config.getMaxSize(), count,
+                acquireTimeouts.sum(), avgMillis, maxAcquireNanos.get() / 1_000_000.0,
+                created.sum(), destroyed.sum());
+    }
+
+    public Config getConfig() {
+        return config;
+    }
+
+    /**
+     * Close idle connections and reject further borrows. Borrowed connections are
+     * closed as they are returned.
+     */
+    public void close() {
+        List<PooledConnection> toClose;
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            toClose = new ArrayList<>(idle);
+            total -= idle.size();
+            idle.clear();
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        housekeeper.shutdownNow();
+        for (PooledConnection pooled : toClose) {
+            closePhysical(pooled);
+        }
+    }
+
+    private PooledConnection openPhysical() throws SQLException {
+        try {
+            Connection physical = DriverManager.getConnection(url, user, password);
+            created.increment();
+            return new PooledConnection(physical);
+        } catch (SQLException | RuntimeException e) {
+            lock.lock();
+            try {
+                total--;
+                available.signal();
+            } finally {
+                lock.unlock();
+            }
+            throw e;
+        }
+    }
+
+    private boolean isUsable(PooledConnection pooled) {
+        long now = System.nanoTime();
+        if (pooled.isExpired(now)) {
+            return false;
+        }
+        if (now - pooled.lastUsedNanos < TimeUnit.MILLISECONDS.toNanos(config.getValidationIntervalMs())) {
+            return true;
+        }
+        try {
+            String query = config.getValidationQuery();
+            if (query == null || query.isEmpty()) {
+                return pooled.physical.isValid(5);
+            }
+            try (Statement st = pooled.physical.createStatement()) {
+                st.setQueryTimeout(5);
+                st.execute(query);
+                return true;
+            }
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void release(PooledConnection pooled) {
+        active.decrementAndGet();
+        if (pooled.broken || pooled.isExpired(System.nanoTime()) || !resetState(pooled)) {
+            destroy(pooled);
+            return;
+        }
+        pooled.lastUsedNanos = System.nanoTime();
+        lock.lock();
+        try {
+            if (!closed) {
+                idle.addFirst(pooled);
+                available.signal();
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+        destroy(pooled);
+    }
+
+    private boolean resetState(PooledConnection pooled) {
+        try {
+            if (pooled.physical.isClosed()) {
+                return false;
+            }
+            if (!pooled.physical.getAutoCommit()) {
+                pooled.physical.rollback();
+                pooled.physical.setAutoCommit(true);
+            }
+            pooled.physical.clearWarnings();
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void destroy(PooledConnection pooled) {
+        closePhysical(pooled);
+        lock.lock();
+        try {
+            total--;
+            available.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void closePhysical(PooledConnection pooled) {
+        destroyed.increment();
+        try {
+            pooled.physical.close();
+        } catch (SQLException ignored) {
+            // Connection is being discarded anyway
+        }
+    }
+
+    private void recordAcquire(long nanos) {
+        acquireCount.increment();
+        acquireNanos.add(nanos);
+        long max;
+        while (nanos > (max = maxAcquireNanos.get())) {
+            if (maxAcquireNanos.compareAndSet(max, nanos)) {
+                break;
+            }
+        }
+    }
+
+    private void housekeep() {
+        List<PooledConnection> evicted = new ArrayList<>();
+        int missing;
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            long now = System.nanoTime();
+            long idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(config.getIdleTimeoutMs());
+            // Oldest idle connections sit at the tail of the deque
+            Iterator<PooledConnection> it = idle.descendingIterator();
+            while (it.hasNext()) {
+                PooledConnection pooled = it.next();
+                boolean idleTooLong = now - pooled.lastUsedNanos > idleTimeoutNanos && total > config.getMinSize();
+                if (idleTooLong || pooled.isExpired(now)) {
+                    it.remove();
+                    total--;
+                    evicted.add(pooled);
+                }
+            }
+            missing = Math.max(0, config.getMinSize() - total);
+            total += missing;
+        } finally {
+            lock.unlock();
+        }
+
+        for (PooledConnection pooled : evicted) {
+            closePhysical(pooled);
+        }
+        for (int i = 0; i < missing; i++) {
+            try {
+                PooledConnection pooled = openPhysical();
+                lock.lock();
+                try {
+                    if (closed) {
+                        total--;
+                        closePhysical(pooled);
+                    } else {
+                        idle.addLast(pooled);
+                        available.signal();
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            } catch (SQLException | RuntimeException e) {
+                // openPhysical already released this slot; release the rest and retry on the next run
+                lock.lock();
+                try {
+                    total -= missing - i - 1;
+                    available.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+                break;
+            }
+        }
+    }
+
+    private final class PooledConnection {
+        private final Connection physical;
+        private final long createdNanos;
+        private volatile long lastUsedNanos;
+        private volatile boolean broken;
+
+        PooledConnection(Connection physical) {
+            this.physical = physical;
+            this.createdNanos = System.nanoTime();
+            this.lastUsedNanos = createdNanos;
+        }
+
+        boolean isExpired(long now) {
+            long lifetime = config.getMaxLifetimeMs();
+            return lifetime > 0 && now - createdNanos > TimeUnit.MILLISECONDS.toNanos(lifetime);
+        }
+
+        /**
+         * SQLSTATE class 08 = connection exception; never hand this connection out again.
+         */
+        void noteFailure(Throwable failure) {
+            if (failure instanceof SQLException) {
+                String state = ((SQLException) failure).getSQLState();
+                if (state != null && state.startsWith("08")) {
+                    broken = true;
+                }
+            }
+        }
+
+        /**
+         * @param type Statement, PreparedStatement or CallableStatement, as returned by the connection method
+         */
+        Statement watch(Statement statement, Class<?> type, Connection connection) {
+            return (Statement) Proxy.newProxyInstance(
+                    Statement.class.getClassLoader(),
+                    new Class<?>[]{type},
+                    new StatementWatch(statement, connection, this));
+        }
+
+        Connection borrow() {
+            return (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    new Handle(this));
+        }
+    }
+
+    /**
+     * One handle per borrow, so a stale reference cannot touch the next borrower's session.
+     */
+    private final class Handle implements InvocationHandler {
+        private final PooledConnection pooled;
+        private volatile boolean closed;
+
+        Handle(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        release(pooled);
+                    }
+                    return null;
+                case "isClosed":
+                    return closed || pooled.physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + pooled.physical + "]";
+                default:
+                    break;
+            }
+            if (closed) {
+                throw new SQLException("Connection is closed");
+            }
+            try {
+                Object result = method.invoke(pooled.physical, args);
+                if (result instanceof Statement) {
+                    Statement statement = (Statement) result;
+                    if (metrics.isEnabled()) {
+                        // prepareStatement/prepareCall take the SQL first; createStatement has none
+                        String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : null;
+                        statement = MeteredStatement.wrap(statement, method.getReturnType(), (Connection) proxy, metrics, sql);
+                    }
+                    return pooled.watch(statement, method.getReturnType(), (Connection) proxy);
+                }
+                return result;
+            } catch (InvocationTargetException e) {
+                pooled.noteFailure(e.getCause());
+                throw e.getCause();
+            }
+        }
+    }
+
+    /**
+     * Passes statement calls through, marking the connection broken when one fails with a
+     * connection error (a socket drop usually surfaces from execute, not from the Connection).
+     * Result sets are not wrapped: the driver reads them during execute unless a fetch size
+     * is set, and then the rollback on return fails and discards the connection anyway.
+     */
+    private static final class StatementWatch implements InvocationHandler {
+        private final Statement target;
+        private final Connection connection;
+        private final PooledConnection pooled;
+
+        StatementWatch(Statement target, Connection connection, PooledConnection pooled) {
+            this.target = target;
+            this.connection = connection;
+            this.pooled = pooled;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "getConnection":
+                    return connection;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                pooled.noteFailure(e.getCause());
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -1,20 +1,32 @@
 package util;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.time.Duration;
 
-public class CurrencyRateFetcher {
+public class CurrencyRateFetcher implements RateProvider {
+
+    private static final String DEFAULT_BASE_URL = "https://api.exchangerate-api.com/v4/latest/";
 
     private final HttpClient httpClient;
+    private final String baseUrl;
 
-    public CurrencyRateFetcher(Duration timeout) {
+    /**
+     * @param baseUrl URL the base currency code is appended to, e.g. https://api.exchangerate-api.com/v4/latest/
+     */
+    public CurrencyRateFetcher(Duration timeout, String baseUrl) {
         this.httpClient = HttpClient.newBuilder()
                 .connectTimeout(timeout)
                 .build();
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl : baseUrl + "/";
+    }
+
+    public CurrencyRateFetcher(Duration timeout) {
+        this(timeout, AppConfig.getString("currency.api.baseUrl", DEFAULT_BASE_URL));
     }
 
     public CurrencyRateFetcher() {
@@ -22,7 +34,20 @@ public class CurrencyRateFetcher {
     }
 
     public double fetchLatestRate(String baseCurrency, String targetCurrency) throws IOException {
-        String url = String.format("https://api.exchangerate-api.com/v4/latest/%s", baseCurrency);
+        double rate = fetchAllRates(baseCurrency).get(targetCurrency);
+        if (Double.isNaN(rate)) {
+            throw new IOException("Rate for " + targetCurrency + " not found in response");
+        }
+        return rate;
+    }
+
+    /**
+     * Download the rate of every currency against the base in one request.
+     * The body is parsed as it streams in rather than buffered as a String.
+     */
+    @Override
+    public ExchangeRates fetchAllRates(String baseCurrency) throws IOException {
+        String url = baseUrl + baseCurrency;
         HttpRequest request = HttpRequest.newBuilder()
                 .uri(URI.create(url))
                 .GET()
@@ -30,39 +55,16 @@ public class CurrencyRateFetcher {
                 .build();
 
         try {
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-            if (response.statusCode() != 200) {
-                throw new IOException("Unexpected HTTP status: " + response.statusCode());
+            HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            try (InputStream body = response.body()) {
+                if (response.statusCode() != 200) {
+                    throw new IOException("Unexpected HTTP status: " + response.statusCode());
+                }
+                return ExchangeRateParser.parse(body, baseCurrency);
             }
-            return parseRateFromBody(response.body(), targetCurrency);
         } catch (InterruptedException ie) {
             Thread.currentThread().interrupt();
             throw new IOException("Request interrupted", ie);
         }
     }
-
-    private double parseRateFromBody(String body, String targetCurrency) throws IOException {
-        String marker = "\"" + targetCurrency + "\"";
-        int idx = body.indexOf(marker);
-        if (idx == -1) {
-            throw new IOException("Rate for " + targetCurrency + " not found in response");
-        }
-        int colon = body.indexOf(':', idx);
-        if (colon == -1) {
-            throw new IOException("Malformed response: missing colon for rate");
-        }
-        int end = body.indexOf(',', colon);
-        if (end == -1) {
-            end = body.indexOf('}', colon);
-        }
-        if (end == -1) {
-            throw new IOException("Malformed response: missing terminator for rate value");
-        }
-        String number = body.substring(colon + 1, end).trim();
-        try {
-            return Double.parseDouble(number);
-        } catch (NumberFormatException nfe) {
-            throw new IOException("Unable to parse rate value: " + number, nfe);
-        }
-    }
 }
@@ -1,7 +1,6 @@
 package util;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 
 public class DBConnection {
@@ -9,7 +8,44 @@ public class DBConnection {
     private static final String USER = "postgres";
     private static final String PASSWORD = "aziz";
 
+    private static volatile ConnectionPool pool;
+
+    /**
+     * Borrow a pooled connection. Closing it returns it to the pool.
+     */
     public static Connection getConnection() throws SQLException {
-        return DriverManager.getConnection(URL, USER, PASSWORD);
+        return getPool().getConnection();
+    }
+
+    public static ConnectionPool getPool() {
+        ConnectionPool current = pool;
+        if (current == null) {
+            synchronized (DBConnection.class) {
+                current = pool;
+                if (current == null) {
+                    current = new ConnectionPool(
+                            AppConfig.getString("db.url", URL),
+                            AppConfig.getString("db.user", USER),
+                            AppConfig.getString("db.password", PASSWORD),
+                            ConnectionPool.Config.fromAppConfig());
+                    pool = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    public static ConnectionPool.Stats getPoolStats() {
+        return getPool().getStats();
+    }
+
+    /**
+     * Close the pool on application exit.
+     */
+    public static synchronized void shutdown() {
+        if (pool != null) {
+            pool.close();
+            pool = null;
+        }
     }
 }
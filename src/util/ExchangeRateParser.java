@@ -0,0 +1,393 @@
+package util;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Streaming reader for the exchange-rate API response:
+ * {"base":"EUR", ..., "rates":{"EUR":1,"TND":3.41,...}}.
+ *
+ * Only the top-level "rates" object is read; every other value is skipped without
+ * being decoded. Bytes are consumed straight from the stream into a fixed buffer and
+ * numbers are parsed in place, so a response costs no per-currency String or boxing.
+ * Not thread-safe; use one parser per response.
+ */
+public class ExchangeRateParser {
+
+    private static final byte[] RATES_KEY = {'r', 'a', 't', 'e', 's'};
+    // Powers of ten that are exact doubles; m * 10^e is correctly rounded for m < 2^53
+    private static final double[] POW10 = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+    private static final int MAX_MANTISSA_DIGITS = 18;
+
+    private final InputStream in;
+    private final byte[] buffer;
+    private int pos;
+    private int limit;
+    private long consumed;
+
+    // Number text, kept only for the slow path
+    private char[] numberChars = new char[32];
+    private int numberLength;
+
+    public ExchangeRateParser(InputStream in) {
+        this(in, 8192);
+    }
+
+    public ExchangeRateParser(InputStream in, int bufferSize) {
+        this.in = in;
+        this.buffer = new byte[bufferSize];
+    }
+
+    /**
+     * Read the whole response and return its rates.
+     * @throws IOException if the stream fails, the JSON is malformed or has no "rates" object
+     */
+    public static ExchangeRates parse(InputStream in, String baseCurrency) throws IOException {
+        return new ExchangeRateParser(in).parse(baseCurrency);
+    }
+
+    public ExchangeRates parse(String baseCurrency) throws IOException {
+        IntDoubleMap rates = null;
+        expect('{');
+        int c = nextNonSpace();
+        if (c != '}') {
+            while (true) {
+                if (c != '"') {
+                    throw malformed("expected a key");
+                }
+                boolean isRates = readKeyMatches(RATES_KEY);
+                expect(':');
+                if (isRates) {
+                    rates = readRates();
+                } else {
+                    skipValue(nextNonSpace());
+                }
+                c = nextNonSpace();
+                if (c == '}') {
+                    break;
+                }
+                if (c != ',') {
+                    throw malformed("expected ',' or '}'");
+                }
+                c = nextNonSpace();
+            }
+        }
+        if (rates == null) {
+            throw new IOException("Malformed response: missing rates");
+        }
+        return new ExchangeRates(baseCurrency, rates);
+    }
+
+    private IntDoubleMap readRates() throws IOException {
+        IntDoubleMap rates = new IntDoubleMap(256);
+        expect('{');
+        int c = nextNonSpace();
+        if (c == '}') {
+            return rates;
+        }
+        while (true) {
+            if (c != '"') {
+                throw malformed("expected a currency code");
+            }
+            int code = readCurrencyCode();
+            expect(':');
+            c = nextNonSpace();
+            if (c == '-' || (c >= '0' && c <= '9')) {
+                double rate = readNumber(c);
+                if (code != 0) {
+                    rates.put(code, rate);
+                }
+            } else {
+                skipValue(c);
+            }
+            c = nextNonSpace();
+            if (c == '}') {
+                return rates;
+            }
+            if (c != ',') {
+                throw malformed("expected ',' or '}' in rates");
+            }
+            c = nextNonSpace();
+        }
+    }
+
+    /**
+     * Read a key whose opening quote was consumed and report whether it equals the expected bytes.
+     */
+    private boolean readKeyMatches(byte[] expected) throws IOException {
+        int i = 0;
+        boolean matches = true;
+        while (true) {
+            int c = next();
+            if (c == '"') {
+                return matches && i == expected.length;
+            }
+            if (c == '\\') {
+                c = readEscape();
+            }
+            if (i >= expected.length || c != expected[i]) {
+                matches = false;
+            }
+            i++;
+        }
+    }
+
+    /**
+     * Read a key whose opening quote was consumed as a packed currency code.
+     * @return the packed code, or 0 if the key is not one to three letters
+     */
+    private int readCurrencyCode() throws IOException {
+        int packed = 0;
+        int length = 0;
+        boolean valid = true;
+        while (true) {
+            int c = next();
+            if (c == '"') {
+                return valid && length > 0 ? packed : 0;
+            }
+            if (c == '\\') {
+                c = readEscape();
+            }
+            if (valid) {
+                int letter = ExchangeRates.packLetter(c);
+                if (letter == 0 || ++length > 3) {
+                    valid = false;
+                } else {
+                    packed = (packed << 8) | letter;
+                }
+            }
+        }
+    }
+
+    /**
+     * Decode an escape sequence in a key, after its backslash. A unicode escape yields one UTF-16 unit.
+     */
+    private int readEscape() throws IOException {
+        int c = next();
+        switch (c) {
+            case '"', '\\', '/':
+                return c;
+            case 'b':
+                return '\b';
+            case 'f':
+                return '\f';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 't':
+                return '\t';
+            case 'u':
+                int unit = 0;
+                for (int i = 0; i < 4; i++) {
+                    int digit = Character.digit(next(), 16);
+                    if (digit < 0) {
+                        throw malformed("invalid \\u escape");
+                    }
+                    unit = (unit << 4) | digit;
+                }
+                return unit;
+            default:
+                throw malformed("invalid escape");
+        }
+    }
+
+    /**
+     * Parse a JSON number whose first character is c. The common case (at most 18
+     * significant digits, small exponent) is computed exactly from a long mantissa;
+     * anything else falls back to Double.parseDouble.
+     */
+    private double readNumber(int c) throws IOException {
+        numberLength = 0;
+        boolean negative = false;
+        long mantissa = 0;
+        int digits = 0;
+        int exponent = 0;
+        boolean exact = true;
+
+        if (c == '-') {
+            negative = true;
+            appendNumberChar(c);
+            c = next();
+        }
+        if (c < '0' || c > '9') {
+            throw malformed("expected a digit");
+        }
+        while (c >= '0' && c <= '9') {
+            appendNumberChar(c);
+            if (digits < MAX_MANTISSA_DIGITS) {
+                mantissa = mantissa * 10 + (c - '0');
+                if (mantissa != 0) digits++;
+            } else {
+                exponent++;
+                exact = false;
+            }
+            c = peekOrEnd();
+            if (c >= '0' && c <= '9') pos++;
+        }
+        if (c == '.') {
+            pos++;
+            appendNumberChar(c);
+            c = next();
+            if (c < '0' || c > '9') {
+                throw malformed("expected a digit after '.'");
+            }
+            while (c >= '0' && c <= '9') {
+                appendNumberChar(c);
+                if (digits < MAX_MANTISSA_DIGITS) {
+                    mantissa = mantissa * 10 + (c - '0');
+                    if (mantissa != 0) digits++;
+                    exponent--;
+                } else if (c != '0') {
+                    exact = false;
+                }
+                c = peekOrEnd();
+                if (c >= '0' && c <= '9') pos++;
+            }
+        }
+        if (c == 'e' || c == 'E') {
+            pos++;
+            appendNumberChar(c);
+            c = next();
+            boolean negativeExponent = false;
+            if (c == '+' || c == '-') {
+                appendNumberChar(c);
+                negativeExponent = c == '-';
+                c = next();
+            }
+            if (c < '0' || c > '9') {
+                throw malformed("expected a digit in exponent");
+            }
+            int explicit = 0;
+            while (c >= '0' && c <= '9') {
+                appendNumberChar(c);
+                if (explicit < 10_000) {
+                    explicit = explicit * 10 + (c - '0');
+                }
+                c = peekOrEnd();
+                if (c >= '0' && c <= '9') pos++;
+            }
+            exponent += negativeExponent ? -explicit : explicit;
+        }
+
+        if (exact && mantissa < MAX_EXACT_MANTISSA && exponent >= -22 && exponent <= 22) {
+            double value = exponent < 0 ? mantissa / POW10[-exponent] : mantissa * POW10[exponent];
+            return negative ? -value : value;
+        }
+        try {
+            return Double.parseDouble(new String(numberChars, 0, numberLength));
+        } catch (NumberFormatException e) {
+            throw malformed("invalid number");
+        }
+    }
+
+    private void appendNumberChar(int c) {
+        if (numberLength == numberChars.length) {
+            char[] grown = new char[numberChars.length * 2];
+            System.arraycopy(numberChars, 0, grown, 0, numberLength);
+            numberChars = grown;
+        }
+        numberChars[numberLength++] = (char) c;
+    }
+
+    /**
+     * Skip any JSON value whose first character is c.
+     */
+    private void skipValue(int c) throws IOException {
+        if (c == '"') {
+            skipString();
+        } else if (c == '{' || c == '[') {
+            int depth = 1;
+            while (depth > 0) {
+                int d = next();
+                if (d == '"') {
+                    skipString();
+                } else if (d == '{' || d == '[') {
+                    depth++;
+                } else if (d == '}' || d == ']') {
+                    depth--;
+                }
+            }
+        } else if (c != '-' && (c < '0' || c > '9') && c != 't' && c != 'f' && c != 'n') {
+            throw malformed("expected a value");
+        } else {
+            // Number, true, false or null: runs until a delimiter
+            while (true) {
+                int d = peekOrEnd();
+                if (d == -1 || d == ',' || d == '}' || d == ']' || isSpace(d)) {
+                    return;
+                }
+                pos++;
+            }
+        }
+    }
+
+    private void skipString() throws IOException {
+        while (true) {
+            int c = next();
+            if (c == '"') {
+                return;
+            }
+            if (c == '\\') {
+                next();
+            }
+        }
+    }
+
+    private void expect(int expected) throws IOException {
+        if (nextNonSpace() != expected) {
+            throw malformed("expected '" + (char) expected + "'");
+        }
+    }
+
+    private int nextNonSpace() throws IOException {
+        int c;
+        do {
+            c = next();
+        } while (isSpace(c));
+        return c;
+    }
+
+    private static boolean isSpace(int c) {
+        return c == ' ' || c == '\n' || c == '\r' || c == '\t';
+    }
+
+    /**
+     * @throws IOException at end of stream, since a complete document never ends mid-value
+     */
+    private int next() throws IOException {
+        if (pos == limit && !fill()) {
+            throw malformed("unexpected end of response");
+        }
+        return buffer[pos++] & 0xFF;
+    }
+
+    /**
+     * Look at the next byte without consuming it; -1 at end of stream.
+     */
+    private int peekOrEnd() throws IOException {
+        if (pos == limit && !fill()) {
+            return -1;
+        }
+        return buffer[pos] & 0xFF;
+    }
+
+    private boolean fill() throws IOException {
+        consumed += limit;
+        pos = 0;
+        limit = 0;
+        int n = in.read(buffer, 0, buffer.length);
+        if (n <= 0) {
+            return false;
+        }
+        limit = n;
+        return true;
+    }
+
+    private IOException malformed(String reason) {
+        return new IOException("Malformed response at byte " + (consumed + pos) + ": " + reason);
+    }
+}
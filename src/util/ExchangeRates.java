@@ -0,0 +1,66 @@
+package util;
+
+/**
+ * Rates of every currency against one base, keyed by the currency code packed into an int.
+ * Codes are up to three ASCII letters, as in ISO 4217.
+ */
+public class ExchangeRates {
+
+    private final String baseCurrency;
+    private final IntDoubleMap rates;
+
+    ExchangeRates(String baseCurrency, IntDoubleMap rates) {
+        this.baseCurrency = baseCurrency;
+        this.rates = rates;
+    }
+
+    public String getBaseCurrency() {
+        return baseCurrency;
+    }
+
+    /**
+     * @return the rate for the currency code, or NaN if the response did not contain it
+     */
+    public double get(String currencyCode) {
+        int key = pack(currencyCode);
+        return key == 0 ? Double.NaN : rates.get(key, Double.NaN);
+    }
+
+    public boolean contains(String currencyCode) {
+        int key = pack(currencyCode);
+        return key != 0 && rates.containsKey(key);
+    }
+
+    public int size() {
+        return rates.size();
+    }
+
+    /**
+     * Pack a code of one to three ASCII letters into an int, case-insensitively.
+     * @return the packed code, or 0 if the code is not of that form
+     */
+    public static int pack(CharSequence currencyCode) {
+        if (currencyCode == null || currencyCode.length() == 0 || currencyCode.length() > 3) {
+            return 0;
+        }
+        int packed = 0;
+        for (int i = 0; i < currencyCode.length(); i++) {
+            int letter = packLetter(currencyCode.charAt(i));
+            if (letter == 0) {
+                return 0;
+            }
+            packed = (packed << 8) | letter;
+        }
+        return packed;
+    }
+
+    /**
+     * @return the upper-case letter, or 0 if c is not an ASCII letter
+     */
+    static int packLetter(int c) {
+        if (c >= 'a' && c <= 'z') {
+            return c - ('a' - 'A');
+        }
+        return c >= 'A' && c <= 'Z' ? c : 0;
+    }
+}
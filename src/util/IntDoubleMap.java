@@ -0,0 +1,145 @@
+package util;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing int to double hash map without boxing.
+ * Not thread-safe; build it off the UI thread and publish the finished map.
+ */
+public class IntDoubleMap {
+
+    private static final int FREE_KEY = 0;
+
+    private int[] keys;
+    private double[] values;
+    private int size;
+    private int mask;
+    private boolean hasZeroKey;
+    private double zeroValue;
+
+    public IntDoubleMap() {
+        this(16);
+    }
+
+    public IntDoubleMap(int expectedSize) {
+        int capacity = tableSizeFor(Math.max(4, (int) (expectedSize / 0.5f) + 1));
+        keys = new int[capacity];
+        values = new double[capacity];
+        mask = capacity - 1;
+    }
+
+    public double get(int key, double defaultValue) {
+        if (key == FREE_KEY) {
+            return hasZeroKey ? zeroValue : defaultValue;
+        }
+        int idx = slot(key);
+        while (true) {
+            int k = keys[idx];
+            if (k == FREE_KEY) {
+                return defaultValue;
+            }
+            if (k == key) {
+                return values[idx];
+            }
+            idx = (idx + 1) & mask;
+        }
+    }
+
+    public boolean containsKey(int key) {
+        if (key == FREE_KEY) {
+            return hasZeroKey;
+        }
+        int idx = slot(key);
+        while (true) {
+            int k = keys[idx];
+            if (k == FREE_KEY) {
+                return false;
+            }
+            if (k == key) {
+                return true;
+            }
+            idx = (idx + 1) & mask;
+        }
+    }
+
+    public void put(int key, double value) {
+        if (key == FREE_KEY) {
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            zeroValue = value;
+            return;
+        }
+        int idx = slot(key);
+        while (true) {
+            int k = keys[idx];
+            if (k == FREE_KEY) {
+                keys[idx] = key;
+                values[idx] = value;
+                if (++size > (mask + 1) / 2) {
+                    rehash(keys.length * 2);
+                }
+                return;
+            }
+            if (k == key) {
+                values[idx] = value;
+                return;
+            }
+            idx = (idx + 1) & mask;
+        }
+    }
+
+    /**
+     * Copy every entry of another map into this one, overwriting existing keys.
+     */
+    public void putAll(IntDoubleMap other) {
+        if (other.hasZeroKey) {
+            put(FREE_KEY, other.zeroValue);
+        }
+        for (int i = 0; i < other.keys.length; i++) {
+            if (other.keys[i] != FREE_KEY) {
+                put(other.keys[i], other.values[i]);
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, FREE_KEY);
+        hasZeroKey = false;
+        size = 0;
+    }
+
+    private int slot(int key) {
+        // Fibonacci hashing spreads sequential SERIAL ids across the table
+        int h = key * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    private void rehash(int newCapacity) {
+        int[] oldKeys = keys;
+        double[] oldValues = values;
+        keys = new int[newCapacity];
+        values = new double[newCapacity];
+        mask = newCapacity - 1;
+        size = hasZeroKey ? 1 : 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != FREE_KEY) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private static int tableSizeFor(int n) {
+        int highest = Integer.highestOneBit(n);
+        return highest == n ? n : highest << 1;
+    }
+}
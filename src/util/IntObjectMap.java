@@ -0,0 +1,199 @@
+package util;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing int to object hash map without boxing the keys.
+ * Not thread-safe; callers confine it to one thread or guard it externally.
+ */
+public class IntObjectMap<V> {
+
+    private static final int FREE_KEY = 0;
+
+    private int[] keys;
+    private Object[] values;
+    private int size;
+    private int mask;
+    private boolean hasZeroKey;
+    private V zeroValue;
+
+    public IntObjectMap() {
+        this(16);
+    }
+
+    public IntObjectMap(int expectedSize) {
+        int capacity = tableSizeFor(Math.max(4, (int) (expectedSize / 0.5f) + 1));
+        keys = new int[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        if (key == FREE_KEY) {
+            return hasZeroKey ? zeroValue : null;
+        }
+        int idx = slot(key);
+        while (true) {
+            int k = keys[idx];
+            if (k == FREE_KEY) {
+                return null;
+            }
+            if (k == key) {
+                return (V) values[idx];
+            }
+            idx = (idx + 1) & mask;
+        }
+    }
+
+    public boolean containsKey(int key) {
+        if (key == FREE_KEY) {
+            return hasZeroKey;
+        }
+        int idx = slot(key);
+        while (true) {
+            int k = keys[idx];
+            if (k == FREE_KEY) {
+                return false;
+            }
+            if (k == key) {
+                return true;
+            }
+            idx = (idx + 1) & mask;
+        }
+    }
+
+    /**
+     * @return the previous value for the key, or null
+     */
+    @SuppressWarnings("unchecked")
+    public V put(int key, V value) {
+        if (key == FREE_KEY) {
+            V previous = zeroValue;
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            zeroValue = value;
+            return previous;
+        }
+        int idx = slot(key);
+        while (true) {
+            int k = keys[idx];
+            if (k == FREE_KEY) {
+                keys[idx] = key;
+                values[idx] = value;
+                if (++size > (mask + 1) / 2) {
+                    rehash(keys.length * 2);
+                }
+                return null;
+            }
+            if (k == key) {
+                V previous = (V) values[idx];
+                values[idx] = value;
+                return previous;
+            }
+            idx = (idx + 1) & mask;
+        }
+    }
+
+    /**
+     * @return the removed value, or null if the key was absent
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(int key) {
+        if (key == FREE_KEY) {
+            if (!hasZeroKey) {
+                return null;
+            }
+            V previous = zeroValue;
+            hasZeroKey = false;
+            zeroValue = null;
+            size--;
+            return previous;
+        }
+        int idx = slot(key);
+        while (true) {
+            int k = keys[idx];
+            if (k == FREE_KEY) {
+                return null;
+            }
+            if (k == key) {
+                V previous = (V) values[idx];
+                shiftKeys(idx);
+                size--;
+                return previous;
+            }
+            idx = (idx + 1) & mask;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, FREE_KEY);
+        Arrays.fill(values, null);
+        hasZeroKey = false;
+        zeroValue = null;
+        size = 0;
+    }
+
+    /**
+     * Backward-shift deletion: pull later entries of the probe chain into the hole
+     * so lookups never need tombstones.
+     */
+    private void shiftKeys(int pos) {
+        while (true) {
+            int last = pos;
+            pos = (pos + 1) & mask;
+            int k;
+            while (true) {
+                k = keys[pos];
+                if (k == FREE_KEY) {
+                    keys[last] = FREE_KEY;
+                    values[last] = null;
+                    return;
+                }
+                int home = slot(k);
+                // Move k only if its home slot is not cyclically in (last, pos]
+                if (last <= pos ? (last >= home || home > pos) : (last >= home && home > pos)) {
+                    break;
+                }
+                pos = (pos + 1) & mask;
+            }
+            keys[last] = k;
+            values[last] = values[pos];
+        }
+    }
+
+    private int slot(int key) {
+        int h = key * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void rehash(int newCapacity) {
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        keys = new int[newCapacity];
+        values = new Object[newCapacity];
+        mask = newCapacity - 1;
+        size = hasZeroKey ? 1 : 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != FREE_KEY) {
+                put(oldKeys[i], (V) oldValues[i]);
+            }
+        }
+    }
+
+    private static int tableSizeFor(int n) {
+        int highest = Integer.highestOneBit(n);
+        return highest == n ? n : highest << 1;
+    }
+}
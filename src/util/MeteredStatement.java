@@ -0,0 +1,180 @@
+package util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Wraps a JDBC statement handed out by the pool so its executions are recorded in
+ * QueryMetrics. Prepared statements are keyed by the SQL they were prepared with,
+ * plain statements by the SQL passed to execute. Result sets from executeQuery count
+ * the rows read through next().
+ */
+final class MeteredStatement implements InvocationHandler {
+    private static final String BATCH = "(statement batch)";
+
+    private final Statement target;
+    private final Connection connection;
+    private final QueryMetrics metrics;
+    // Null for plain statements: resolved per execute
+    private final QueryMetrics.StatementStats prepared;
+    private String lastBatchSql;
+
+    private MeteredStatement(Statement target, Connection connection, QueryMetrics metrics, String preparedSql) {
+        this.target = target;
+        this.connection = connection;
+        this.metrics = metrics;
+        this.prepared = preparedSql == null ? null : metrics.forStatement(preparedSql);
+    }
+
+    /**
+     * @param type Statement, PreparedStatement or CallableStatement, as returned by the connection method
+     * @param connection the pooled connection proxy, returned from getConnection()
+     * @param preparedSql the SQL it was prepared with, or null for createStatement
+     */
+    static Statement wrap(Statement target, Class<?> type, Connection connection, QueryMetrics metrics, String preparedSql) {
+        return (Statement) Proxy.newProxyInstance(
+                Statement.class.getClassLoader(),
+                new Class<?>[]{type},
+                new MeteredStatement(target, connection, metrics, preparedSql));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        String name = method.getName();
+        switch (name) {
+            case "executeQuery":
+            case "executeUpdate":
+            case "executeLargeUpdate":
+            case "execute":
+            case "executeBatch":
+            case "executeLargeBatch":
+                return timed(proxy, method, args, statsFor(args));
+            case "addBatch":
+                if (args != null && args.length == 1 && args[0] instanceof String) {
+                    lastBatchSql = (String) args[0];
+                }
+                break;
+            case "getConnection":
+                return connection;
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            default:
+                break;
+        }
+        return call(method, args);
+    }
+
+    private QueryMetrics.StatementStats statsFor(Object[] args) {
+        if (prepared != null) {
+            return prepared;
+        }
+        if (args != null && args.length > 0 && args[0] instanceof String) {
+            return metrics.forStatement((String) args[0]);
+        }
+        // executeBatch on a plain statement: key by the last SQL added to the batch
+        return metrics.forStatement(lastBatchSql != null ? lastBatchSql : BATCH);
+    }
+
+    private Object timed(Object proxy, Method method, Object[] args, QueryMetrics.StatementStats stats) throws Throwable {
+        boolean watched = metrics.isWatched(Thread.currentThread());
+        long start = System.nanoTime();
+        if (watched) {
+            metrics.statementStarted(stats.getSql(), start);
+        }
+        Object result;
+        try {
+            result = call(method, args);
+        } catch (Throwable t) {
+            finish(stats, watched, start, true);
+            throw t;
+        }
+        finish(stats, watched, start, false);
+
+        if (result instanceof ResultSet) {
+            return CountingResultSet.wrap((ResultSet) result, (Statement) proxy, stats);
+        } else if (result instanceof Integer) {
+            stats.addRows((Integer) result);
+        } else if (result instanceof Long) {
+            stats.addRows((Long) result);
+        } else if (result instanceof int[]) {
+            for (int count : (int[]) result) {
+                stats.addRows(count);
+            }
+        } else if (result instanceof long[]) {
+            for (long count : (long[]) result) {
+                stats.addRows(count);
+            }
+        }
+        return result;
+    }
+
+    private void finish(QueryMetrics.StatementStats stats, boolean watched, long start, boolean failed) {
+        long end = System.nanoTime();
+        stats.record(end - start, failed);
+        if (watched) {
+            metrics.statementFinished(stats.getSql(), start, end);
+        }
+    }
+
+    private Object call(Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Adds one row to the statement's count per successful next().
+     */
+    private static final class CountingResultSet implements InvocationHandler {
+        private final ResultSet target;
+        private final Statement statement;
+        private final QueryMetrics.StatementStats stats;
+
+        private CountingResultSet(ResultSet target, Statement statement, QueryMetrics.StatementStats stats) {
+            this.target = target;
+            this.statement = statement;
+            this.stats = stats;
+        }
+
+        static ResultSet wrap(ResultSet target, Statement statement, QueryMetrics.StatementStats stats) {
+            return (ResultSet) Proxy.newProxyInstance(
+                    ResultSet.class.getClassLoader(),
+                    new Class<?>[]{ResultSet.class},
+                    new CountingResultSet(target, statement, stats));
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "next":
+                    boolean hasRow = target.next();
+                    if (hasRow) {
+                        stats.addRows(1);
+                    }
+                    return hasRow;
+                case "getStatement":
+                    return statement;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package util;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-statement timings for every SQL statement run through the connection pool:
+ * executions, errors, rows returned or updated, and a latency histogram.
+ * Statements are keyed by their SQL text, so each DAO query gets its own row.
+ *
+ * Recording costs two System.nanoTime() calls and a few lock-free counter updates,
+ * so it stays on in production. Settings (app.properties): db.metrics.enabled,
+ * db.metrics.maxStatements.
+ */
+public class QueryMetrics {
+    private static final String OTHER_STATEMENTS = "(other statements)";
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final QueryMetrics instance = new QueryMetrics(
+            AppConfig.getBoolean("db.metrics.enabled", true),
+            AppConfig.getInt("db.metrics.maxStatements", 500));
+
+    private final boolean enabled;
+    private final int maxStatements;
+    private final ConcurrentMap<String, StatementStats> statements = new ConcurrentHashMap<>();
+    private volatile LocalDateTime since = LocalDateTime.now();
+    // One thread (the FX thread) whose current statement can be read from other threads
+    private volatile Thread watchedThread;
+    private volatile InFlight watchedStatement;
+
+    QueryMetrics(boolean enabled, int maxStatements) {
+        this.enabled = enabled;
+        this.maxStatements = Math.max(1, maxStatements);
+    }
+
+    public static QueryMetrics getInstance() {
+        return instance;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Counters for one SQL text. Once maxStatements distinct texts were seen (dynamic SQL),
+     * further ones share a single "(other statements)" row instead of growing the map.
+     */
+    public StatementStats forStatement(String sql) {
+        String key = sql == null ? OTHER_STATEMENTS : sql;
+        StatementStats stats = statements.get(key);
+        if (stats != null) {
+            return stats;
+        }
+        if (statements.size() >= maxStatements) {
+            key = OTHER_STATEMENTS;
+        }
+        return statements.computeIfAbsent(key, StatementStats::new);
+    }
+
+    /**
+     * All statements, the ones with the most total time first.
+     */
+    public List<StatementStats> getStatements() {
+        List<StatementStats> list = new ArrayList<>(statements.values());
+        list.sort(Comparator.comparingLong(StatementStats::getTotalMicros).reversed());
+        return list;
+    }
+
+    /**
+     * Track the statement the given thread is running, for stall reports.
+     * Only one thread is watched so other threads pay nothing for it.
+     */
+    public void watchThread(Thread thread) {
+        watchedThread = thread;
+        watchedStatement = null;
+    }
+
+    /**
+     * The statement the watched thread is running, or the last one it ran; null if none yet.
+     */
+    public InFlight getWatchedStatement() {
+        return watchedStatement;
+    }
+
+    boolean isWatched(Thread thread) {
+        return thread == watchedThread;
+    }
+
+    void statementStarted(String sql, long startNanos) {
+        watchedStatement = new InFlight(sql, startNanos, 0);
+    }
+
+    void statementFinished(String sql, long startNanos, long endNanos) {
+        watchedStatement = new InFlight(sql, startNanos, endNanos);
+    }
+
+    public void reset() {
+        statements.clear();
+        since = LocalDateTime.now();
+    }
+
+    /**
+     * Plain-text table of all statements, for the Logs tab and dump files.
+     */
+    public String formatReport() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Query metrics since ").append(TIMESTAMP.format(since))
+          .append(" (as of ").append(TIMESTAMP.format(LocalDateTime.now())).append(")\n");
+        if (!enabled) {
+            sb.append("Collection is disabled (db.metrics.enabled=false)\n");
+        }
+        sb.append(String.format("%8s %6s %9s %9s %9s %9s %9s %10s  %s%n",
+                "count", "errors", "rows", "p50 ms", "p90 ms", "p99 ms", "max ms", "total ms", "statement"));
+        for (StatementStats stats : getStatements()) {
+            LatencyHistogram latency = stats.getLatency();
+            sb.append(String.format("%8d %6d %9d %9.3f %9.3f %9.3f %9.3f %10.1f  %s%n",
+                    stats.getCount(), stats.getErrors(), stats.getRows(),
+                    latency.getPercentileMicros(50) / 1000.0,
+                    latency.getPercentileMicros(90) / 1000.0,
+                    latency.getPercentileMicros(99) / 1000.0,
+                    latency.getMaxMicros() / 1000.0,
+                    latency.getTotalMicros() / 1000.0,
+                    stats.getDisplaySql()));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Write the report to a file, creating parent directories as needed.
+     */
+    public Path dump(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Files.writeString(file, formatReport(), StandardCharsets.UTF_8);
+        return file;
+    }
+
+    /**
+     * A statement on the watched thread: still running when endNanos is 0.
+     */
+    public static final class InFlight {
+        private final String sql;
+        private final long startNanos;
+        private final long endNanos;
+
+        InFlight(String sql, long startNanos, long endNanos) {
+            this.sql = sql;
+            this.startNanos = startNanos;
+            this.endNanos = endNanos;
+        }
+
+        public String getSql() { return sql; }
+        public boolean isRunning() { return endNanos == 0; }
+        public long getStartNanos() { return startNanos; }
+        public long getEndNanos() { return endNanos; }
+    }
+
+    /**
+     * Counters for one statement text; all updates are lock-free.
+     */
+    public static class StatementStats {
+        private final String sql;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final LatencyHistogram latency = new LatencyHistogram();
+
+        StatementStats(String sql) {
+            this.sql = sql;
+        }
+
+        public void record(long elapsedNanos, boolean failed) {
+            count.increment();
+            if (failed) {
+                errors.increment();
+            }
+            latency.recordNanos(elapsedNanos);
+        }
+
+        public void addRows(long n) {
+            if (n > 0) {
+                rows.add(n);
+            }
+        }
+
+        public String getSql() { return sql; }
+        public long getCount() { return count.sum(); }
+        public long getErrors() { return errors.sum(); }
+        public long getRows() { return rows.sum(); }
+        public LatencyHistogram getLatency() { return latency; }
+        public long getTotalMicros() { return latency.getTotalMicros(); }
+
+        /**
+         * SQL on one line, whitespace collapsed.
+         */
+        public String getDisplaySql() {
+            return sql.replaceAll("\\s+", " ").trim();
+        }
+    }
+}
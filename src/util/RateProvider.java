@@ -0,0 +1,16 @@
+package util;
+
+import java.io.IOException;
+
+/**
+ * Source of exchange rates. {@link CurrencyRateFetcher} calls exchangerate-api.com,
+ * or any server with the same response format given as its base URL.
+ */
+public interface RateProvider {
+
+    /**
+     * Rates of every available currency against the base.
+     * @throws IOException if the provider cannot be reached or answers with an error
+     */
+    ExchangeRates fetchAllRates(String baseCurrency) throws IOException;
+}
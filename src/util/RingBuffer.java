@@ -0,0 +1,108 @@
+package util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fixed-capacity buffer keeping the most recent values, for any number of concurrent
+ * writers and readers without locks. Each value gets a sequence number that grows by
+ * one per add; once more than capacity values were added, the oldest are overwritten.
+ *
+ * Readers never block writers: a reader takes whatever is published in the requested
+ * range, skipping values already overwritten and stopping at one still being written.
+ */
+public class RingBuffer<T> {
+
+    private final AtomicReferenceArray<Slot<T>> slots;
+    private final int mask;
+    private final AtomicLong nextSequence = new AtomicLong();
+
+    /**
+     * @param capacity rounded up to a power of two
+     */
+    public RingBuffer(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * Append a value, overwriting the oldest one when full.
+     * @return the value's sequence number
+     */
+    public long add(T value) {
+        long sequence = nextSequence.getAndIncrement();
+        Slot<T> slot = new Slot<>(sequence, value);
+        int index = (int) (sequence & mask);
+        while (true) {
+            Slot<T> current = slots.get(index);
+            // A writer that lapped us already stored a newer value here: ours is overwritten
+            if (current != null && current.sequence > sequence) {
+                return sequence;
+            }
+            if (slots.compareAndSet(index, current, slot)) {
+                return sequence;
+            }
+        }
+    }
+
+    /**
+     * Sequence number the next value will get; equals the number of values ever added.
+     */
+    public long getNextSequence() {
+        return nextSequence.get();
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Values with a sequence number of at least fromSequence that are still held, oldest first.
+     */
+    public List<T> readFrom(long fromSequence) {
+        List<T> values = new ArrayList<>();
+        readFrom(fromSequence, values);
+        return values;
+    }
+
+    /**
+     * Append to out the values from fromSequence on that are still held, oldest first.
+     * Values already overwritten are skipped. Reading stops at the first value whose
+     * writer has claimed a sequence but not yet published it, so a later call starting
+     * at the returned sequence picks it up.
+     * @return the sequence to continue reading from
+     */
+    public long readFrom(long fromSequence, List<? super T> out) {
+        long end = nextSequence.get();
+        long sequence = Math.max(Math.max(0, fromSequence), end - capacity());
+        for (; sequence < end; sequence++) {
+            Slot<T> slot = slots.get((int) (sequence & mask));
+            if (slot == null || slot.sequence < sequence) {
+                break;
+            }
+            if (slot.sequence == sequence) {
+                out.add(slot.value);
+            }
+        }
+        return sequence;
+    }
+
+    private static final class Slot<T> {
+        final long sequence;
+        final T value;
+
+        Slot(long sequence, T value) {
+            this.sequence = sequence;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package util;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Applies versioned SQL scripts from db/migration at startup.
+ * Scripts are named V{version}__{description}.sql and run once each, in version order,
+ * inside their own transaction. Applied versions are recorded in schema_version together
+ * with a checksum; editing a script after it was applied fails startup instead of silently
+ * diverging from the database.
+ */
+public class SchemaMigrator {
+
+    private static final Logger LOGGER = Logger.getLogger(SchemaMigrator.class.getName());
+    private static final Pattern FILE_NAME = Pattern.compile("V(\\d+)__(.+)\\.sql");
+    // Arbitrary key shared by every app instance so only one migrates at a time
+    private static final long ADVISORY_LOCK_KEY = 0x5348_4945_4E4DL;
+
+    private static final String CREATE_VERSION_TABLE =
+            "CREATE TABLE IF NOT EXISTS schema_version (" +
+            "version INT PRIMARY KEY, " +
+            "description VARCHAR(200) NOT NULL, " +
+            "checksum VARCHAR(64) NOT NULL, " +
+            "installed_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
+            "execution_ms BIGINT NOT NULL)";
+
+    private final Path location;
+
+    public SchemaMigrator(Path location) {
+        this.location = location;
+    }
+
+    public SchemaMigrator() {
+        this(Paths.get(AppConfig.getString("db.migration.location", "db/migration")));
+    }
+
+    /**
+     * Run pending migrations unless db.migration.enabled=false.
+     * @throws IllegalStateException if an applied script was modified
+     */
+    public static void migrateOnStartup() throws SQLException {
+        if (!AppConfig.getBoolean("db.migration.enabled", true)) {
+            LOGGER.log(Level.INFO, "Schema migrations disabled");
+            return;
+        }
+        new SchemaMigrator().migrate();
+    }
+
+    /**
+     * Validate applied migrations and apply pending ones.
+     * @return number of migrations applied
+     */
+    public int migrate() throws SQLException {
+        List<Migration> migrations = loadMigrations();
+        try (Connection conn = DBConnection.getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try {
+                ensureVersionTable(conn);
+                Map<Integer, String> applied = findApplied(conn);
+                validate(migrations, applied);
+
+                int count = 0;
+                for (Migration migration : migrations) {
+                    if (!applied.containsKey(migration.version) && apply(conn, migration)) {
+                        count++;
+                    }
+                }
+                if (count > 0) {
+                    LOGGER.log(Level.INFO, "Applied {0} schema migration(s)", count);
+                }
+                return count;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    private void ensureVersionTable(Connection conn) throws SQLException {
+        try (Statement st = conn.createStatement()) {
+            lock(conn);
+            st.execute(CREATE_VERSION_TABLE);
+            conn.commit();
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        }
+    }
+
+    private Map<Integer, String> findApplied(Connection conn) throws SQLException {
+        Map<Integer, String> applied = new HashMap<>();
+        try (PreparedStatement ps = conn.prepareStatement("SELECT version, checksum FROM schema_version");
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                applied.put(rs.getInt("version"), rs.getString("checksum"));
+            }
+        }
+        conn.commit();
+        return applied;
+    }
+
+    private void validate(List<Migration> migrations, Map<Integer, String> applied) {
+        for (Migration migration : migrations) {
+            String checksum = applied.get(migration.version);
+            if (checksum != null && !checksum.equals(migration.checksum)) {
+                throw new IllegalStateException("Migration V" + migration.version + " (" + migration.fileName
+                        + ") was modified after it was applied. Restore the original script and add a new version instead.");
+            }
+        }
+    }
+
+    /**
+     * Apply one migration under the advisory lock. Another instance may have applied it
+     * while we waited for the lock, in which case nothing is done.
+     */
+    private boolean apply(Connection conn, Migration migration) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            lock(conn);
+            if (isApplied(conn, migration.version)) {
+                conn.commit();
+                return false;
+            }
+            try (Statement st = conn.createStatement()) {
+                st.execute(migration.sql);
+            }
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "INSERT INTO schema_version (version, description, checksum, execution_ms) VALUES (?,?,?,?)")) {
+                ps.setInt(1, migration.version);
+                ps.setString(2, migration.description);
+                ps.setString(3, migration.checksum);
+                ps.setLong(4, elapsedMs);
+                ps.executeUpdate();
+            }
+            conn.commit();
+            LOGGER.log(Level.INFO, "Applied migration V{0} {1} in {2} ms",
+                    new Object[]{migration.version, migration.description, elapsedMs});
+            return true;
+        } catch (SQLException e) {
+            conn.rollback();
+            throw new SQLException("Migration V" + migration.version + " (" + migration.fileName + ") failed: "
+                    + e.getMessage(), e.getSQLState(), e);
+        }
+    }
+
+    private boolean isApplied(Connection conn, int version) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement("SELECT 1 FROM schema_version WHERE version = ?")) {
+            ps.setInt(1, version);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    private void lock(Connection conn) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement("SELECT pg_advisory_xact_lock(?)")) {
+            ps.setLong(1, ADVISORY_LOCK_KEY);
+            ps.execute();
+        }
+    }
+
+    private List<Migration> loadMigrations() {
+        List<Migration> migrations = new ArrayList<>();
+        if (!Files.isDirectory(location)) {
+            LOGGER.log(Level.WARNING, "Migration directory not found: {0}", location.toAbsolutePath());
+            return migrations;
+        }
+        Map<Integer, String> seen = new HashMap<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(location, "*.sql")) {
+            for (Path file : files) {
+                String fileName = file.getFileName().toString();
+                Matcher m = FILE_NAME.matcher(fileName);
+                if (!m.matches()) {
+                    LOGGER.log(Level.WARNING, "Ignoring migration with invalid name: {0}", fileName);
+                    continue;
+                }
+                int version = Integer.parseInt(m.group(1));
+                String previous = seen.put(version, fileName);
+                if (previous != null) {
+                    throw new IllegalStateException("Duplicate migration version " + version + ": "
+                            + previous + " and " + fileName);
+                }
+                String sql = Files.readString(file, StandardCharsets.UTF_8);
+                migrations.add(new Migration(version, m.group(2).replace('_', ' '), fileName, sql));
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read migrations from " + location + ": " + e.getMessage(), e);
+        }
+        migrations.sort((a, b) -> Integer.compare(a.version, b.version));
+        return migrations;
+    }
+
+    private static String checksum(String sql) {
+        try {
+            // Normalize line endings so a checkout on Windows does not look like an edit
+            byte[] bytes = sql.replace("\r\n", "\n").getBytes(StandardCharsets.UTF_8);
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final class Migration {
+        final int version;
+        final String description;
+        final String fileName;
+        final String sql;
+        final String checksum;
+
+        Migration(int version, String description, String fileName, String sql) {
+            this.version = version;
+            this.description = description;
+            this.fileName = fileName;
+            this.sql = sql;
+            this.checksum = SchemaMigrator.checksum(sql);
+        }
+    }
+}
@@ -6,11 +6,16 @@ import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.Properties;
 
+/**
+ * Reads and writes settings.properties. The rate refresh updates the conversion rate from
+ * background threads while the Settings screen saves the multiplier on the FX thread, so
+ * every read-modify-write and file write holds the class lock.
+ */
 public class SettingsManager {
     
     private static final String SETTINGS_FILE = "settings.properties";
-    private static Settings currentSettings;
-    public static Settings loadSettings() {
+    private static volatile Settings currentSettings;
+    public static synchronized Settings loadSettings() {
         if (currentSettings != null) {
             return currentSettings;
         }
@@ -45,7 +50,7 @@ public class SettingsManager {
         return currentSettings;
     }
     
-    public static void saveSettings(Settings settings) {
+    public static synchronized void saveSettings(Settings settings) {
         Properties props = new Properties();
         props.setProperty("conversionRate", String.valueOf(settings.getConversionRate()));
         props.setProperty("sellingMultiplier", String.valueOf(settings.getSellingMultiplier()));
@@ -60,20 +65,26 @@ public class SettingsManager {
     }
     
     public static Settings getCurrentSettings() {
-        if (currentSettings == null) {
+        Settings settings = currentSettings;
+        if (settings == null) {
             return loadSettings();
         }
-        return currentSettings;
+        return settings;
     }
     
-    public static void updateSettings(double conversionRate, double sellingMultiplier) {
+    public static synchronized void updateSettings(double conversionRate, double sellingMultiplier) {
         Settings newSettings = new Settings(conversionRate, sellingMultiplier);
         saveSettings(newSettings);
     }
 
-    public static void updateConversionRate(double conversionRate) {
+    public static synchronized void updateConversionRate(double conversionRate) {
         Settings current = getCurrentSettings();
         double sellingMultiplier = current.getSellingMultiplier();
         updateSettings(conversionRate, sellingMultiplier);
     }
+
+    public static synchronized void updateSellingMultiplier(double sellingMultiplier) {
+        Settings current = getCurrentSettings();
+        updateSettings(current.getConversionRate(), sellingMultiplier);
+    }
 }